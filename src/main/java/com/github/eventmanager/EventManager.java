@@ -1,11 +1,14 @@
 package com.github.eventmanager;
 
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.events.EventSchema;
 import com.github.eventmanager.filehandlers.LogHandler;
 import com.github.eventmanager.formatters.EventCreator;
 import com.github.eventmanager.formatters.KeyValueWrapper;
 import com.github.eventmanager.internal.ManagerBase;
 
 import java.time.Duration;
+import java.util.function.Supplier;
 
 /**
  * The EventManager class is responsible for managing and logging events.
@@ -96,7 +99,9 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logFatalMessage(Object exception) {
-        logMessage("FATAL", exception);
+        if (isEnabled(EventLevel.FATAL)) {
+            logMessage("FATAL", exception);
+        }
     }
 
     /**
@@ -105,7 +110,9 @@ public class EventManager extends ManagerBase {
      * @param args the key-value pairs to log.
      */
     public void logFatalMessage(KeyValueWrapper... args) {
-        logMessage("FATAL", args);
+        if (isEnabled(EventLevel.FATAL)) {
+            logMessage("FATAL", args);
+        }
     }
 
     /**
@@ -114,7 +121,51 @@ public class EventManager extends ManagerBase {
      * @param message the message to log.
      */
     public void logFatalMessage(EventCreator message) {
-        writeEventToQueue(message.create());
+        if (isEnabled(EventLevel.FATAL)) {
+            writeEventToQueue("FATAL", message.create());
+        }
+    }
+
+    /**
+     * Logs a fatal message produced by a supplier. The supplier is only invoked if fatal events are enabled and
+     * may return either the message itself or an {@link EventCreator}.
+     *
+     * @param messageSupplier the supplier of the message to log.
+     */
+    public void logFatalMessage(Supplier<?> messageSupplier) {
+        if (isEnabled(EventLevel.FATAL)) {
+            Object message = messageSupplier.get();
+            if (message instanceof EventCreator creator) {
+                writeEventToQueue("FATAL", creator.create());
+            } else {
+                logMessage("FATAL", message);
+            }
+        }
+    }
+
+    /**
+     * Logs a fatal message with "{}" placeholders. The placeholders are replaced by the arguments on the
+     * background thread; a trailing {@link Throwable} without a placeholder is logged as the exception of the event.
+     *
+     * @param format    the message pattern.
+     * @param arguments the arguments of the placeholders.
+     */
+    public void logFatalMessage(String format, Object... arguments) {
+        if (isEnabled(EventLevel.FATAL)) {
+            logParameterized("FATAL", format, arguments);
+        }
+    }
+
+    /**
+     * Logs a fatal event of a schema with positional values, in the order of the fields of the schema.
+     *
+     * @param schema the schema of the event.
+     * @param values the values of the fields. They must not be modified after logging.
+     */
+    public void logFatalEvent(EventSchema schema, Object... values) {
+        if (isEnabled(EventLevel.FATAL)) {
+            logSchemaEvent("FATAL", schema, values);
+        }
     }
 
     /**
@@ -123,8 +174,9 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logFatalMessage(Exception exception) {
-        String stackTrace = castExceptionStackTraceToString(exception);
-        logMessage("FATAL",stackTrace);
+        if (isEnabled(EventLevel.FATAL)) {
+            logException("FATAL", exception);
+        }
     }
 
     /**
@@ -133,7 +185,9 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logErrorMessage(Object exception) {
-        logMessage("ERROR", exception);
+        if (isEnabled(EventLevel.ERROR)) {
+            logMessage("ERROR", exception);
+        }
     }
 
     /**
@@ -142,7 +196,9 @@ public class EventManager extends ManagerBase {
      * @param args the key-value pairs to log.
      */
     public void logErrorMessage(KeyValueWrapper... args) {
-        logMessage("ERROR", args);
+        if (isEnabled(EventLevel.ERROR)) {
+            logMessage("ERROR", args);
+        }
     }
 
     /**
@@ -151,7 +207,51 @@ public class EventManager extends ManagerBase {
      * @param message the message to log.
      */
     public void logErrorMessage(EventCreator message) {
-        writeEventToQueue(message.create());
+        if (isEnabled(EventLevel.ERROR)) {
+            writeEventToQueue("ERROR", message.create());
+        }
+    }
+
+    /**
+     * Logs an error message produced by a supplier. The supplier is only invoked if error events are enabled and
+     * may return either the message itself or an {@link EventCreator}.
+     *
+     * @param messageSupplier the supplier of the message to log.
+     */
+    public void logErrorMessage(Supplier<?> messageSupplier) {
+        if (isEnabled(EventLevel.ERROR)) {
+            Object message = messageSupplier.get();
+            if (message instanceof EventCreator creator) {
+                writeEventToQueue("ERROR", creator.create());
+            } else {
+                logMessage("ERROR", message);
+            }
+        }
+    }
+
+    /**
+     * Logs an error message with "{}" placeholders. The placeholders are replaced by the arguments on the
+     * background thread; a trailing {@link Throwable} without a placeholder is logged as the exception of the event.
+     *
+     * @param format    the message pattern.
+     * @param arguments the arguments of the placeholders.
+     */
+    public void logErrorMessage(String format, Object... arguments) {
+        if (isEnabled(EventLevel.ERROR)) {
+            logParameterized("ERROR", format, arguments);
+        }
+    }
+
+    /**
+     * Logs an error event of a schema with positional values, in the order of the fields of the schema.
+     *
+     * @param schema the schema of the event.
+     * @param values the values of the fields. They must not be modified after logging.
+     */
+    public void logErrorEvent(EventSchema schema, Object... values) {
+        if (isEnabled(EventLevel.ERROR)) {
+            logSchemaEvent("ERROR", schema, values);
+        }
     }
 
     /**
@@ -160,8 +260,9 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logErrorMessage(Exception exception) {
-        String stackTrace = castExceptionStackTraceToString(exception);
-        logMessage("ERROR", stackTrace);
+        if (isEnabled(EventLevel.ERROR)) {
+            logException("ERROR", exception);
+        }
     }
 
     /**
@@ -170,7 +271,9 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logWarningMessage(Object exception) {
-        logMessage("WARNING", exception);
+        if (isEnabled(EventLevel.WARNING)) {
+            logMessage("WARNING", exception);
+        }
     }
 
     /**
@@ -179,7 +282,9 @@ public class EventManager extends ManagerBase {
      * @param args the key-value pairs to log.
      */
     public void logWarningMessage(KeyValueWrapper... args) {
-        logMessage("WARNING", args);
+        if (isEnabled(EventLevel.WARNING)) {
+            logMessage("WARNING", args);
+        }
     }
 
     /**
@@ -188,7 +293,51 @@ public class EventManager extends ManagerBase {
      * @param message the message to log.
      */
     public void logWarningMessage(EventCreator message) {
-        writeEventToQueue(message.create());
+        if (isEnabled(EventLevel.WARNING)) {
+            writeEventToQueue("WARNING", message.create());
+        }
+    }
+
+    /**
+     * Logs a warning message produced by a supplier. The supplier is only invoked if warning events are enabled and
+     * may return either the message itself or an {@link EventCreator}.
+     *
+     * @param messageSupplier the supplier of the message to log.
+     */
+    public void logWarningMessage(Supplier<?> messageSupplier) {
+        if (isEnabled(EventLevel.WARNING)) {
+            Object message = messageSupplier.get();
+            if (message instanceof EventCreator creator) {
+                writeEventToQueue("WARNING", creator.create());
+            } else {
+                logMessage("WARNING", message);
+            }
+        }
+    }
+
+    /**
+     * Logs a warning message with "{}" placeholders. The placeholders are replaced by the arguments on the
+     * background thread; a trailing {@link Throwable} without a placeholder is logged as the exception of the event.
+     *
+     * @param format    the message pattern.
+     * @param arguments the arguments of the placeholders.
+     */
+    public void logWarningMessage(String format, Object... arguments) {
+        if (isEnabled(EventLevel.WARNING)) {
+            logParameterized("WARNING", format, arguments);
+        }
+    }
+
+    /**
+     * Logs a warning event of a schema with positional values, in the order of the fields of the schema.
+     *
+     * @param schema the schema of the event.
+     * @param values the values of the fields. They must not be modified after logging.
+     */
+    public void logWarningEvent(EventSchema schema, Object... values) {
+        if (isEnabled(EventLevel.WARNING)) {
+            logSchemaEvent("WARNING", schema, values);
+        }
     }
 
     /**
@@ -197,8 +346,9 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logWarningMessage(Exception exception) {
-        String stackTrace = castExceptionStackTraceToString(exception);
-        logMessage("WARNING", stackTrace);
+        if (isEnabled(EventLevel.WARNING)) {
+            logException("WARNING", exception);
+        }
     }
 
     /**
@@ -207,9 +357,7 @@ public class EventManager extends ManagerBase {
      * @return true if informational logs are enabled, false otherwise.
      */
     public boolean areInfoLogsEnabled() {
-        boolean informationalMode = this.logHandler.getConfig().getEvent().getInformationalMode();
-        boolean debuggingMode = this.logHandler.getConfig().getEvent().getDebuggingMode();
-        return informationalMode || debuggingMode;
+        return isEnabled(EventLevel.INFO);
     }
 
     /**
@@ -218,7 +366,7 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logInfoMessage(Object exception) {
-        if (areInfoLogsEnabled()) {
+        if (isEnabled(EventLevel.INFO)) {
             logMessage("INFO", exception);
         }
     }
@@ -229,7 +377,7 @@ public class EventManager extends ManagerBase {
      * @param args the key-value pairs to log.
      */
     public void logInfoMessage(KeyValueWrapper... args) {
-        if (areInfoLogsEnabled()) {
+        if (isEnabled(EventLevel.INFO)) {
             logMessage("INFO", args);
         }
     }
@@ -240,8 +388,50 @@ public class EventManager extends ManagerBase {
      * @param message the message to log.
      */
     public void logInfoMessage(EventCreator message) {
-        if (areInfoLogsEnabled()) {
-            writeEventToQueue(message.create());
+        if (isEnabled(EventLevel.INFO)) {
+            writeEventToQueue("INFO", message.create());
+        }
+    }
+
+    /**
+     * Logs an info message produced by a supplier. The supplier is only invoked if info events are enabled and
+     * may return either the message itself or an {@link EventCreator}.
+     *
+     * @param messageSupplier the supplier of the message to log.
+     */
+    public void logInfoMessage(Supplier<?> messageSupplier) {
+        if (isEnabled(EventLevel.INFO)) {
+            Object message = messageSupplier.get();
+            if (message instanceof EventCreator creator) {
+                writeEventToQueue("INFO", creator.create());
+            } else {
+                logMessage("INFO", message);
+            }
+        }
+    }
+
+    /**
+     * Logs an info message with "{}" placeholders. The placeholders are replaced by the arguments on the
+     * background thread; a trailing {@link Throwable} without a placeholder is logged as the exception of the event.
+     *
+     * @param format    the message pattern.
+     * @param arguments the arguments of the placeholders.
+     */
+    public void logInfoMessage(String format, Object... arguments) {
+        if (isEnabled(EventLevel.INFO)) {
+            logParameterized("INFO", format, arguments);
+        }
+    }
+
+    /**
+     * Logs an informational event of a schema with positional values, in the order of the fields of the schema.
+     *
+     * @param schema the schema of the event.
+     * @param values the values of the fields. They must not be modified after logging.
+     */
+    public void logInfoEvent(EventSchema schema, Object... values) {
+        if (isEnabled(EventLevel.INFO)) {
+            logSchemaEvent("INFO", schema, values);
         }
     }
 
@@ -251,9 +441,8 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logInfoMessage(Exception exception) {
-        if (areInfoLogsEnabled()) {
-            String stackTrace = castExceptionStackTraceToString(exception);
-            logMessage("INFO", stackTrace);
+        if (isEnabled(EventLevel.INFO)) {
+            logException("INFO", exception);
         }
     }
 
@@ -263,7 +452,7 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logDebugMessage(Object exception) {
-        if (this.logHandler.getConfig().getEvent().getDebuggingMode()) {
+        if (isEnabled(EventLevel.DEBUG)) {
             logMessage("DEBUG", exception);
         }
     }
@@ -274,7 +463,7 @@ public class EventManager extends ManagerBase {
      * @param args the key-value pairs to log.
      */
     public void logDebugMessage(KeyValueWrapper... args) {
-        if (this.logHandler.getConfig().getEvent().getDebuggingMode()) {
+        if (isEnabled(EventLevel.DEBUG)) {
             logMessage("DEBUG", args);
         }
     }
@@ -285,8 +474,50 @@ public class EventManager extends ManagerBase {
      * @param message the message to log.
      */
     public void logDebugMessage(EventCreator message) {
-        if (this.logHandler.getConfig().getEvent().getDebuggingMode()) {
-            writeEventToQueue(message.create());
+        if (isEnabled(EventLevel.DEBUG)) {
+            writeEventToQueue("DEBUG", message.create());
+        }
+    }
+
+    /**
+     * Logs a debug message produced by a supplier. The supplier is only invoked if debug events are enabled and
+     * may return either the message itself or an {@link EventCreator}.
+     *
+     * @param messageSupplier the supplier of the message to log.
+     */
+    public void logDebugMessage(Supplier<?> messageSupplier) {
+        if (isEnabled(EventLevel.DEBUG)) {
+            Object message = messageSupplier.get();
+            if (message instanceof EventCreator creator) {
+                writeEventToQueue("DEBUG", creator.create());
+            } else {
+                logMessage("DEBUG", message);
+            }
+        }
+    }
+
+    /**
+     * Logs a debug message with "{}" placeholders. The placeholders are replaced by the arguments on the
+     * background thread; a trailing {@link Throwable} without a placeholder is logged as the exception of the event.
+     *
+     * @param format    the message pattern.
+     * @param arguments the arguments of the placeholders.
+     */
+    public void logDebugMessage(String format, Object... arguments) {
+        if (isEnabled(EventLevel.DEBUG)) {
+            logParameterized("DEBUG", format, arguments);
+        }
+    }
+
+    /**
+     * Logs a debug event of a schema with positional values, in the order of the fields of the schema.
+     *
+     * @param schema the schema of the event.
+     * @param values the values of the fields. They must not be modified after logging.
+     */
+    public void logDebugEvent(EventSchema schema, Object... values) {
+        if (isEnabled(EventLevel.DEBUG)) {
+            logSchemaEvent("DEBUG", schema, values);
         }
     }
 
@@ -296,9 +527,8 @@ public class EventManager extends ManagerBase {
      * @param exception the exception to log.
      */
     public void logDebugMessage(Exception exception) {
-        if (this.logHandler.getConfig().getEvent().getDebuggingMode()) {
-            String stackTrace = castExceptionStackTraceToString(exception);
-            logMessage("DEBUG", stackTrace);
+        if (isEnabled(EventLevel.DEBUG)) {
+            logException("DEBUG", exception);
         }
     }
 
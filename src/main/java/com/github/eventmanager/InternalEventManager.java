@@ -1,5 +1,6 @@
 package com.github.eventmanager;
 
+import com.github.eventmanager.events.EventLevel;
 import com.github.eventmanager.filehandlers.LogHandler;
 import com.github.eventmanager.internal.ManagerBase;
 
@@ -68,14 +69,12 @@ public final class InternalEventManager extends ManagerBase {
      * @param message the message to log.
      * */
     public void logDebug(String message) {
-        if (areInfoLogsEnabled() && this.logHandler.getConfig().getInternalEvents().isEnabled()) {
+        if (isEnabled(EventLevel.DEBUG) && this.logHandler.getConfig().getInternalEvents().isEnabled()) {
             logMessage(prefix + "DEBUG", message);
         }
     }
 
     public boolean areInfoLogsEnabled() {
-        boolean informationalMode = this.logHandler.getConfig().getEvent().getInformationalMode();
-        boolean debuggingMode = this.logHandler.getConfig().getEvent().getDebuggingMode();
-        return informationalMode || debuggingMode;
+        return isEnabled(EventLevel.INFO);
     }
 }
@@ -0,0 +1,73 @@
+package com.github.eventmanager.binary;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.config.ConfigEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.internal.EventRenderer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts files in the binary event format back to one of the text formats.
+ * <p>
+ * Usage: {@code BinaryConverter <input> [format] [output]}, where format is one of "default", "kv", "csv", "xml" or
+ * "json" and defaults to "default". Without an output file the events are written to the standard output.
+ */
+public class BinaryConverter {
+
+    private BinaryConverter() {
+    }
+
+    /**
+     * Converts all events of the binary stream to the text format, one event per line.
+     *
+     * @param in          the binary stream.
+     * @param out         the writer receiving the text events.
+     * @param eventConfig the event settings defining the text format, layout and time format.
+     * @return the number of converted events.
+     * @throws IOException if the stream cannot be decoded or the writer cannot be written.
+     */
+    public static long convert(InputStream in, Writer out, ConfigEvent eventConfig) throws IOException {
+        BinaryEventDecoder decoder = new BinaryEventDecoder(in);
+        EventRenderer renderer = new EventRenderer(eventConfig);
+        EventFormatter formatter = eventConfig.formatter();
+        long count = 0;
+        LogEvent event;
+        while ((event = decoder.next()) != null) {
+            out.write(renderer.render(event, formatter));
+            out.write('\n');
+            count++;
+        }
+        out.flush();
+        return count;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: BinaryConverter <input> [default|kv|csv|xml|json] [output]");
+            System.exit(2);
+        }
+        ConfigEvent eventConfig = new ConfigEvent();
+        if (args.length > 1) {
+            eventConfig.setEventFormat(args[1]);
+        }
+        try (InputStream in = new BufferedInputStream(new FileInputStream(args[0]));
+             OutputStream outputStream = args.length > 2 ? new FileOutputStream(args[2]) : null) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(outputStream != null ? outputStream : System.out,
+                    StandardCharsets.UTF_8));
+            convert(in, out, eventConfig);
+        } catch (IOException e) {
+            System.err.println("Could not convert " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
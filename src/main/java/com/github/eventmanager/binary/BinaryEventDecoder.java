@@ -0,0 +1,196 @@
+package com.github.eventmanager.binary;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Decodes {@link LogEvent}s from a stream in the binary event format described in {@link BinaryFormat}.
+ * <p>
+ * The decoder follows the segments of the stream: every header frame starts with empty dictionaries again, so
+ * concatenated segments, e.g. of a file appended to by several runs, are decoded as one stream. Every frame is
+ * verified against its CRC32C checksum.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class BinaryEventDecoder {
+    private record CallSite(String className, String methodName, int lineNumber) {
+    }
+
+    private final InputStream in;
+    private final CRC32C crc = new CRC32C();
+    private final List<String> strings = new ArrayList<>();
+    private final List<CallSite> callSites = new ArrayList<>();
+    private final byte[] checksum = new byte[4];
+    private byte[] frame = new byte[512];
+    private int position;
+    private int frameLength;
+    private long lastTimestamp;
+    private boolean headerRead;
+
+    /**
+     * Creates a decoder reading from the given stream. The stream should be buffered.
+     *
+     * @param in the stream to read from.
+     */
+    public BinaryEventDecoder(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next event.
+     *
+     * @return the next event, or null at the end of the stream.
+     * @throws IOException if the stream cannot be read, is truncated or contains a corrupt frame.
+     */
+    public LogEvent next() throws IOException {
+        while (readFrame()) {
+            byte type = frame[position++];
+            switch (type) {
+                case BinaryFormat.HEADER -> readHeader();
+                case BinaryFormat.STRING -> strings.add(readString());
+                case BinaryFormat.CALL_SITE -> {
+                    String className = string(readVarint());
+                    String methodName = string(readVarint());
+                    callSites.add(new CallSite(className, methodName, (int) (readVarint() - 1)));
+                }
+                case BinaryFormat.EVENT -> {
+                    return readEvent();
+                }
+                default -> throw new IOException("Unknown frame type " + type);
+            }
+        }
+        return null;
+    }
+
+    private void readHeader() throws IOException {
+        for (byte b : BinaryFormat.MAGIC) {
+            if (position >= frameLength || frame[position++] != b) {
+                throw new IOException("Not a binary event stream");
+            }
+        }
+        if (position >= frameLength || frame[position] != BinaryFormat.VERSION) {
+            throw new IOException("Unsupported binary event format version");
+        }
+        strings.clear();
+        callSites.clear();
+        lastTimestamp = 0;
+        headerRead = true;
+    }
+
+    private LogEvent readEvent() throws IOException {
+        long timestamp = lastTimestamp + BinaryFormat.unzigzag(readVarint());
+        lastTimestamp = timestamp;
+        String level = string(readVarint());
+        long callSiteId = readVarint();
+        CallSite callSite = null;
+        if (callSiteId > 0) {
+            if (callSiteId > callSites.size()) {
+                throw new IOException("Undefined call site " + (callSiteId - 1));
+            }
+            callSite = callSites.get((int) callSiteId - 1);
+        }
+        String message = readString();
+        int fieldCount = (int) readVarint();
+        if (fieldCount > frameLength) {
+            throw new IOException("Corrupt field count " + fieldCount);
+        }
+        KeyValueWrapper[] fields = new KeyValueWrapper[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            String key = string(readVarint());
+            fields[i] = new KeyValueWrapper(key, readString());
+        }
+        return callSite == null
+                ? new LogEvent(timestamp, level, null, null, -1, message, fields, null)
+                : new LogEvent(timestamp, level, callSite.className(), callSite.methodName(), callSite.lineNumber(),
+                message, fields, null);
+    }
+
+    /**
+     * Reads the next frame into the frame buffer and verifies its checksum.
+     *
+     * @return true if a frame was read, false at the end of the stream.
+     */
+    private boolean readFrame() throws IOException {
+        long length = BinaryFormat.readVarint(in);
+        if (length < 0) {
+            return false;
+        }
+        if (length == 0 || length > BinaryFormat.MAX_PAYLOAD) {
+            throw new IOException("Corrupt frame length " + length);
+        }
+        if (length > frame.length) {
+            frame = new byte[(int) length];
+        }
+        frameLength = (int) length;
+        readFully(frame, frameLength);
+        readFully(checksum, 4);
+        crc.reset();
+        crc.update(frame, 0, frameLength);
+        int expected = (int) crc.getValue();
+        int actual = ((checksum[0] & 0xFF) << 24) | ((checksum[1] & 0xFF) << 16) | ((checksum[2] & 0xFF) << 8)
+                | (checksum[3] & 0xFF);
+        if (expected != actual) {
+            throw new IOException("Checksum mismatch");
+        }
+        position = 0;
+        if (!headerRead && frame[0] != BinaryFormat.HEADER) {
+            throw new IOException("Not a binary event stream");
+        }
+        return true;
+    }
+
+    private void readFully(byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int count = in.read(buffer, read, length - read);
+            if (count < 0) {
+                throw new EOFException("Truncated frame");
+            }
+            read += count;
+        }
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= frameLength) {
+                throw new IOException("Truncated frame payload");
+            }
+            byte b = frame[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private String readString() throws IOException {
+        long length = readVarint();
+        if (length == 0) {
+            return null;
+        }
+        int byteLength = (int) (length - 1);
+        if (byteLength < 0 || byteLength > frameLength - position) {
+            throw new IOException("Truncated string");
+        }
+        String value = new String(frame, position, byteLength, StandardCharsets.UTF_8);
+        position += byteLength;
+        return value;
+    }
+
+    private String string(long id) throws IOException {
+        if (id < 0 || id >= strings.size()) {
+            throw new IOException("Undefined string " + id);
+        }
+        return strings.get((int) id);
+    }
+}
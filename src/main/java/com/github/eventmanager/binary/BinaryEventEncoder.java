@@ -0,0 +1,224 @@
+package com.github.eventmanager.binary;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import com.github.eventmanager.internal.EventRenderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Encodes {@link LogEvent}s into the binary event format described in {@link BinaryFormat}.
+ * <p>
+ * The encoder keeps the dictionaries and the last timestamp of the current segment, so it must be used for one
+ * destination stream only. The frames are collected in an internal buffer until they are drained to the stream.
+ * Starting a new segment with {@link #reset()} is required whenever the destination changes, e.g. after a log
+ * rotation or for a new connection. A new segment is also started automatically once a dictionary is full.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public class BinaryEventEncoder {
+    /**
+     * A segment is restarted once one of its dictionaries holds this many entries, which bounds the memory of the
+     * encoder and of every decoder.
+     */
+    private static final int MAX_DICTIONARY_SIZE = 65536;
+
+    private record CallSite(String className, String methodName, int lineNumber) {
+    }
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<CallSite, Integer> callSites = new HashMap<>();
+    private final CRC32C crc = new CRC32C();
+    private byte[] output = new byte[8192];
+    private int outputLength;
+    private byte[] frame = new byte[512];
+    private int frameLength;
+    private long lastTimestamp;
+    private boolean headerWritten;
+
+    /**
+     * Appends the frames of the event, including the definitions of new dictionary entries, to the buffer.
+     *
+     * @param event the event to encode. A throwable is encoded as its stack trace after the message, an already
+     *              rendered event as its rendered text.
+     */
+    public void encode(LogEvent event) {
+        if (!headerWritten || strings.size() >= MAX_DICTIONARY_SIZE || callSites.size() >= MAX_DICTIONARY_SIZE) {
+            startSegment();
+        }
+        int levelId = stringId(event.getLevel());
+        int callSiteId = event.hasLocation()
+                ? callSiteId(event.getClassName(), event.getMethodName(), event.getLineNumber()) + 1
+                : 0;
+        KeyValueWrapper[] fields = event.getFields();
+        int[] keyIds = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            keyIds[i] = stringId(fields[i].getKey());
+        }
+
+        beginFrame(BinaryFormat.EVENT);
+        putVarint(BinaryFormat.zigzag(event.getTimestamp() - lastTimestamp));
+        lastTimestamp = event.getTimestamp();
+        putVarint(levelId);
+        putVarint(callSiteId);
+        putString(event.isRendered() ? event.getRendered() : EventRenderer.renderMessage(event));
+        putVarint(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            putVarint(keyIds[i]);
+            putString(fields[i].getValue());
+        }
+        endFrame();
+    }
+
+    /**
+     * Starts a new segment with empty dictionaries. The header is written before the next event.
+     */
+    public void reset() {
+        headerWritten = false;
+    }
+
+    /**
+     * Gets the number of encoded bytes that have not been drained yet.
+     *
+     * @return the number of buffered bytes.
+     */
+    public int bufferedBytes() {
+        return outputLength;
+    }
+
+    /**
+     * Writes all buffered frames to the stream and empties the buffer.
+     *
+     * @param outputStream the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void drainTo(OutputStream outputStream) throws IOException {
+        outputStream.write(output, 0, outputLength);
+        outputLength = 0;
+    }
+
+    /**
+     * Returns a copy of all buffered frames and empties the buffer.
+     *
+     * @return the encoded frames.
+     */
+    public byte[] drain() {
+        byte[] bytes = Arrays.copyOf(output, outputLength);
+        outputLength = 0;
+        return bytes;
+    }
+
+    private void startSegment() {
+        strings.clear();
+        callSites.clear();
+        lastTimestamp = 0;
+        beginFrame(BinaryFormat.HEADER);
+        for (byte b : BinaryFormat.MAGIC) {
+            putByte(b);
+        }
+        putByte(BinaryFormat.VERSION);
+        endFrame();
+        headerWritten = true;
+    }
+
+    private int stringId(String value) {
+        String key = value == null ? "" : value;
+        Integer id = strings.get(key);
+        if (id == null) {
+            id = strings.size();
+            strings.put(key, id);
+            beginFrame(BinaryFormat.STRING);
+            putString(key);
+            endFrame();
+        }
+        return id;
+    }
+
+    private int callSiteId(String className, String methodName, int lineNumber) {
+        CallSite callSite = new CallSite(className, methodName, lineNumber);
+        Integer id = callSites.get(callSite);
+        if (id == null) {
+            int classId = stringId(className);
+            int methodId = stringId(methodName);
+            id = callSites.size();
+            callSites.put(callSite, id);
+            beginFrame(BinaryFormat.CALL_SITE);
+            putVarint(classId);
+            putVarint(methodId);
+            putVarint(lineNumber + 1L);
+            endFrame();
+        }
+        return id;
+    }
+
+    private void beginFrame(byte type) {
+        frameLength = 0;
+        putByte(type);
+    }
+
+    /**
+     * Appends the current frame with its length prefix and checksum to the output buffer.
+     */
+    private void endFrame() {
+        ensureOutputCapacity(outputLength + frameLength + 14);
+        long length = frameLength;
+        while ((length & ~0x7FL) != 0) {
+            output[outputLength++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        output[outputLength++] = (byte) length;
+        System.arraycopy(frame, 0, output, outputLength, frameLength);
+        outputLength += frameLength;
+        crc.reset();
+        crc.update(frame, 0, frameLength);
+        int checksum = (int) crc.getValue();
+        output[outputLength++] = (byte) (checksum >>> 24);
+        output[outputLength++] = (byte) (checksum >>> 16);
+        output[outputLength++] = (byte) (checksum >>> 8);
+        output[outputLength++] = (byte) checksum;
+    }
+
+    private void putByte(int b) {
+        ensureFrameCapacity(frameLength + 1);
+        frame[frameLength++] = (byte) b;
+    }
+
+    private void putVarint(long value) {
+        ensureFrameCapacity(frameLength + 10);
+        while ((value & ~0x7FL) != 0) {
+            frame[frameLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        frame[frameLength++] = (byte) value;
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            putVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(bytes.length + 1L);
+        ensureFrameCapacity(frameLength + bytes.length);
+        System.arraycopy(bytes, 0, frame, frameLength, bytes.length);
+        frameLength += bytes.length;
+    }
+
+    private void ensureFrameCapacity(int capacity) {
+        if (capacity > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(capacity, frame.length * 2));
+        }
+    }
+
+    private void ensureOutputCapacity(int capacity) {
+        if (capacity > output.length) {
+            output = Arrays.copyOf(output, Math.max(capacity, output.length * 2));
+        }
+    }
+}
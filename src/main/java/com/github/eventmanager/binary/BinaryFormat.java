@@ -0,0 +1,78 @@
+package com.github.eventmanager.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Constants and primitive codecs of the binary event format.
+ * <p>
+ * A binary stream is a sequence of segments. Every segment starts with a header frame and is followed by definition
+ * and event frames. A frame is written as:
+ * <pre>
+ *     varint payloadLength | payload | CRC32C of the payload (4 bytes, big-endian)
+ * </pre>
+ * The first byte of the payload is the frame type:
+ * <ul>
+ *     <li>{@link #HEADER} - the magic bytes "EMB" and the format version. It resets both dictionaries.</li>
+ *     <li>{@link #STRING} - a UTF-8 string added to the string dictionary. Levels, field keys, class names and method
+ *     names are written as references into this dictionary.</li>
+ *     <li>{@link #CALL_SITE} - the string ids of a class and method name and the line number, added to the call site
+ *     dictionary.</li>
+ *     <li>{@link #EVENT} - the zigzag varint difference to the timestamp of the previous event of the segment, the
+ *     level id, the call site id plus one (0 without location), the message and the fields as pairs of key id and
+ *     value.</li>
+ * </ul>
+ * Dictionary ids are assigned in the order of the definitions, starting at 0. Strings are written as the varint byte
+ * length plus one, followed by the UTF-8 bytes; a length of 0 stands for null.
+ */
+final class BinaryFormat {
+    static final byte HEADER = 0;
+    static final byte STRING = 1;
+    static final byte CALL_SITE = 2;
+    static final byte EVENT = 3;
+
+    static final byte[] MAGIC = {'E', 'M', 'B'};
+    static final byte VERSION = 1;
+
+    /**
+     * The largest payload a decoder accepts, which protects it against corrupt length prefixes.
+     */
+    static final int MAX_PAYLOAD = 64 * 1024 * 1024;
+
+    private BinaryFormat() {
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads an unsigned varint from the stream.
+     *
+     * @param in the stream.
+     * @return the value, or -1 if the stream ended before the first byte.
+     * @throws IOException if the stream ends within the varint or the varint is too long.
+     */
+    static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new EOFException("Truncated varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
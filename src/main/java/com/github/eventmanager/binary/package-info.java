@@ -0,0 +1,5 @@
+/**
+ * This package contains the compact binary event format, its encoder and decoder and a tool converting binary
+ * segments back to the text formats.
+ */
+package com.github.eventmanager.binary;
@@ -0,0 +1,71 @@
+package com.github.eventmanager.events;
+
+import java.util.Locale;
+
+/**
+ * The EventLevel enum defines the ordered severity levels known to the EventManager library.
+ * <p>
+ * The declaration order of the constants is the severity order, from the least severe ({@link #DEBUG}) to the most
+ * severe ({@link #FATAL}). Levels can therefore be compared by their {@link #ordinal()}.
+ */
+public enum EventLevel {
+    DEBUG,
+    INFO,
+    WARNING,
+    ERROR,
+    FATAL;
+
+    /**
+     * Prefix used by the {@link com.github.eventmanager.InternalEventManager} for its levels.
+     */
+    private static final String INTERNAL_PREFIX = "INTERNAL:";
+
+    /**
+     * Resolves the given level name to an EventLevel.
+     * <p>
+     * The lookup is case-insensitive in every default locale, ignores the internal event prefix and accepts "WARN" as
+     * an alias for {@link #WARNING}. Custom levels, which are always logged, are treated as {@link #WARNING}.
+     *
+     * @param level the level name, e.g. "ERROR" or "INTERNAL:INFO".
+     * @return the matching EventLevel, or {@link #WARNING} if the name is unknown.
+     */
+    public static EventLevel of(String level) {
+        EventLevel eventLevel = level != null ? lookup(level) : null;
+        return eventLevel != null ? eventLevel : WARNING;
+    }
+
+    /**
+     * Checks if the given name is one of the known level names, as accepted by {@link #of(String)}, and not a custom
+     * level.
+     *
+     * @param level the level name.
+     * @return true if the name is known, false if it is null or a custom level.
+     */
+    public static boolean isKnown(String level) {
+        return level != null && lookup(level) != null;
+    }
+
+    private static EventLevel lookup(String level) {
+        if (level.startsWith(INTERNAL_PREFIX)) {
+            level = level.substring(INTERNAL_PREFIX.length());
+        }
+        return switch (level.toUpperCase(Locale.ROOT)) {
+            case "DEBUG", "TRACE" -> DEBUG;
+            case "INFO" -> INFO;
+            case "WARN", "WARNING" -> WARNING;
+            case "ERROR" -> ERROR;
+            case "FATAL" -> FATAL;
+            default -> null;
+        };
+    }
+
+    /**
+     * Checks if this level is at least as severe as the given level.
+     *
+     * @param other the level to compare against.
+     * @return true if this level is equal to or more severe than the given level, false otherwise.
+     */
+    public boolean isAtLeast(EventLevel other) {
+        return this.ordinal() >= other.ordinal();
+    }
+}
@@ -0,0 +1,214 @@
+package com.github.eventmanager.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The EventSchema class describes an event type with a name and an ordered list of typed fields.
+ * <p>
+ * A schema is built once and then used to log events with positional values, e.g.
+ * <pre>{@code
+ *  EventSchema orderPlaced = EventSchema.builder("orderPlaced")
+ *          .field("orderId", EventSchema.FieldType.LONG)
+ *          .field("customer", EventSchema.FieldType.STRING)
+ *          .field("total", EventSchema.FieldType.DOUBLE)
+ *          .build();
+ *  eventManager.logInfoEvent(orderPlaced, 4711L, "luke", 19.99);
+ *  }</pre>
+ * The field names, their order and the CSV header are compiled when the schema is built, so logging an event neither
+ * creates key-value pairs nor repeats the keys; the outputs render the values in the order of the schema. In the CSV
+ * format the columns are fixed to time, level, className, methodName, lineNumber and the fields of the schema, and
+ * the header is written once per log file.
+ */
+public final class EventSchema {
+    /**
+     * The type of a field, which decides how its value is written. Values of other types are written as strings.
+     */
+    public enum FieldType {
+        /**
+         * Any value, written as a string.
+         */
+        STRING,
+        /**
+         * An integral number, written as a JSON number.
+         */
+        LONG,
+        /**
+         * A floating-point number, written as a JSON number if it is finite.
+         */
+        DOUBLE,
+        /**
+         * A boolean, written as a JSON boolean.
+         */
+        BOOLEAN;
+
+        /**
+         * Checks whether the value can be written unquoted as a JSON value of this type.
+         *
+         * @param value the value to check.
+         * @return true if the value matches this type and is a valid JSON literal, false otherwise.
+         */
+        public boolean isJsonLiteral(Object value) {
+            return switch (this) {
+                case STRING -> false;
+                case LONG -> value instanceof Long || value instanceof Integer || value instanceof Short
+                        || value instanceof Byte;
+                case DOUBLE -> value instanceof Number number && Double.isFinite(number.doubleValue());
+                case BOOLEAN -> value instanceof Boolean;
+            };
+        }
+    }
+
+    /**
+     * The metadata columns that precede the fields in the CSV format.
+     */
+    private static final String CSV_METADATA_HEADER = "time,level,className,methodName,lineNumber";
+
+    private final String name;
+    private final String[] fieldNames;
+    private final FieldType[] fieldTypes;
+    private final String csvHeader;
+
+    private EventSchema(String name, String[] fieldNames, FieldType[] fieldTypes) {
+        this.name = name;
+        this.fieldNames = fieldNames;
+        this.fieldTypes = fieldTypes;
+        StringBuilder header = new StringBuilder(CSV_METADATA_HEADER);
+        for (String fieldName : fieldNames) {
+            header.append(',').append(fieldName);
+        }
+        this.csvHeader = header.toString();
+    }
+
+    /**
+     * Starts building a schema.
+     *
+     * @param name the name of the event type.
+     * @return the builder.
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Gets the name of the event type.
+     *
+     * @return the name of the schema.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of fields.
+     *
+     * @return the number of fields.
+     */
+    public int size() {
+        return fieldNames.length;
+    }
+
+    /**
+     * Gets the name of a field.
+     *
+     * @param index the position of the field.
+     * @return the name of the field.
+     */
+    public String getFieldName(int index) {
+        return fieldNames[index];
+    }
+
+    /**
+     * Gets the type of a field.
+     *
+     * @param index the position of the field.
+     * @return the type of the field.
+     */
+    public FieldType getFieldType(int index) {
+        return fieldTypes[index];
+    }
+
+    /**
+     * Gets the position of a field.
+     *
+     * @param fieldName the name of the field.
+     * @return the position of the field, or -1 if the schema has no such field.
+     */
+    public int indexOf(String fieldName) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the CSV header of the schema: the metadata columns followed by the field names.
+     *
+     * @return the CSV header, without a line break.
+     */
+    public String getCsvHeader() {
+        return csvHeader;
+    }
+
+    @Override
+    public String toString() {
+        return "EventSchema[" + name + ": " + String.join(",", fieldNames) + "]";
+    }
+
+    /**
+     * Builds an {@link EventSchema}.
+     */
+    public static final class Builder {
+        private final String name;
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<FieldType> fieldTypes = new ArrayList<>();
+
+        private Builder(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("The schema name must not be empty");
+            }
+            this.name = name;
+        }
+
+        /**
+         * Adds a string field.
+         *
+         * @param fieldName the name of the field.
+         * @return this builder.
+         */
+        public Builder field(String fieldName) {
+            return field(fieldName, FieldType.STRING);
+        }
+
+        /**
+         * Adds a typed field.
+         *
+         * @param fieldName the name of the field.
+         * @param type      the type of the field.
+         * @return this builder.
+         * @throws IllegalArgumentException if the name is empty or already used.
+         */
+        public Builder field(String fieldName, FieldType type) {
+            if (fieldName == null || fieldName.isBlank()) {
+                throw new IllegalArgumentException("The field name must not be empty");
+            }
+            if (fieldNames.contains(fieldName)) {
+                throw new IllegalArgumentException("Duplicate field '" + fieldName + "' in schema " + name);
+            }
+            fieldNames.add(fieldName);
+            fieldTypes.add(type != null ? type : FieldType.STRING);
+            return this;
+        }
+
+        /**
+         * Compiles the schema.
+         *
+         * @return the schema.
+         */
+        public EventSchema build() {
+            return new EventSchema(name, fieldNames.toArray(new String[0]), fieldTypes.toArray(new FieldType[0]));
+        }
+    }
+}
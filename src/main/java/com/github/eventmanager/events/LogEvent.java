@@ -0,0 +1,421 @@
+package com.github.eventmanager.events;
+
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import com.github.eventmanager.formatters.ParameterizedMessage;
+
+import java.util.Arrays;
+
+/**
+ * The LogEvent class is the immutable, structured representation of a single event as it travels through the
+ * processing and event queues.
+ * <p>
+ * A LogEvent holds the raw parts of an event: the timestamp, the level, the caller location, the message, the
+ * key-value fields and an optional throwable. It is serialized to the configured event format only once, at the
+ * output stage, so neither the logging thread nor the processors pay for formatting or re-parsing.
+ * <p>
+ * Events that were already serialized, like the output of an {@link com.github.eventmanager.formatters.EventCreator},
+ * are carried as a rendered event and written as they are.
+ * <p>
+ * Parameterized messages keep their pattern and arguments until the message is first read, so the "{}"
+ * placeholders are rendered on the processing or output thread instead of the logging thread.
+ * <p>
+ * Events of an {@link EventSchema} keep their positional values; key-value fields are only created if a processor
+ * asks for them. Replacing the fields turns the event into a plain event without schema.
+ */
+public final class LogEvent {
+    private static final KeyValueWrapper[] NO_FIELDS = new KeyValueWrapper[0];
+
+    private final long timestamp;
+    private final String level;
+    private final EventLevel eventLevel;
+    private final String className;
+    private final String methodName;
+    private final int lineNumber;
+    private final String message;
+    private final Object[] arguments;
+    private String renderedMessage;
+    private KeyValueWrapper[] fields;
+    private final Throwable throwable;
+    private final String rendered;
+    private final EventSchema schema;
+    private final Object[] schemaValues;
+
+    /**
+     * Creates a structured event.
+     *
+     * @param timestamp  the time of the event in milliseconds since the epoch.
+     * @param level      the level name as it is written to the output, e.g. "ERROR" or "INTERNAL:INFO".
+     * @param className  the class that logged the event, or null if the location is unknown.
+     * @param methodName the method that logged the event, or null if the location is unknown.
+     * @param lineNumber the line that logged the event, or a negative number if the location is unknown.
+     * @param message    the message of the event, or null if the event only consists of fields.
+     * @param fields     the key-value fields of the event, or null if there are none.
+     * @param throwable  the throwable of the event, or null if there is none.
+     */
+    public LogEvent(long timestamp, String level, String className, String methodName, int lineNumber,
+                    String message, KeyValueWrapper[] fields, Throwable throwable) {
+        this(timestamp, level, className, methodName, lineNumber, message, null, fields, throwable, null, null, null);
+    }
+
+    private LogEvent(long timestamp, String level, String className, String methodName, int lineNumber,
+                     String message, Object[] arguments, KeyValueWrapper[] fields, Throwable throwable,
+                     String rendered) {
+        this(timestamp, level, className, methodName, lineNumber, message, arguments, fields, throwable, rendered,
+                null, null);
+    }
+
+    private LogEvent(long timestamp, String level, String className, String methodName, int lineNumber,
+                     String message, Object[] arguments, KeyValueWrapper[] fields, Throwable throwable,
+                     String rendered, EventSchema schema, Object[] schemaValues) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.eventLevel = level != null ? EventLevel.of(level) : null;
+        this.className = className;
+        this.methodName = methodName;
+        this.lineNumber = lineNumber;
+        this.message = message;
+        this.arguments = arguments;
+        this.fields = fields != null || schema != null ? fields : NO_FIELDS;
+        this.throwable = throwable != null ? throwable : trailingThrowable(message, arguments);
+        this.rendered = rendered;
+        this.schema = schema;
+        this.schemaValues = schemaValues;
+    }
+
+    /**
+     * Creates an event that was already serialized and is written to the outputs as it is.
+     *
+     * @param level    the level of the event, or null if it is unknown.
+     * @param rendered the serialized event.
+     * @return the rendered event.
+     */
+    public static LogEvent ofRendered(String level, String rendered) {
+        return new LogEvent(System.currentTimeMillis(), level, null, null, -1, null, null, null, null, rendered);
+    }
+
+    /**
+     * Creates a structured event with a parameterized message. The "{}" placeholders of the pattern are rendered
+     * when the message is first read. A trailing {@link Throwable} argument that is not used by a placeholder becomes
+     * the throwable of the event.
+     *
+     * @param timestamp  the time of the event in milliseconds since the epoch.
+     * @param level      the level name as it is written to the output.
+     * @param className  the class that logged the event, or null if the location is unknown.
+     * @param methodName the method that logged the event, or null if the location is unknown.
+     * @param lineNumber the line that logged the event, or a negative number if the location is unknown.
+     * @param pattern    the message pattern.
+     * @param arguments  the arguments of the placeholders. They must not be modified after logging.
+     * @return the parameterized event.
+     */
+    public static LogEvent ofParameterized(long timestamp, String level, String className, String methodName,
+                                           int lineNumber, String pattern, Object[] arguments) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, pattern, arguments, null, null,
+                null);
+    }
+
+    /**
+     * Creates an event of a schema with positional values. The values are matched to the fields of the schema by
+     * their position; missing values are null and surplus values are ignored.
+     *
+     * @param timestamp  the time of the event in milliseconds since the epoch.
+     * @param level      the level name as it is written to the output.
+     * @param className  the class that logged the event, or null if the location is unknown.
+     * @param methodName the method that logged the event, or null if the location is unknown.
+     * @param lineNumber the line that logged the event, or a negative number if the location is unknown.
+     * @param schema     the schema of the event.
+     * @param values     the values of the fields. They must not be modified after logging.
+     * @return the schema event.
+     */
+    public static LogEvent ofSchema(long timestamp, String level, String className, String methodName,
+                                    int lineNumber, EventSchema schema, Object[] values) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, null, null, null, null, null,
+                schema, values != null ? values : new Object[0]);
+    }
+
+    /**
+     * Returns the trailing argument if it is a {@link Throwable} that is not used by a placeholder.
+     */
+    private static Throwable trailingThrowable(String pattern, Object[] arguments) {
+        if (arguments == null || arguments.length == 0
+                || !(arguments[arguments.length - 1] instanceof Throwable throwable)) {
+            return null;
+        }
+        return ParameterizedMessage.countPlaceholders(pattern) < arguments.length ? throwable : null;
+    }
+
+    /**
+     * Gets the time of the event.
+     *
+     * @return the time of the event in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the level name as it is written to the output.
+     *
+     * @return the level name, or null if it is unknown.
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the ordered level of the event, derived from the level name.
+     *
+     * @return the ordered level, or null if the level is unknown.
+     */
+    public EventLevel getEventLevel() {
+        return eventLevel;
+    }
+
+    /**
+     * Gets the class that logged the event.
+     *
+     * @return the class name, or null if the location is unknown.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Gets the method that logged the event.
+     *
+     * @return the method name, or null if the location is unknown.
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Gets the line that logged the event.
+     *
+     * @return the line number, or a negative number if the location is unknown.
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Checks if the event carries a caller location.
+     *
+     * @return true if the class name is known, false otherwise.
+     */
+    public boolean hasLocation() {
+        return className != null;
+    }
+
+    /**
+     * Gets the message of the event. A parameterized message is rendered on the first call.
+     *
+     * @return the message, or null if the event only consists of fields.
+     */
+    public String getMessage() {
+        if (arguments == null) {
+            return message;
+        }
+        // Rendering is deterministic, so a race only renders the message twice
+        String result = renderedMessage;
+        if (result == null) {
+            result = ParameterizedMessage.format(message, arguments);
+            renderedMessage = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the message of the event without rendering it: the pattern of a parameterized message, the message
+     * otherwise. Events that only differ in their arguments share the same template.
+     *
+     * @return the message template, or null if the event has no message.
+     */
+    public String getMessageTemplate() {
+        return message;
+    }
+
+    /**
+     * Gets the key-value fields of the event. The returned array must not be modified. The fields of a schema event
+     * are created on the first call.
+     *
+     * @return the fields, never null.
+     */
+    public KeyValueWrapper[] getFields() {
+        // Creating the fields is deterministic, so a race only creates them twice
+        KeyValueWrapper[] result = fields;
+        if (result == null) {
+            result = new KeyValueWrapper[schema.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = new KeyValueWrapper(schema.getFieldName(i), getSchemaValueAsString(i));
+            }
+            fields = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the schema of the event.
+     *
+     * @return the schema, or null if the event is not a schema event.
+     */
+    public EventSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Gets the value of a field of a schema event by its position.
+     *
+     * @param index the position of the field in the schema.
+     * @return the value, or null if it was not given.
+     */
+    public Object getSchemaValue(int index) {
+        return index < schemaValues.length ? schemaValues[index] : null;
+    }
+
+    /**
+     * Gets the value of a field of a schema event by its position, converted to a string.
+     *
+     * @param index the position of the field in the schema.
+     * @return the value as a string, or null if it was not given.
+     */
+    public String getSchemaValueAsString(int index) {
+        Object value = getSchemaValue(index);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Gets the value of the first field with the given key.
+     *
+     * @param key the key of the field.
+     * @return the value, or null if the event has no such field.
+     */
+    public String getField(String key) {
+        if (schema != null && fields == null) {
+            int index = schema.indexOf(key);
+            return index >= 0 ? getSchemaValueAsString(index) : null;
+        }
+        for (KeyValueWrapper field : fields) {
+            if (field.getKey().equals(key)) {
+                return field.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the throwable of the event.
+     *
+     * @return the throwable, or null if there is none.
+     */
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    /**
+     * Gets the serialized form of a rendered event.
+     *
+     * @return the serialized event, or null if the event is structured.
+     */
+    public String getRendered() {
+        return rendered;
+    }
+
+    /**
+     * Checks if the event was already serialized.
+     *
+     * @return true if the event is written as it is, false if it is structured.
+     */
+    public boolean isRendered() {
+        return rendered != null;
+    }
+
+    /**
+     * Returns a copy of this event with another timestamp.
+     *
+     * @param timestamp the new time of the event in milliseconds since the epoch.
+     * @return the new event.
+     */
+    public LogEvent withTimestamp(long timestamp) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, message, arguments, fields, throwable,
+                rendered, schema, schemaValues);
+    }
+
+    /**
+     * Returns a copy of this event with another level.
+     *
+     * @param level the new level name.
+     * @return the new event.
+     */
+    public LogEvent withLevel(String level) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, message, arguments, fields, throwable,
+                rendered, schema, schemaValues);
+    }
+
+    /**
+     * Returns a copy of this event with another caller location.
+     *
+     * @param className  the new class name.
+     * @param methodName the new method name.
+     * @param lineNumber the new line number.
+     * @return the new event.
+     */
+    public LogEvent withLocation(String className, String methodName, int lineNumber) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, message, arguments, fields, throwable,
+                rendered, schema, schemaValues);
+    }
+
+    /**
+     * Returns a copy of this event with another message.
+     *
+     * @param message the new message.
+     * @return the new event.
+     */
+    public LogEvent withMessage(String message) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, message, null, fields, throwable,
+                rendered, schema, schemaValues);
+    }
+
+    /**
+     * Returns a copy of this event with other fields. The copy of a schema event is a plain event without schema.
+     *
+     * @param fields the new fields.
+     * @return the new event.
+     */
+    public LogEvent withFields(KeyValueWrapper[] fields) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, message, arguments, fields, throwable,
+                rendered);
+    }
+
+    /**
+     * Returns a copy of this event with additional fields appended after the existing ones.
+     *
+     * @param additionalFields the fields to append.
+     * @return the new event.
+     */
+    public LogEvent withAddedFields(KeyValueWrapper... additionalFields) {
+        KeyValueWrapper[] current = getFields();
+        KeyValueWrapper[] combined = Arrays.copyOf(current, current.length + additionalFields.length);
+        System.arraycopy(additionalFields, 0, combined, current.length, additionalFields.length);
+        return withFields(combined);
+    }
+
+    /**
+     * Returns a rendered copy of this event, keeping the timestamp and level.
+     *
+     * @param rendered the serialized event.
+     * @return the new event.
+     */
+    public LogEvent withRendered(String rendered) {
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, message, arguments, fields, throwable,
+                rendered, schema, schemaValues);
+    }
+
+    @Override
+    public String toString() {
+        if (rendered != null) {
+            return rendered;
+        }
+        return "LogEvent[" + level + " " + className + "." + methodName + ":" + lineNumber + " " + getMessage() + " "
+                + Arrays.toString(getFields()) + "]";
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * This package contains the types that describe a single event as it travels through the EventManager pipeline,
+ * such as the ordered event levels.
+ */
+package com.github.eventmanager.events;
@@ -18,6 +18,8 @@ import java.util.List;
  *   <li>{@link ConfigLogRotate} - Configuration settings related to log file rotation.</li>
  *   <li>{@link ConfigInternalEvents} - Configuration settings related to internal events.</li>
  *   <li>{@link ProcessorEntry} - Configuration settings related to event processors.</li>
+ *   <li>{@link ConfigQueue} - Configuration settings related to the internal event queues.</li>
+ *   <li>{@link ConfigThreading} - Configuration settings related to the pipeline threads.</li>
  * </ul>
  */
 @Getter
@@ -68,4 +70,18 @@ public class Config {
      * This includes settings such as the name of the output and its parameters.
      */
     private final List<OutputEntry> outputs = new ArrayList<>(DefaultOutput.createDefault());
+
+    /**
+     * Configuration settings related to the internal event queues.
+     * <p>
+     * This includes settings such as the queue type, its capacity and the policy applied when it is full.
+     */
+    private final ConfigQueue queue = new ConfigQueue();
+
+    /**
+     * Configuration settings related to the pipeline threads.
+     * <p>
+     * This includes settings such as the number of threads that run the processors.
+     */
+    private final ConfigThreading threading = new ConfigThreading();
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.github.eventmanager.filehandlers.config;
 
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.EventLayout;
+
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -7,6 +11,18 @@ import java.util.concurrent.atomic.AtomicReference;
  * The ConfigEvent class holds the configuration settings related to events for the EventManager application.
  * It includes settings for printing logs to the console, saving logs to a file, debugging mode, informational mode,
  * time format for logging events, and event format for logging events.
+ * <p>
+ * The level settings are compiled into a single threshold whenever one of them changes, so
+ * {@link #isEnabled(EventLevel)} costs one field read and one comparison. An explicit level takes precedence over
+ * the debugging and informational modes; without one, debugging mode enables DEBUG, informational mode enables INFO
+ * and otherwise events from WARNING upwards are logged.
+ * <p>
+ * The caller location (class name, method name and line number) is captured for events of the location level and
+ * above. Capturing it walks the stack of the logging thread, so it can be limited to severe events or disabled
+ * entirely if the location is not needed in the output. It is skipped automatically if the default format is
+ * rendered with a layout that does not contain the location.
+ * <p>
+ * The layout of the default format is compiled into an {@link EventLayout} when it is set.
  */
 public class ConfigEvent {
     /**
@@ -21,6 +37,24 @@ public class ConfigEvent {
     private final AtomicBoolean informationalMode = new AtomicBoolean(false);
     private final AtomicReference<String> timeFormat = new AtomicReference<>("dd.MM.yyyy h:mm:ss.SSS a z");
     private final AtomicReference<String> eventFormat = new AtomicReference<>("default");
+    private final AtomicReference<String> level = new AtomicReference<>(null);
+    private final AtomicBoolean coarseClock = new AtomicBoolean(false);
+    private final AtomicBoolean includeLocation = new AtomicBoolean(true);
+    private final AtomicReference<String> locationLevel = new AtomicReference<>(null);
+    private final AtomicReference<EventLayout> layout = new AtomicReference<>(null);
+    /**
+     * The ordinal of the least severe enabled {@link EventLevel}, compiled from the level settings.
+     */
+    private volatile int threshold = EventLevel.WARNING.ordinal();
+    /**
+     * The ordinal of the least severe {@link EventLevel} that captures the caller location, or
+     * {@link Integer#MAX_VALUE} if the location is never captured.
+     */
+    private volatile int locationThreshold = EventLevel.DEBUG.ordinal();
+    /**
+     * The formatter of the event format, resolved whenever the event format is set.
+     */
+    private volatile EventFormatter formatter = EventFormatter.DEFAULT;
 
     /**
      * Gets whether logs should be printed to the console.
@@ -80,8 +114,9 @@ public class ConfigEvent {
      *
      * @param debuggingMode true to enable debugging mode, false otherwise.
      */
-    public void setDebuggingMode(boolean debuggingMode) {
+    public synchronized void setDebuggingMode(boolean debuggingMode) {
         this.debuggingMode.set(debuggingMode);
+        updateThreshold();
     }
 
     /**
@@ -98,8 +133,9 @@ public class ConfigEvent {
      *
      * @param informationalMode true to enable informational mode, false otherwise.
      */
-    public void setInformationalMode(boolean informationalMode) {
+    public synchronized void setInformationalMode(boolean informationalMode) {
         this.informationalMode.set(informationalMode);
+        updateThreshold();
     }
 
     /**
@@ -112,7 +148,8 @@ public class ConfigEvent {
     }
 
     /**
-     * Sets the time format for logging events.
+     * Sets the time format for logging events. The format is a {@link java.time.format.DateTimeFormatter} pattern,
+     * or "epochMillis" to log the milliseconds since the epoch as a number.
      *
      * @param timeFormat the time format for logging events.
      */
@@ -120,6 +157,25 @@ public class ConfigEvent {
         this.timeFormat.set(timeFormat);
     }
 
+    /**
+     * Gets whether event timestamps are read from the coarse clock.
+     *
+     * @return true if the coarse clock is used, false if the system clock is read for every event.
+     */
+    public boolean getCoarseClock() {
+        return coarseClock.get();
+    }
+
+    /**
+     * Sets whether event timestamps are read from the coarse clock. The coarse clock is a shared value ticked by a
+     * background thread, which is cheaper to read than the system clock but may lag it by about a millisecond.
+     *
+     * @param coarseClock true to use the coarse clock, false to read the system clock for every event.
+     */
+    public void setCoarseClock(boolean coarseClock) {
+        this.coarseClock.set(coarseClock);
+    }
+
     /**
      * Gets the event format for logging events.
      *
@@ -134,7 +190,166 @@ public class ConfigEvent {
      *
      * @param eventFormat the event format for logging events.
      */
-    public void setEventFormat(String eventFormat) {
+    public synchronized void setEventFormat(String eventFormat) {
         this.eventFormat.set(eventFormat);
+        this.formatter = EventFormatter.of(eventFormat);
+        updateLocationThreshold();
+    }
+
+    /**
+     * Gets the formatter of the event format. It is resolved once when the event format is set, so the event thread
+     * does not parse the format name for every event.
+     *
+     * @return the formatter of the event format.
+     */
+    public EventFormatter formatter() {
+        return formatter;
+    }
+
+    /**
+     * Gets the layout pattern of the default event format.
+     *
+     * @return the layout pattern, or null if the built-in layout is used.
+     */
+    public String getLayout() {
+        EventLayout compiled = layout.get();
+        return compiled == null ? null : compiled.getPattern();
+    }
+
+    /**
+     * Sets the layout pattern of the default event format, e.g. {@code "%time [%level] %class.%method:%line %msg %kv"}.
+     * The pattern is compiled immediately, see {@link EventLayout} for the supported conversion words.
+     *
+     * @param layout the layout pattern, or null to use the built-in layout.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public synchronized void setLayout(String layout) {
+        this.layout.set(layout == null || layout.isEmpty() ? null : EventLayout.compile(layout));
+        updateLocationThreshold();
+    }
+
+    /**
+     * Gets the compiled layout of the default event format.
+     *
+     * @return the compiled layout, or null if the built-in layout is used.
+     */
+    public EventLayout compiledLayout() {
+        return layout.get();
+    }
+
+    /**
+     * Gets the explicitly configured minimum level.
+     *
+     * @return the level name, or null if the level is derived from the debugging and informational modes.
+     */
+    public String getLevel() {
+        return level.get();
+    }
+
+    /**
+     * Sets the minimum level of logged events, e.g. "INFO" or "ERROR". It takes precedence over the debugging and
+     * informational modes.
+     *
+     * @param level the level name, or null to derive the level from the debugging and informational modes.
+     */
+    public synchronized void setLevel(String level) {
+        this.level.set(level);
+        updateThreshold();
+    }
+
+    /**
+     * Gets whether events include the location of the caller.
+     *
+     * @return true if the class name, method name and line number of the caller are captured, false otherwise.
+     */
+    public boolean getIncludeLocation() {
+        return includeLocation.get();
+    }
+
+    /**
+     * Sets whether events include the location of the caller. Disabling it skips the stack walk on every event and
+     * leaves the class name, method name and line number out of the formatted events.
+     *
+     * @param includeLocation true to capture the caller location, false otherwise.
+     */
+    public synchronized void setIncludeLocation(boolean includeLocation) {
+        this.includeLocation.set(includeLocation);
+        updateLocationThreshold();
+    }
+
+    /**
+     * Gets the minimum level of events that capture the caller location.
+     *
+     * @return the level name, or null if the location is captured for all levels.
+     */
+    public String getLocationLevel() {
+        return locationLevel.get();
+    }
+
+    /**
+     * Sets the minimum level of events that capture the caller location, e.g. "WARNING" to capture it only for
+     * warnings, errors and fatal events.
+     *
+     * @param locationLevel the level name, or null to capture the location for all levels.
+     */
+    public synchronized void setLocationLevel(String locationLevel) {
+        this.locationLevel.set(locationLevel);
+        updateLocationThreshold();
+    }
+
+    /**
+     * Checks if events of the given level capture the caller location.
+     *
+     * @param level the level to check.
+     * @return true if the location is included and the level is at least as severe as the location level.
+     */
+    public boolean isLocationEnabled(EventLevel level) {
+        return level.ordinal() >= locationThreshold;
+    }
+
+    /**
+     * Checks if events of the given level are logged.
+     *
+     * @param level the level to check.
+     * @return true if the level is at least as severe as the configured threshold, false otherwise.
+     */
+    public boolean isEnabled(EventLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    /**
+     * Compiles the level settings into the threshold. Callers hold the lock of this object, so concurrent setters
+     * cannot publish a threshold computed from outdated settings.
+     */
+    private void updateThreshold() {
+        String configuredLevel = level.get();
+        EventLevel minimumLevel;
+        if (configuredLevel != null && !configuredLevel.isBlank()) {
+            minimumLevel = EventLevel.of(configuredLevel);
+        } else if (debuggingMode.get()) {
+            minimumLevel = EventLevel.DEBUG;
+        } else if (informationalMode.get()) {
+            minimumLevel = EventLevel.INFO;
+        } else {
+            minimumLevel = EventLevel.WARNING;
+        }
+        threshold = minimumLevel.ordinal();
+    }
+
+    /**
+     * Compiles the location settings into the location threshold. Callers hold the lock of this object.
+     */
+    private void updateLocationThreshold() {
+        String configuredLevel = locationLevel.get();
+        EventLayout compiledLayout = layout.get();
+        boolean layoutOmitsLocation = compiledLayout != null && !compiledLayout.requiresLocation()
+                && formatter == EventFormatter.DEFAULT;
+        if (!includeLocation.get() || layoutOmitsLocation) {
+            locationThreshold = Integer.MAX_VALUE;
+        } else if (configuredLevel == null || configuredLevel.isBlank()) {
+            locationThreshold = EventLevel.DEBUG.ordinal();
+        } else {
+            locationThreshold = EventLevel.of(configuredLevel).ordinal();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.github.eventmanager.filehandlers.config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The ConfigQueue class holds the configuration settings for the queues between the logging threads, the
+ * processing thread and the output thread.
+ * <p>
+ * The type "linked" uses unbounded linked queues. The type "ringBuffer" uses bounded, preallocated lock-free
+ * queues, whose behaviour when full is defined by the overflow policy: "block", "drop-newest", "drop-oldest" or
+ * "drop-below-level".
+ * <p>
+ * In the garbage-free mode the processing queue is a ring buffer of preallocated, reusable event slots, whatever the
+ * type. Logging threads write the parts of an event into a slot and allocate no event and no queue node; with the
+ * caller location disabled they allocate nothing per event, apart from converting messages that are not strings.
+ * The mode takes the allocation off the logging threads, not out of the pipeline: the processing thread creates the
+ * event from the slot and the event is processed and rendered as usual.
+ */
+public class ConfigQueue {
+    private final AtomicReference<String> type = new AtomicReference<>("linked");
+    private final AtomicInteger capacity = new AtomicInteger(8192);
+    private final AtomicReference<String> overflowPolicy = new AtomicReference<>("block");
+    private final AtomicReference<String> dropBelowLevel = new AtomicReference<>("WARNING");
+    private final AtomicBoolean garbageFree = new AtomicBoolean(false);
+    private final AtomicInteger batchSize = new AtomicInteger(256);
+
+    /**
+     * Gets the queue type, either "linked" or "ringBuffer".
+     *
+     * @return the queue type.
+     */
+    public String getType() {
+        return type.get();
+    }
+
+    /**
+     * Sets the queue type, either "linked" or "ringBuffer".
+     *
+     * @param type the queue type.
+     */
+    public void setType(String type) {
+        this.type.set(type);
+    }
+
+    /**
+     * Gets the capacity of a ring buffer queue. The capacity is rounded up to the next power of two.
+     *
+     * @return the capacity of the queue.
+     */
+    public int getCapacity() {
+        return capacity.get();
+    }
+
+    /**
+     * Sets the capacity of a ring buffer queue. The capacity is rounded up to the next power of two.
+     *
+     * @param capacity the capacity of the queue.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity.set(capacity);
+    }
+
+    /**
+     * Gets the policy applied when a ring buffer queue is full.
+     *
+     * @return the overflow policy.
+     */
+    public String getOverflowPolicy() {
+        return overflowPolicy.get();
+    }
+
+    /**
+     * Sets the policy applied when a ring buffer queue is full.
+     *
+     * @param overflowPolicy the overflow policy: "block", "drop-newest", "drop-oldest" or "drop-below-level".
+     */
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy.set(overflowPolicy);
+    }
+
+    /**
+     * Gets the level below which events are dropped by the "drop-below-level" policy.
+     *
+     * @return the level name.
+     */
+    public String getDropBelowLevel() {
+        return dropBelowLevel.get();
+    }
+
+    /**
+     * Sets the level below which events are dropped by the "drop-below-level" policy.
+     *
+     * @param dropBelowLevel the level name, e.g. "WARNING".
+     */
+    public void setDropBelowLevel(String dropBelowLevel) {
+        this.dropBelowLevel.set(dropBelowLevel);
+    }
+
+    /**
+     * Gets whether the garbage-free mode is enabled.
+     *
+     * @return true if events are written to preallocated slots, false otherwise.
+     */
+    public boolean isGarbageFree() {
+        return garbageFree.get();
+    }
+
+    /**
+     * Sets whether the garbage-free mode is enabled. The setting is read when the event manager is created.
+     *
+     * @param garbageFree true to write events to preallocated slots, false otherwise.
+     */
+    public void setGarbageFree(boolean garbageFree) {
+        this.garbageFree.set(garbageFree);
+    }
+
+    /**
+     * Gets the maximum number of events the output thread takes from the event queue and hands to the outputs at
+     * once.
+     *
+     * @return the batch size.
+     */
+    public int getBatchSize() {
+        return batchSize.get();
+    }
+
+    /**
+     * Sets the maximum number of events the output thread takes from the event queue and hands to the outputs at
+     * once. The setting is read when the event manager is created.
+     *
+     * @param batchSize the batch size, at least 1.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize.set(batchSize);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.eventmanager.filehandlers.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The ConfigThreading class holds the configuration settings for the threads of the event pipeline.
+ * <p>
+ * The number of processing workers defines how many threads run the processors in parallel. Events are put back
+ * into their original order before they reach the outputs, so the output order is the same as with a single worker.
+ * Every processor is called by all workers at the same time, so custom processors have to be thread-safe before
+ * more than one worker is configured; the processors shipped with the library are.
+ * <p>
+ * The mode defines which kind of threads run the pipeline: "platform", "virtual" or "auto". Virtual threads need
+ * Java 21 or newer; "auto" uses them whenever they are available and platform threads otherwise, while "virtual"
+ * refuses to start the pipeline if they are not available.
+ */
+public class ConfigThreading {
+    private final AtomicInteger processingWorkers = new AtomicInteger(1);
+    private final AtomicReference<String> mode = new AtomicReference<>("platform");
+
+    /**
+     * Gets the number of threads that run the processors.
+     *
+     * @return the number of processing workers.
+     */
+    public int getProcessingWorkers() {
+        return processingWorkers.get();
+    }
+
+    /**
+     * Sets the number of threads that run the processors. The value is read when the event manager is created;
+     * changing it afterwards has no effect on that event manager.
+     *
+     * @param processingWorkers the number of processing workers, at least 1.
+     */
+    public void setProcessingWorkers(int processingWorkers) {
+        this.processingWorkers.set(processingWorkers);
+    }
+
+    /**
+     * Gets the kind of threads that run the pipeline.
+     *
+     * @return the execution mode: "platform", "virtual" or "auto".
+     */
+    public String getMode() {
+        return mode.get();
+    }
+
+    /**
+     * Sets the kind of threads that run the pipeline. The value is read when the event manager is created; changing
+     * it afterwards has no effect on that event manager.
+     *
+     * @param mode the execution mode: "platform", "virtual" or "auto".
+     */
+    public void setMode(String mode) {
+        this.mode.set(mode);
+    }
+}
@@ -19,6 +19,12 @@ import java.util.Map;
  *  EventManager eventManager = new EventManager();
  *  eventManager.setProcessor(processorEntry);
  *  }</pre>
+ *
+ * The FilterProcessor also accepts a filter expression instead of terms:
+ *
+ * <pre>{@code
+ *  processorEntry.setParameters(Map.of("expression", "level <= DEBUG OR message CONTAINS ANY (\"ping\", \"health\")"));
+ *  }</pre>
  */
 @Setter
 @Getter
@@ -0,0 +1,232 @@
+package com.github.eventmanager.formatters;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The CachedTimeFormat class renders timestamps with a {@link DateTimeFormatter} pattern that is compiled once.
+ * <p>
+ * Events logged within the same second share everything but their milliseconds, so the text rendered for the current
+ * second is cached and only the millisecond digits are written per event:
+ * <ul>
+ *     <li>Patterns with a single "SSS" field are split around it. The parts before and after the milliseconds are
+ *     rendered once per second.</li>
+ *     <li>Patterns without fraction-of-second fields are rendered once per second.</li>
+ *     <li>Patterns with other fraction fields, e.g. "SS" or "n", and patterns with optional sections are rendered
+ *     for every timestamp.</li>
+ * </ul>
+ * The special pattern {@value #EPOCH_MILLIS} renders the milliseconds since the epoch as a number, which is the
+ * cheapest format.
+ */
+public final class CachedTimeFormat {
+    /**
+     * The pattern that renders timestamps as milliseconds since the epoch.
+     */
+    public static final String EPOCH_MILLIS = "epochMillis";
+
+    /**
+     * Shared instances are only kept for this many distinct patterns.
+     */
+    private static final int MAX_SHARED_FORMATS = 64;
+
+    private static final ConcurrentMap<String, CachedTimeFormat> SHARED_FORMATS = new ConcurrentHashMap<>();
+
+    private static final int NO_FRACTION = -1;
+    private static final int OTHER_FRACTION = -2;
+
+    private enum Mode {
+        EPOCH_MILLIS,
+        SPLIT_MILLIS,
+        PER_SECOND,
+        UNCACHED
+    }
+
+    /**
+     * The rendered text of one second.
+     */
+    private record CachedSecond(long epochSecond, String prefix, String suffix) {
+    }
+
+    private final String pattern;
+    private final ZoneId zone;
+    private final Mode mode;
+    private final DateTimeFormatter formatter;
+    private final DateTimeFormatter prefixFormatter;
+    private final DateTimeFormatter suffixFormatter;
+    private volatile CachedSecond cachedSecond;
+
+    /**
+     * Compiles the pattern for the default time zone of the system.
+     *
+     * @param pattern the {@link DateTimeFormatter} pattern or {@value #EPOCH_MILLIS}.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public CachedTimeFormat(String pattern) {
+        this(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * Compiles the pattern for the given time zone.
+     *
+     * @param pattern the {@link DateTimeFormatter} pattern or {@value #EPOCH_MILLIS}.
+     * @param zone    the time zone of the rendered timestamps.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public CachedTimeFormat(String pattern, ZoneId zone) {
+        this.pattern = pattern;
+        this.zone = zone;
+        if (EPOCH_MILLIS.equals(pattern)) {
+            this.mode = Mode.EPOCH_MILLIS;
+            this.formatter = null;
+            this.prefixFormatter = null;
+            this.suffixFormatter = null;
+            return;
+        }
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+        int millisIndex = findMillisField(pattern);
+        if (millisIndex >= 0) {
+            this.mode = Mode.SPLIT_MILLIS;
+            this.prefixFormatter = compileFragment(pattern.substring(0, millisIndex));
+            this.suffixFormatter = compileFragment(pattern.substring(millisIndex + 3));
+        } else {
+            this.mode = millisIndex == NO_FRACTION ? Mode.PER_SECOND : Mode.UNCACHED;
+            this.prefixFormatter = null;
+            this.suffixFormatter = null;
+        }
+    }
+
+    /**
+     * Returns a shared instance for the pattern in the default time zone of the system.
+     *
+     * @param pattern the {@link DateTimeFormatter} pattern or {@value #EPOCH_MILLIS}.
+     * @return the shared instance.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public static CachedTimeFormat forPattern(String pattern) {
+        CachedTimeFormat format = SHARED_FORMATS.get(pattern);
+        if (format != null && format.zone.equals(ZoneId.systemDefault())) {
+            return format;
+        }
+        format = new CachedTimeFormat(pattern);
+        if (SHARED_FORMATS.size() < MAX_SHARED_FORMATS || SHARED_FORMATS.containsKey(pattern)) {
+            SHARED_FORMATS.put(pattern, format);
+        }
+        return format;
+    }
+
+    /**
+     * Gets the pattern this format was compiled from.
+     *
+     * @return the pattern.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Renders the timestamp.
+     *
+     * @param epochMillis the time in milliseconds since the epoch.
+     * @return the rendered timestamp.
+     */
+    public String format(long epochMillis) {
+        return switch (mode) {
+            case EPOCH_MILLIS -> Long.toString(epochMillis);
+            case PER_SECOND -> cachedSecond(epochMillis).prefix();
+            case UNCACHED -> formatter.format(Instant.ofEpochMilli(epochMillis).atZone(zone));
+            case SPLIT_MILLIS -> {
+                CachedSecond second = cachedSecond(epochMillis);
+                StringBuilder builder = new StringBuilder(second.prefix().length() + 3 + second.suffix().length());
+                appendSplit(second, epochMillis, builder);
+                yield builder.toString();
+            }
+        };
+    }
+
+    /**
+     * Appends the rendered timestamp to the builder. Apart from the first timestamp of each second, this does not
+     * allocate.
+     *
+     * @param epochMillis the time in milliseconds since the epoch.
+     * @param builder     the builder to append to.
+     */
+    public void formatTo(long epochMillis, StringBuilder builder) {
+        switch (mode) {
+            case EPOCH_MILLIS -> builder.append(epochMillis);
+            case PER_SECOND -> builder.append(cachedSecond(epochMillis).prefix());
+            case UNCACHED -> formatter.formatTo(Instant.ofEpochMilli(epochMillis).atZone(zone), builder);
+            case SPLIT_MILLIS -> appendSplit(cachedSecond(epochMillis), epochMillis, builder);
+        }
+    }
+
+    private static void appendSplit(CachedSecond second, long epochMillis, StringBuilder builder) {
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        builder.append(second.prefix())
+                .append((char) ('0' + millis / 100))
+                .append((char) ('0' + millis / 10 % 10))
+                .append((char) ('0' + millis % 10))
+                .append(second.suffix());
+    }
+
+    /**
+     * Returns the cached text of the second the timestamp belongs to, rendering it if the second has changed.
+     */
+    private CachedSecond cachedSecond(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        CachedSecond second = cachedSecond;
+        if (second == null || second.epochSecond() != epochSecond) {
+            ZonedDateTime time = Instant.ofEpochSecond(epochSecond).atZone(zone);
+            second = mode == Mode.PER_SECOND
+                    ? new CachedSecond(epochSecond, formatter.format(time), null)
+                    : new CachedSecond(epochSecond, formatFragment(prefixFormatter, time),
+                    formatFragment(suffixFormatter, time));
+            cachedSecond = second;
+        }
+        return second;
+    }
+
+    private static String formatFragment(DateTimeFormatter fragment, ZonedDateTime time) {
+        return fragment == null ? "" : fragment.format(time);
+    }
+
+    private static DateTimeFormatter compileFragment(String fragment) {
+        return fragment.isEmpty() ? null : DateTimeFormatter.ofPattern(fragment);
+    }
+
+    /**
+     * Finds the single "SSS" field of the pattern outside of quoted literals.
+     *
+     * @return the index of the field, {@link #NO_FRACTION} if the pattern has no sub-second fields or
+     * {@link #OTHER_FRACTION} if it has fields that cannot be split off.
+     */
+    private static int findMillisField(String pattern) {
+        int millisIndex = NO_FRACTION;
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                if (c == 'n' || c == 'N' || c == 'A' || c == '[' || c == ']') {
+                    return OTHER_FRACTION;
+                }
+                if (c == 'S') {
+                    int end = i;
+                    while (end < pattern.length() && pattern.charAt(end) == 'S') {
+                        end++;
+                    }
+                    if (end - i != 3 || millisIndex != NO_FRACTION) {
+                        return OTHER_FRACTION;
+                    }
+                    millisIndex = i;
+                    i = end - 1;
+                }
+            }
+        }
+        return millisIndex;
+    }
+}
@@ -1,6 +1,6 @@
 package com.github.eventmanager.formatters;
 
-import java.text.SimpleDateFormat;
+import com.github.eventmanager.internal.HostInfo;
 
 /**
  * The EventCreator class is a builder class that creates event logs.
@@ -9,19 +9,28 @@ import java.text.SimpleDateFormat;
  * "csv", or "key-value".
  * <br><br>
  * The class includes information which can be found in the default format, such as the class name, method name, line
- * number, timestamp, level, exception, message, and arguments. These values are generated when creating an instance of
- * the EventCreator class, this should be kept in mind when creating events.
+ * number, timestamp, level, exception, message, and arguments. The caller location is only captured when
+ * {@link #className()}, {@link #methodName()} or {@link #lineNumber()} is called for the first time, so events without
+ * location elements never walk the stack. It is the code calling that method, usually the same statement that created
+ * the instance, whose location is recorded.
+ * <br><br>
+ * Tight loops can use {@link #reusable(String)} instead of the constructor to recycle one instance per thread.
  *
  * */
 public class EventCreator {
-    private final StackTraceElement[] stackTraceElement = Thread.currentThread().getStackTrace();
-    private final String className = stackTraceElement[2].getClassName();
-    private final String methodName = stackTraceElement[2].getMethodName();
-    private final int lineNumber = stackTraceElement[2].getLineNumber();
-    private final StringBuilder event = new StringBuilder();
-    private final String eventFormat;
-    private final EventFormatter formatter;
-    private String formatSeperator = null;
+    private static final String DEFAULT_TIMESTAMP_FORMAT = "dd.MM.yyyy h:mm:ss.SSS a z";
+    /**
+     * Builders larger than this are replaced when a recycled instance is reset, so one huge event does not pin its
+     * memory to the thread.
+     */
+    private static final int MAX_RECYCLED_CAPACITY = 8 * 1024;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ThreadLocal<EventCreator> RECYCLED = ThreadLocal.withInitial(() -> new EventCreator("kv"));
+
+    private StringBuilder event = new StringBuilder();
+    private EventFormatter formatter;
+    private String formatSeperator;
+    private StackWalker.StackFrame caller;
 
     /**
      * The constructor of the EventCreator class.
@@ -29,7 +38,36 @@ public class EventCreator {
      *               "key-value". If the format is not one of the specified formats, the default format is "key-value".
      * */
     public EventCreator(String format) {
-        this.eventFormat = format;
+        reset(format);
+    }
+
+    /**
+     * Returns the EventCreator of the current thread, cleared and set to the given format. The instance is recycled by
+     * the next call on the same thread, so the created event must be taken with {@link #create()} before that and the
+     * instance must not be passed to other threads.
+     * <br><br>
+     * Example:
+     * <pre>{@code
+     *  for (Order order : orders) {
+     *      eventManager.logInfoMessage(EventCreator.reusable("json").message(order.getId()));
+     *  }
+     *  }</pre>
+     * @param format The format of the event log, see {@link #EventCreator(String)}.
+     * @return The cleared EventCreator of the current thread.
+     * */
+    public static EventCreator reusable(String format) {
+        EventCreator creator = RECYCLED.get();
+        creator.reset(format);
+        return creator;
+    }
+
+    private void reset(String format) {
+        if (this.event.capacity() > MAX_RECYCLED_CAPACITY) {
+            this.event = new StringBuilder();
+        } else {
+            this.event.setLength(0);
+        }
+        this.caller = null;
         switch (format) {
             case "json":
                 event.append("{");
@@ -39,6 +77,7 @@ public class EventCreator {
             case "xml":
                 event.append("<event>");
                 this.formatter = EventFormatter.XML;
+                this.formatSeperator = null;
                 break;
             case "csv":
                 this.formatter = EventFormatter.CSV;
@@ -51,13 +90,27 @@ public class EventCreator {
         }
     }
 
+    /**
+     * Gets the location of the code using this instance, walking the stack on the first call only.
+     * @return The stack frame of the caller, or null if the stack holds no such frame.
+     * */
+    private StackWalker.StackFrame caller() {
+        if (this.caller == null) {
+            this.caller = STACK_WALKER.walk(frames -> frames
+                    .filter(frame -> frame.getDeclaringClass() != EventCreator.class)
+                    .findFirst()
+                    .orElse(null));
+        }
+        return this.caller;
+    }
+
     /**
      * Appends a key-value pair to the event. In case the format is "csv", only the value is appended.
      * @param key The key.
      * @param value The value .
      * */
     private void appendElement(String key, String value) {
-        this.event.append(this.formatter.formatElement(new KeyValueWrapper(key, value)));
+        this.formatter.appendElement(this.event, key, value);
     }
 
     /**
@@ -82,7 +135,8 @@ public class EventCreator {
      * @return The EventCreator object.
      * */
     public EventCreator lineNumber() {
-        appendElement("lineNumber", String.valueOf(this.lineNumber));
+        StackWalker.StackFrame frame = caller();
+        appendElement("lineNumber", frame == null ? null : String.valueOf(frame.getLineNumber()));
         appendSeperator();
         return this;
     }
@@ -94,13 +148,14 @@ public class EventCreator {
      * @return The EventCreator object.
      * */
     public EventCreator timestamp(String timestampFormat) {
-        if(TimeStampFormatter.isValidTimeFormat(timestampFormat)) {
-            String timestamp = (new SimpleDateFormat(timestampFormat)).format(System.currentTimeMillis() / 1000);
-            appendElement("timestamp", timestamp);
-        } else {
-            String timestamp = (new SimpleDateFormat("dd.MM.yyyy h:mm:ss.SSS a z")).format(System.currentTimeMillis() / 1000);
-            appendElement("timestamp", timestamp);
+        CachedTimeFormat format;
+        try {
+            format = CachedTimeFormat.forPattern(timestampFormat == null || timestampFormat.isEmpty()
+                    ? DEFAULT_TIMESTAMP_FORMAT : timestampFormat);
+        } catch (IllegalArgumentException e) {
+            format = CachedTimeFormat.forPattern(DEFAULT_TIMESTAMP_FORMAT);
         }
+        appendElement("timestamp", format.format(System.currentTimeMillis()));
         appendSeperator();
         return this;
     }
@@ -121,7 +176,8 @@ public class EventCreator {
      * @return The EventCreator object.
      * */
     public EventCreator className() {
-        appendElement("className", this.className);
+        StackWalker.StackFrame frame = caller();
+        appendElement("className", frame == null ? null : frame.getClassName());
         appendSeperator();
         return this;
     }
@@ -131,7 +187,8 @@ public class EventCreator {
      * @return The EventCreator object.
      * */
     public EventCreator methodName() {
-        appendElement("methodName", this.methodName);
+        StackWalker.StackFrame frame = caller();
+        appendElement("methodName", frame == null ? null : frame.getMethodName());
         appendSeperator();
         return this;
     }
@@ -232,31 +289,21 @@ public class EventCreator {
     }
 
     /**
-     * Appends the hostname to the event log.
+     * Appends the hostname to the event log. The hostname is taken from the process-wide {@link HostInfo} cache.
      * @return The EventCreator object.
      */
     public EventCreator hostname() {
-        try {
-            String hostname = java.net.InetAddress.getLocalHost().getHostName();
-            appendElement("hostname", hostname);
-        } catch (Exception e) {
-            appendElement("hostname", "Unknown");
-        }
+        appendElement("hostname", HostInfo.hostname());
         appendSeperator();
         return this;
     }
 
     /**
-     * Appends the IP address to the event log.
+     * Appends the IP address to the event log. The IP address is taken from the process-wide {@link HostInfo} cache.
      * @return The EventCreator object.
      */
     public EventCreator ipAddress() {
-        try {
-            String ipAddress = java.net.InetAddress.getLocalHost().getHostAddress();
-            appendElement("ipAddress", ipAddress);
-        } catch (Exception e) {
-            appendElement("ipAddress", "Unknown");
-        }
+        appendElement("ipAddress", HostInfo.ipAddress());
         appendSeperator();
         return this;
     }
@@ -266,15 +313,15 @@ public class EventCreator {
      * @return The event log as a string.
      * */
     public String create() {
-        switch (eventFormat) {
-            case "json":
+        switch (formatter) {
+            case JSON:
                 event.deleteCharAt(event.length() - 1);
                 event.append("}");
                 break;
-            case "xml":
+            case XML:
                 event.append("</event>");
                 break;
-            case "csv":
+            case CSV:
                 event.deleteCharAt(event.length() - 1);
                 break;
             default:
@@ -1,8 +1,5 @@
 package com.github.eventmanager.formatters;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -131,6 +128,50 @@ public enum EventFormatter {
         }
     };
 
+    /**
+     * Returns the formatter for the given event format name as used in the configuration.
+     *
+     * @param eventFormat the event format name ("kv", "csv", "xml", "json" or "default").
+     * @return the matching formatter, {@link #DEFAULT} for unknown names.
+     */
+    public static EventFormatter of(String eventFormat) {
+        if (eventFormat == null) {
+            return DEFAULT;
+        }
+        return switch (eventFormat) {
+            case "kv" -> KEY_VALUE;
+            case "csv" -> CSV;
+            case "xml" -> XML;
+            case "json" -> JSON;
+            default -> DEFAULT;
+        };
+    }
+
+    /**
+     * Formats the event metadata together with a message and arguments. Events without arguments are formatted
+     * like {@link #format(Map, String)}, events without a message like {@link #format(Map, KeyValueWrapper...)}.
+     *
+     * @param metadata the event metadata.
+     * @param message the event message, or null if the event has none.
+     * @param args the event arguments.
+     * @return the formatted event as a string.
+     */
+    public String formatEvent(Map<String, String> metadata, String message, KeyValueWrapper[] args) {
+        if (message == null) {
+            return format(metadata, args);
+        }
+        if (args.length == 0) {
+            return format(metadata, message);
+        }
+        return switch (this) {
+            case DEFAULT -> formatDefault(metadata, message + " " + formatArgs(args));
+            case KEY_VALUE -> formatKeyValue(metadata, message) + " " + formatArgs(args);
+            case CSV -> formatCsv(metadata, message) + "," + formatCsvArgs(args);
+            case XML -> formatXml(metadata, message, args);
+            case JSON -> formatJson(metadata, message, args);
+        };
+    }
+
     /**
      * Formats the event metadata and arguments.
      *
@@ -157,6 +198,27 @@ public enum EventFormatter {
      */
     public abstract String formatElement(KeyValueWrapper arg);
 
+    /**
+     * Appends a single event element to the builder, exactly as {@link #formatElement(KeyValueWrapper)} formats it,
+     * but without wrapping the pair or creating an intermediate string.
+     *
+     * @param builder the builder to append to.
+     * @param key     the key of the element.
+     * @param value   the value of the element.
+     */
+    public void appendElement(StringBuilder builder, String key, String value) {
+        switch (this) {
+            case DEFAULT, KEY_VALUE -> builder.append(key).append("=\"").append(value).append('"');
+            case CSV -> builder.append(value);
+            case XML -> builder.append('<').append(key).append('>').append(value).append("</").append(key).append('>');
+            case JSON -> {
+                JsonEncoder.appendString(builder, key);
+                builder.append(": ");
+                JsonEncoder.appendString(builder, value);
+            }
+        }
+    }
+
     /**
      * Formats the event arguments.
      *
@@ -173,17 +235,11 @@ public enum EventFormatter {
      * @return the formatted event as a string.
      * */
     private static String formatDefault(Map<String, String> metadata, KeyValueWrapper... args) {
-        StringBuilder builder = new StringBuilder();
+        StringBuilder builder = appendDefaultPrefix(new StringBuilder(), metadata);
         for (KeyValueWrapper arg : args) {
             builder.append(arg.toString()).append(" ");
         }
-        return String.format("[%s] %s %s %s %s: %s",
-                metadata.get("time"),
-                metadata.get("level"),
-                metadata.get("className"),
-                metadata.get("methodName"),
-                metadata.get("lineNumber"),
-                builder);
+        return builder.toString();
     }
 
     /**
@@ -193,13 +249,21 @@ public enum EventFormatter {
      * @return the formatted event as a string.
      * */
     private static String formatDefault(Map<String, String> metadata, String message) {
-        return String.format("[%s] %s %s %s %s: %s",
-                metadata.get("time"),
-                metadata.get("level"),
-                metadata.get("className"),
-                metadata.get("methodName"),
-                metadata.get("lineNumber"),
-                message);
+        return appendDefaultPrefix(new StringBuilder(), metadata).append(message).toString();
+    }
+
+    /**
+     * Appends the metadata in the default format, "[time] level className methodName lineNumber: ".
+     * @param builder the event log builder.
+     * @param metadata the event metadata.
+     * @return the builder.
+     * */
+    private static StringBuilder appendDefaultPrefix(StringBuilder builder, Map<String, String> metadata) {
+        return builder.append('[').append(metadata.get("time")).append("] ")
+                .append(metadata.get("level")).append(' ')
+                .append(metadata.get("className")).append(' ')
+                .append(metadata.get("methodName")).append(' ')
+                .append(metadata.get("lineNumber")).append(": ");
     }
 
     /**
@@ -306,17 +370,48 @@ public enum EventFormatter {
     }
 
     /**
-     * Formats the event metadata and arguments in a JSON format.
+     * Formats the event metadata, message and arguments in an XML format.
      * @param metadata the event metadata.
+     * @param message the event message.
      * @param args the event arguments.
      * @return the formatted event as a string.
      * */
-    private static String formatJson(Map<String, String> metadata, KeyValueWrapper... args) {
-        Map<String, Object> event = new HashMap<>(metadata);
+    private static String formatXml(Map<String, String> metadata, String message, KeyValueWrapper... args) {
+        StringBuilder builder = stringBuilderWithMetaData(metadata);
+        builder.append("<message>").append(message).append("</message>");
         for (KeyValueWrapper arg : args) {
-            event.put(arg.getKey(), arg.getValue());
+            builder.append("<").append(arg.getKey()).append(">").append(arg.getValue()).append("</").append(arg.getKey()).append(">");
         }
-        return convertToJson(event);
+        builder.append("</event>");
+        return builder.toString();
+    }
+
+    /**
+     * Formats the event metadata, message and arguments in a JSON format.
+     * @param metadata the event metadata.
+     * @param message the event message, or null if the event has none.
+     * @param args the event arguments.
+     * @return the formatted event as a string.
+     * */
+    private static String formatJson(Map<String, String> metadata, String message, KeyValueWrapper... args) {
+        StringBuilder builder = new StringBuilder(64 * (metadata.size() + args.length + 1)).append('{');
+        boolean first = JsonEncoder.appendMembers(builder, metadata, true);
+        if (message != null) {
+            JsonEncoder.appendMember(builder, "message", message, first);
+            first = false;
+        }
+        appendJsonArgs(builder, first, args);
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Formats the event metadata and arguments in a JSON format.
+     * @param metadata the event metadata.
+     * @param args the event arguments.
+     * @return the formatted event as a string.
+     * */
+    private static String formatJson(Map<String, String> metadata, KeyValueWrapper... args) {
+        return formatJson(metadata, null, args);
     }
 
     /**
@@ -326,22 +421,19 @@ public enum EventFormatter {
      * @return the formatted event as a string.
      * */
     private static String formatJson(Map<String, String> metadata, String message) {
-        Map<String, Object> event = new HashMap<>(metadata);
-        event.put("message", message);
-        return convertToJson(event);
+        return formatJson(metadata, message, new KeyValueWrapper[0]);
     }
 
     /**
-     * Converts the event to a JSON string.
-     * @param event the event to convert.
-     * @return the event as a JSON string.
+     * Appends the event arguments as JSON members.
+     * @param builder the event log builder.
+     * @param first true if the first argument is the first member of the object.
+     * @param args the event arguments.
      * */
-    private static String convertToJson(Map<String, Object> event) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.writeValueAsString(event);
-        } catch (Exception e) {
-            return "{\"error\": \"Failed to convert to JSON\"}";
+    private static void appendJsonArgs(StringBuilder builder, boolean first, KeyValueWrapper... args) {
+        for (KeyValueWrapper arg : args) {
+            JsonEncoder.appendMember(builder, arg.getKey(), arg.getValue(), first);
+            first = false;
         }
     }
 
@@ -410,7 +502,11 @@ public enum EventFormatter {
      * @param arg the event argument.
      * */
     private static String formatJsonElement(KeyValueWrapper arg) {
-        return "\"" + arg.getKey() + "\": \"" + arg.getValue() + "\"";
+        StringBuilder builder = new StringBuilder();
+        JsonEncoder.appendString(builder, arg.getKey());
+        builder.append(": ");
+        JsonEncoder.appendString(builder, arg.getValue());
+        return builder.toString();
     }
 
     /**
@@ -419,11 +515,9 @@ public enum EventFormatter {
      * @return the formatted event arguments as a string.
      * */
     private static String formatJsonArgs(KeyValueWrapper... args) {
-        Map<String, Object> event = new HashMap<>();
-        for (KeyValueWrapper arg : args) {
-            event.put(arg.getKey(), arg.getValue());
-        }
-        return "\"args\": {" + convertToJson(event).substring(1, convertToJson(event).length() - 1) + "}";
+        StringBuilder builder = new StringBuilder("\"args\": {");
+        appendJsonArgs(builder, true, args);
+        return builder.append('}').toString();
     }
 
     /**
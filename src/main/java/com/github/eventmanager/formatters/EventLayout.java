@@ -0,0 +1,190 @@
+package com.github.eventmanager.formatters;
+
+import com.github.eventmanager.events.LogEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The EventLayout class renders events of the default format according to a layout pattern, e.g.
+ * {@code "%time [%level] %class.%method:%line %msg %kv"}.
+ * <p>
+ * The pattern is parsed once into a chain of appenders. Rendering an event runs the chain against a
+ * {@link StringBuilder}, without parsing, reflection or intermediate maps. The following conversion words are
+ * supported:
+ * <ul>
+ *     <li>{@code %time} - the formatted timestamp.</li>
+ *     <li>{@code %level} - the level of the event.</li>
+ *     <li>{@code %class}, {@code %method} and {@code %line} - the caller location, empty if the event has none.</li>
+ *     <li>{@code %msg} - the message, followed by the stack trace of the throwable of the event.</li>
+ *     <li>{@code %kv} - all fields as space-separated {@code key="value"} pairs.</li>
+ *     <li>{@code %{key}} - the value of a single field, empty if the event does not have it.</li>
+ *     <li>{@code %n} - a line break and {@code %%} - a percent sign.</li>
+ * </ul>
+ * All other characters are copied as they are.
+ */
+public final class EventLayout {
+    /**
+     * Appends one part of the rendered event.
+     */
+    @FunctionalInterface
+    private interface Appender {
+        void append(StringBuilder builder, LogEvent event, String time, String message);
+    }
+
+    private final String pattern;
+    private final Appender[] appenders;
+    private final boolean requiresLocation;
+    private final boolean requiresTime;
+
+    private EventLayout(String pattern, Appender[] appenders, boolean requiresLocation, boolean requiresTime) {
+        this.pattern = pattern;
+        this.appenders = appenders;
+        this.requiresLocation = requiresLocation;
+        this.requiresTime = requiresTime;
+    }
+
+    /**
+     * Compiles a layout pattern.
+     *
+     * @param pattern the layout pattern.
+     * @return the compiled layout.
+     * @throws IllegalArgumentException if the pattern contains an unknown conversion word.
+     */
+    public static EventLayout compile(String pattern) {
+        List<Appender> appenders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean requiresLocation = false;
+        boolean requiresTime = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            if (c != '%' || i == pattern.length()) {
+                literal.append(c);
+                continue;
+            }
+            char next = pattern.charAt(i);
+            if (next == '%') {
+                literal.append('%');
+                i++;
+                continue;
+            }
+            Appender appender;
+            if (next == '{') {
+                int end = pattern.indexOf('}', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed field name in layout: " + pattern);
+                }
+                String key = pattern.substring(i + 1, end);
+                appender = (builder, event, time, message) -> {
+                    String value = event.getField(key);
+                    if (value != null) {
+                        builder.append(value);
+                    }
+                };
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < pattern.length() && Character.isLetter(pattern.charAt(end))) {
+                    end++;
+                }
+                String word = pattern.substring(i, end);
+                appender = switch (word) {
+                    case "time" -> (builder, event, time, message) -> builder.append(time);
+                    case "level" -> (builder, event, time, message) -> builder.append(event.getLevel());
+                    case "class" -> (builder, event, time, message) -> {
+                        if (event.hasLocation()) {
+                            builder.append(event.getClassName());
+                        }
+                    };
+                    case "method" -> (builder, event, time, message) -> {
+                        if (event.hasLocation()) {
+                            builder.append(event.getMethodName());
+                        }
+                    };
+                    case "line" -> (builder, event, time, message) -> {
+                        if (event.hasLocation()) {
+                            builder.append(event.getLineNumber());
+                        }
+                    };
+                    case "msg" -> (builder, event, time, message) -> {
+                        if (message != null) {
+                            builder.append(message);
+                        }
+                    };
+                    case "kv" -> EventLayout::appendFields;
+                    case "n" -> (builder, event, time, message) -> builder.append(System.lineSeparator());
+                    default -> throw new IllegalArgumentException("Unknown conversion word '%" + word
+                            + "' in layout: " + pattern);
+                };
+                requiresLocation |= word.equals("class") || word.equals("method") || word.equals("line");
+                requiresTime |= word.equals("time");
+                i = end;
+            }
+            addLiteral(appenders, literal);
+            appenders.add(appender);
+        }
+        addLiteral(appenders, literal);
+        return new EventLayout(pattern, appenders.toArray(new Appender[0]), requiresLocation, requiresTime);
+    }
+
+    private static void addLiteral(List<Appender> appenders, StringBuilder literal) {
+        if (literal.length() == 0) {
+            return;
+        }
+        String text = literal.toString();
+        appenders.add((builder, event, time, message) -> builder.append(text));
+        literal.setLength(0);
+    }
+
+    private static void appendFields(StringBuilder builder, LogEvent event, String time, String message) {
+        KeyValueWrapper[] fields = event.getFields();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(fields[i].getKey()).append("=\"").append(fields[i].getValue()).append('"');
+        }
+    }
+
+    /**
+     * Appends the rendered event to the builder.
+     *
+     * @param builder the builder to append to.
+     * @param event   the event to render.
+     * @param time    the formatted timestamp of the event, may be null if the layout does not require it.
+     * @param message the rendered message of the event, or null if it has none.
+     */
+    public void appendTo(StringBuilder builder, LogEvent event, String time, String message) {
+        for (Appender appender : appenders) {
+            appender.append(builder, event, time, message);
+        }
+    }
+
+    /**
+     * Gets the pattern this layout was compiled from.
+     *
+     * @return the layout pattern.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Checks whether the layout renders the caller location, so it must be captured when logging.
+     *
+     * @return true if the layout contains %class, %method or %line, false otherwise.
+     */
+    public boolean requiresLocation() {
+        return requiresLocation;
+    }
+
+    /**
+     * Checks whether the layout renders the timestamp.
+     *
+     * @return true if the layout contains %time, false otherwise.
+     */
+    public boolean requiresTime() {
+        return requiresTime;
+    }
+}
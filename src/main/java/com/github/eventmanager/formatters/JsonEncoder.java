@@ -0,0 +1,98 @@
+package com.github.eventmanager.formatters;
+
+import java.util.Map;
+
+/**
+ * The JsonEncoder class writes compact JSON objects straight into a {@link StringBuilder}.
+ * <p>
+ * It replaces the per-event {@code ObjectMapper} of the JSON format: members are appended in the order they are
+ * written, without building intermediate maps or trees. Strings are escaped as required by RFC 8259, i.e. quotation
+ * marks, backslashes and control characters; all other characters are written as they are.
+ */
+public final class JsonEncoder {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private JsonEncoder() {
+    }
+
+    /**
+     * Appends a member to an object. A comma is written first unless the member is the first of the object.
+     *
+     * @param builder the builder to append to.
+     * @param key     the member name.
+     * @param value   the member value, written as a string, or null for a JSON null.
+     * @param first   true if the member is the first of the object.
+     */
+    public static void appendMember(StringBuilder builder, String key, String value, boolean first) {
+        if (!first) {
+            builder.append(',');
+        }
+        appendString(builder, key);
+        builder.append(':');
+        appendString(builder, value);
+    }
+
+    /**
+     * Appends the entries of the map as members of an object, in the iteration order of the map.
+     *
+     * @param builder the builder to append to.
+     * @param members the members to append.
+     * @param first   true if the first entry is the first member of the object.
+     * @return true if no member was written and {@code first} was true, false otherwise.
+     */
+    public static boolean appendMembers(StringBuilder builder, Map<String, ?> members, boolean first) {
+        for (Map.Entry<String, ?> entry : members.entrySet()) {
+            Object value = entry.getValue();
+            appendMember(builder, entry.getKey(), value == null ? null : value.toString(), first);
+            first = false;
+        }
+        return first;
+    }
+
+    /**
+     * Appends a quoted and escaped JSON string, or the literal null.
+     *
+     * @param builder the builder to append to.
+     * @param value   the string to append, may be null.
+     */
+    public static void appendString(StringBuilder builder, String value) {
+        if (value == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            builder.append(value, start, i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                case '\b' -> builder.append("\\b");
+                case '\f' -> builder.append("\\f");
+                default -> builder.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        builder.append(value, start, length).append('"');
+    }
+
+    /**
+     * Encodes the map as a JSON object, in the iteration order of the map.
+     *
+     * @param members the members of the object.
+     * @return the JSON object.
+     */
+    public static String toJson(Map<String, ?> members) {
+        StringBuilder builder = new StringBuilder(32 * members.size() + 2).append('{');
+        appendMembers(builder, members, true);
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.eventmanager.formatters;
+
+import java.util.Arrays;
+
+/**
+ * The ParameterizedMessage class renders messages with "{}" placeholders, e.g. {@code "User {} logged in from {}"}.
+ * <p>
+ * Every placeholder is replaced by the string value of the next argument. A placeholder preceded by a backslash is
+ * written as a literal "{}". Placeholders without a matching argument are kept as they are, surplus arguments are
+ * ignored. Arrays are rendered with their elements.
+ */
+public final class ParameterizedMessage {
+    private static final String PLACEHOLDER = "{}";
+
+    private ParameterizedMessage() {
+    }
+
+    /**
+     * Renders the message pattern with the given arguments.
+     *
+     * @param pattern   the message pattern.
+     * @param arguments the arguments, may be null.
+     * @return the rendered message.
+     */
+    public static String format(String pattern, Object[] arguments) {
+        if (pattern == null || arguments == null || arguments.length == 0) {
+            return pattern;
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * arguments.length);
+        int argumentIndex = 0;
+        int start = 0;
+        int placeholder;
+        while ((placeholder = pattern.indexOf(PLACEHOLDER, start)) >= 0) {
+            if (placeholder > 0 && pattern.charAt(placeholder - 1) == '\\') {
+                builder.append(pattern, start, placeholder - 1).append(PLACEHOLDER);
+            } else if (argumentIndex < arguments.length) {
+                builder.append(pattern, start, placeholder);
+                appendArgument(builder, arguments[argumentIndex++]);
+            } else {
+                builder.append(pattern, start, placeholder + PLACEHOLDER.length());
+            }
+            start = placeholder + PLACEHOLDER.length();
+        }
+        builder.append(pattern, start, pattern.length());
+        return builder.toString();
+    }
+
+    /**
+     * Counts the placeholders of the pattern that consume an argument.
+     *
+     * @param pattern the message pattern.
+     * @return the number of unescaped placeholders.
+     */
+    public static int countPlaceholders(String pattern) {
+        if (pattern == null) {
+            return 0;
+        }
+        int count = 0;
+        int placeholder = -PLACEHOLDER.length();
+        while ((placeholder = pattern.indexOf(PLACEHOLDER, placeholder + PLACEHOLDER.length())) >= 0) {
+            if (placeholder == 0 || pattern.charAt(placeholder - 1) != '\\') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void appendArgument(StringBuilder builder, Object argument) {
+        try {
+            if (argument instanceof Object[] array) {
+                builder.append(Arrays.deepToString(array));
+            } else if (argument != null && argument.getClass().isArray()) {
+                // Primitive arrays: render the wrapping array and strip its brackets
+                String rendered = Arrays.deepToString(new Object[]{argument});
+                builder.append(rendered, 1, rendered.length() - 1);
+            } else {
+                builder.append(argument);
+            }
+        } catch (RuntimeException e) {
+            builder.append("[").append(argument.getClass().getName()).append(".toString() failed: ").append(e)
+                    .append("]");
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.github.eventmanager.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A set of IPv4 and IPv6 address ranges in CIDR notation, compiled into a binary prefix trie.
+ * <p>
+ * Every range is a path from the root of the trie along the bits of its network address, ending in a terminal node
+ * after as many bits as the prefix is long. An address is contained in the set if its path passes a terminal node,
+ * so a lookup follows at most 32 bits of an IPv4 address or 128 bits of an IPv6 address, no matter how many ranges
+ * the set holds. Addresses are parsed from their text without allocating and without consulting the resolver.
+ * <p>
+ * A trie is immutable once it is built and can be shared between threads.
+ */
+public final class CidrTrie {
+    private static final int IPV4_ROOT = 0;
+    private static final int IPV6_ROOT = 1;
+
+    /**
+     * The two children of every node, at {@code 2 * node} for bit 0 and {@code 2 * node + 1} for bit 1; 0 if the
+     * node has no such child.
+     */
+    private int[] children = new int[64];
+    private boolean[] terminal = new boolean[32];
+    private int nodes = 2;
+    private int ranges;
+
+    private CidrTrie() {
+    }
+
+    /**
+     * Compiles the ranges into a trie. Ranges that cannot be parsed are left out; an address without prefix length
+     * stands for itself.
+     *
+     * @param cidrs the ranges, e.g. "10.0.0.0/8" or "fd00::/8".
+     * @return the trie.
+     */
+    public static CidrTrie of(Collection<String> cidrs) {
+        CidrTrie trie = new CidrTrie();
+        if (cidrs != null) {
+            for (String cidr : cidrs) {
+                if (cidr != null) {
+                    trie.add(cidr.trim());
+                }
+            }
+        }
+        trie.children = Arrays.copyOf(trie.children, 2 * trie.nodes);
+        trie.terminal = Arrays.copyOf(trie.terminal, trie.nodes);
+        return trie;
+    }
+
+    /**
+     * Gets the number of ranges in the trie.
+     *
+     * @return the number of ranges that could be parsed.
+     */
+    public int size() {
+        return ranges;
+    }
+
+    /**
+     * Checks whether an address is contained in one of the ranges.
+     *
+     * @param ip the IPv4 address in dotted or the IPv6 address in colon notation.
+     * @return true if the address is in a range, false if it is not or cannot be parsed.
+     */
+    public boolean contains(CharSequence ip) {
+        if (ip == null || ranges == 0) {
+            return false;
+        }
+        if (indexOf(ip, ':', 0, ip.length()) < 0) {
+            long address = parseIpv4(ip, 0, ip.length());
+            return address >= 0 && containsIpv4(address);
+        }
+        return ipv6(ip, ip.length(), -1);
+    }
+
+    /**
+     * Checks whether an IPv4 address is contained in one of the ranges.
+     *
+     * @param address the address as an unsigned 32-bit value.
+     * @return true if the address is in a range.
+     */
+    public boolean containsIpv4(long address) {
+        return lookup(IPV4_ROOT, 0, address, 32);
+    }
+
+    /**
+     * Follows the bits of an address from the root.
+     *
+     * @param root the root of the address family.
+     * @param high the upper 64 bits of an IPv6 address, unused for IPv4.
+     * @param low  the lower 64 bits of an IPv6 address, or the IPv4 address.
+     * @param bits the number of bits of the address.
+     * @return true if the path of the address passes a terminal node.
+     */
+    private boolean lookup(int root, long high, long low, int bits) {
+        int node = root;
+        for (int i = 0; i < bits; i++) {
+            if (terminal[node]) {
+                return true;
+            }
+            node = children[2 * node + bit(high, low, bits, i)];
+            if (node == 0) {
+                return false;
+            }
+        }
+        return terminal[node];
+    }
+
+    private void add(String cidr) {
+        int slash = cidr.indexOf('/');
+        int end = slash >= 0 ? slash : cidr.length();
+        boolean ipv6 = indexOf(cidr, ':', 0, end) >= 0;
+        int bits = ipv6 ? 128 : 32;
+        int prefix = bits;
+        if (slash >= 0) {
+            prefix = parseDecimal(cidr, slash + 1, cidr.length(), bits);
+            if (prefix < 0) {
+                return;
+            }
+        }
+        if (ipv6) {
+            ipv6(cidr, end, prefix);
+            return;
+        }
+        long address = parseIpv4(cidr, 0, end);
+        if (address >= 0) {
+            insert(IPV4_ROOT, 0, address, 32, prefix);
+        }
+    }
+
+    /**
+     * Adds the path of a range to the trie.
+     *
+     * @param root   the root of the address family.
+     * @param high   the upper 64 bits of an IPv6 address, unused for IPv4.
+     * @param low    the lower 64 bits of an IPv6 address, or the IPv4 address.
+     * @param bits   the number of bits of the address.
+     * @param prefix the length of the prefix.
+     */
+    private void insert(int root, long high, long low, int bits, int prefix) {
+        int node = root;
+        for (int i = 0; i < prefix; i++) {
+            int slot = 2 * node + bit(high, low, bits, i);
+            if (children[slot] == 0) {
+                // Grows the arrays, so it has to be called before the array is read.
+                int child = newNode();
+                children[slot] = child;
+            }
+            node = children[slot];
+        }
+        terminal[node] = true;
+        ranges++;
+    }
+
+    private int newNode() {
+        if (nodes == terminal.length) {
+            terminal = Arrays.copyOf(terminal, nodes * 2);
+            children = Arrays.copyOf(children, nodes * 4);
+        }
+        return nodes++;
+    }
+
+    private static int bit(long high, long low, int bits, int index) {
+        if (bits == 32) {
+            return (int) (low >>> (31 - index)) & 1;
+        }
+        return index < 64 ? (int) (high >>> (63 - index)) & 1 : (int) (low >>> (127 - index)) & 1;
+    }
+
+    /**
+     * Parses an IPv4 address in dotted notation.
+     *
+     * @param text  the text.
+     * @param start the index of the address.
+     * @param end   the index after the address.
+     * @return the address as an unsigned 32-bit value, or -1 if the text is not an IPv4 address.
+     */
+    public static long parseIpv4(CharSequence text, int start, int end) {
+        long address = 0;
+        int octets = 0;
+        int octetStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && text.charAt(i) != '.') {
+                continue;
+            }
+            int octet = parseDecimal(text, octetStart, i, 255);
+            if (octet < 0 || ++octets > 4) {
+                return -1;
+            }
+            address = (address << 8) | octet;
+            octetStart = i + 1;
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    /**
+     * Parses an IPv6 address in colon notation, with "::" for a run of zero groups and an optional IPv4 address in
+     * dotted notation as the last two groups, and looks it up or inserts it. Both halves of the address are kept in
+     * local variables, so parsing does not allocate.
+     *
+     * @param text   the text.
+     * @param end    the index after the address.
+     * @param prefix the prefix length to insert the address with, or -1 to look the address up.
+     * @return true if the address is in a range, false if it is not or the text is not an IPv6 address.
+     */
+    private boolean ipv6(CharSequence text, int end, int prefix) {
+        // The groups before and after "::", each shifted into a 128-bit register of two longs.
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+        int i = 0;
+        if (end >= 2 && text.charAt(0) == ':' && text.charAt(1) == ':') {
+            compressed = true;
+            i = 2;
+        }
+        while (i < end) {
+            int groupEnd = indexOf(text, ':', i, end);
+            if (groupEnd < 0) {
+                groupEnd = end;
+            }
+            long value;
+            int shift;
+            if (groupEnd == end && indexOf(text, '.', i, end) >= 0) {
+                value = parseIpv4(text, i, end);
+                shift = 32;
+            } else {
+                value = parseHex(text, i, groupEnd);
+                shift = 16;
+            }
+            if (value < 0) {
+                return false;
+            }
+            if (compressed) {
+                tailHigh = (tailHigh << shift) | (tailLow >>> (64 - shift));
+                tailLow = (tailLow << shift) | value;
+                tailGroups += shift / 16;
+            } else {
+                headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+                headLow = (headLow << shift) | value;
+                headGroups += shift / 16;
+            }
+            if (groupEnd == end) {
+                break;
+            }
+            if (groupEnd + 1 < end && text.charAt(groupEnd + 1) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i = groupEnd + 2;
+            } else if (groupEnd + 1 == end) {
+                return false;
+            } else {
+                i = groupEnd + 1;
+            }
+        }
+        int groups = headGroups + tailGroups;
+        if (compressed ? groups > 7 : groups != 8) {
+            return false;
+        }
+        // Move the head groups to the top of the address; the tail groups are already at the bottom.
+        int shift = 16 * (8 - headGroups);
+        long high;
+        long low;
+        if (shift == 0) {
+            high = headHigh;
+            low = headLow;
+        } else if (shift == 128) {
+            high = 0;
+            low = 0;
+        } else if (shift >= 64) {
+            high = headLow << (shift - 64);
+            low = 0;
+        } else {
+            high = (headHigh << shift) | (headLow >>> (64 - shift));
+            low = headLow << shift;
+        }
+        high |= tailHigh;
+        low |= tailLow;
+        if (prefix < 0) {
+            return lookup(IPV6_ROOT, high, low, 128);
+        }
+        insert(IPV6_ROOT, high, low, 128, prefix);
+        return true;
+    }
+
+    /**
+     * Parses a hexadecimal group of an IPv6 address.
+     *
+     * @return the group, or -1 if it is empty, too long or not hexadecimal.
+     */
+    private static long parseHex(CharSequence text, int start, int end) {
+        if (end <= start || end - start > 4) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a decimal number.
+     *
+     * @return the number, or -1 if it is empty, not decimal or greater than the maximum.
+     */
+    private static int parseDecimal(CharSequence text, int start, int end, int max) {
+        if (end <= start || end - start > 3) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= max ? value : -1;
+    }
+
+    private static int indexOf(CharSequence text, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.eventmanager.internal;
+
+/**
+ * A process-wide clock with millisecond resolution that is cheaper to read than {@link System#currentTimeMillis()}.
+ * <p>
+ * A daemon thread stores the system time in a volatile field once per tick, so reading the clock is a single field
+ * read. The thread is started when the clock is first read. Timestamps may lag the system clock by up to one tick.
+ */
+public final class CoarseClock {
+    /**
+     * The interval in milliseconds at which the clock is updated.
+     */
+    private static final long TICK_MILLIS = 1;
+
+    private static volatile long currentTimeMillis = System.currentTimeMillis();
+
+    static {
+        Thread ticker = new Thread(CoarseClock::tick, "EventManager-CoarseClock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    private CoarseClock() {
+    }
+
+    /**
+     * Returns the time of the last tick.
+     *
+     * @return the current time in milliseconds since the epoch.
+     */
+    public static long currentTimeMillis() {
+        return currentTimeMillis;
+    }
+
+    private static void tick() {
+        while (!Thread.currentThread().isInterrupted()) {
+            currentTimeMillis = System.currentTimeMillis();
+            try {
+                Thread.sleep(TICK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
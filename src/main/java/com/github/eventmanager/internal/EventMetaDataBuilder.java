@@ -1,9 +1,9 @@
 package com.github.eventmanager.internal;
 
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.LogHandler;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import com.github.eventmanager.formatters.CachedTimeFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -21,6 +21,9 @@ import java.util.Map;
  * This metadata aids in debugging, troubleshooting, and providing detailed logging information.
  */
 public class EventMetaDataBuilder {
+    private static final StackWalker STACK_WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
     /**
      * Constructs a metadata map containing contextual information about a logged event.
      *
@@ -29,17 +32,58 @@ public class EventMetaDataBuilder {
      * @return a {@link Map} containing event metadata with keys: "time", "level", "className", "methodName", and "lineNumber".
      */
     public static Map<String, String> buildMetaData(String level, LogHandler logHandler) {
-        StackTraceElement element = Thread.currentThread().getStackTrace()[4];
+        StackWalker.StackFrame element = captureCaller();
 
-        String time = ZonedDateTime.now()
-                .format(DateTimeFormatter.ofPattern(logHandler.getConfig().getEvent().getTimeFormat()));
+        String time = CachedTimeFormat.forPattern(logHandler.getConfig().getEvent().getTimeFormat())
+                .format(System.currentTimeMillis());
 
-        Map<String, String> metaData = new HashMap<>();
+        Map<String, String> metaData = new LinkedHashMap<>();
         metaData.put("time", time);
         metaData.put("level", level);
-        metaData.put("className", element.getClassName());
-        metaData.put("methodName", element.getMethodName());
-        metaData.put("lineNumber", String.valueOf(element.getLineNumber()));
+        if (element != null) {
+            metaData.put("className", element.getClassName());
+            metaData.put("methodName", element.getMethodName());
+            metaData.put("lineNumber", String.valueOf(element.getLineNumber()));
+        }
+        return metaData;
+    }
+
+    /**
+     * Captures the location of the code that called a log method of the event manager.
+     * <p>
+     * The stack is walked lazily from the top and stops at the first frame that does not belong to this class or to
+     * a {@link ManagerBase}, so only the few frames of the logging call itself are inspected.
+     *
+     * @return the {@link StackWalker.StackFrame} of the caller, or null if the stack holds no such frame.
+     */
+    public static StackWalker.StackFrame captureCaller() {
+        return STACK_WALKER.walk(frames -> frames.filter(EventMetaDataBuilder::isCallerFrame)
+                .findFirst()
+                .orElse(null));
+    }
+
+    private static boolean isCallerFrame(StackWalker.StackFrame frame) {
+        Class<?> declaringClass = frame.getDeclaringClass();
+        return declaringClass != EventMetaDataBuilder.class && !ManagerBase.class.isAssignableFrom(declaringClass);
+    }
+
+    /**
+     * Constructs the metadata map of a structured event in a stable order: "time", "level", "className",
+     * "methodName" and "lineNumber". The location keys are left out if the event has no caller location.
+     *
+     * @param event the structured event.
+     * @param time  the formatted timestamp of the event.
+     * @return a {@link Map} containing the event metadata.
+     */
+    public static Map<String, String> buildMetaData(LogEvent event, String time) {
+        Map<String, String> metaData = new LinkedHashMap<>();
+        metaData.put("time", time);
+        metaData.put("level", event.getLevel());
+        if (event.hasLocation()) {
+            metaData.put("className", event.getClassName());
+            metaData.put("methodName", event.getMethodName());
+            metaData.put("lineNumber", String.valueOf(event.getLineNumber()));
+        }
         return metaData;
     }
 }
@@ -0,0 +1,394 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.EventSchema;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.LogHandler;
+import com.github.eventmanager.filehandlers.config.ConfigEvent;
+import com.github.eventmanager.formatters.CachedTimeFormat;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.EventLayout;
+import com.github.eventmanager.formatters.JsonEncoder;
+import com.github.eventmanager.outputs.EncodedEvents;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Serializes structured {@link LogEvent}s to the configured event format.
+ * <p>
+ * Rendering happens once per event at the output stage. Events are appended to a {@link StringBuilder} that is
+ * reused by every thread, without building metadata maps or intermediate strings; JSON is written by
+ * {@link JsonEncoder}. The timestamp pattern is compiled once into a {@link CachedTimeFormat} and only compiled again
+ * when the configured time format changes. The default format is rendered with the configured {@link EventLayout}
+ * if there is one.
+ */
+public class EventRenderer {
+    /**
+     * Pooled builders larger than this are replaced, so a single huge event does not pin its memory.
+     */
+    private static final int MAX_POOLED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private final LogHandler logHandler;
+    private final ConfigEvent eventConfig;
+
+    /**
+     * The compiled timestamp pattern of the configured time format.
+     */
+    private volatile CachedTimeFormat timeFormat;
+
+    public EventRenderer(LogHandler logHandler) {
+        this.logHandler = logHandler;
+        this.eventConfig = null;
+    }
+
+    /**
+     * Creates a renderer that is not bound to a {@link LogHandler}, e.g. for tools converting stored events.
+     *
+     * @param eventConfig the event settings defining the event format, layout and time format.
+     */
+    public EventRenderer(ConfigEvent eventConfig) {
+        this.logHandler = null;
+        this.eventConfig = eventConfig;
+    }
+
+    private ConfigEvent eventConfig() {
+        return logHandler != null ? logHandler.getConfig().getEvent() : eventConfig;
+    }
+
+    /**
+     * Serializes the event to the event format of the configuration.
+     *
+     * @param event the event to serialize.
+     * @return the serialized event.
+     */
+    public String render(LogEvent event) {
+        return render(event, eventConfig().formatter());
+    }
+
+    /**
+     * Serializes the event with the given formatter. Rendered events are returned as they are.
+     *
+     * @param event     the event to serialize.
+     * @param formatter the formatter to use.
+     * @return the serialized event.
+     */
+    public String render(LogEvent event, EventFormatter formatter) {
+        if (event.isRendered()) {
+            return event.getRendered();
+        }
+        StringBuilder builder = pooledBuilder();
+        renderTo(event, formatter, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Serializes the event to the event format of the configuration and encodes it straight into the batch, without
+     * creating a {@link String}.
+     *
+     * @param event  the event to serialize.
+     * @param events the batch of encoded events to append to.
+     */
+    public void renderTo(LogEvent event, EncodedEvents events) {
+        if (event.isRendered()) {
+            events.add(event.getRendered());
+            return;
+        }
+        StringBuilder builder = pooledBuilder();
+        renderTo(event, eventConfig().formatter(), builder);
+        events.add(builder, event.getSchema());
+    }
+
+    /**
+     * Appends the serialized event to the given builder.
+     *
+     * @param event     the event to serialize.
+     * @param formatter the formatter defining the event format.
+     * @param builder   the builder to append to.
+     */
+    public void renderTo(LogEvent event, EventFormatter formatter, StringBuilder builder) {
+        if (event.isRendered()) {
+            builder.append(event.getRendered());
+            return;
+        }
+        EventLayout layout = formatter == EventFormatter.DEFAULT ? eventConfig().compiledLayout()
+                : null;
+        String time = layout == null || layout.requiresTime() ? formatTime(event.getTimestamp()) : null;
+        String message = renderMessage(event);
+        if (layout != null) {
+            layout.appendTo(builder, event, time, message);
+            return;
+        }
+        if (event.getSchema() != null) {
+            appendSchemaEvent(formatter, builder, event, time);
+            return;
+        }
+        KeyValueWrapper[] fields = event.getFields();
+        switch (formatter) {
+            case KEY_VALUE -> {
+                appendMetadata(formatter, builder, event, time);
+                if (message != null) {
+                    builder.append("message=").append(message);
+                    if (fields.length > 0) {
+                        builder.append(' ');
+                    }
+                }
+                for (KeyValueWrapper field : fields) {
+                    builder.append(field.getKey()).append("=\"").append(field.getValue()).append("\" ");
+                }
+            }
+            case CSV -> {
+                appendMetadata(formatter, builder, event, time);
+                if (message != null) {
+                    builder.append(message);
+                    if (fields.length > 0) {
+                        builder.append(',');
+                    }
+                }
+                for (int i = 0; i < fields.length; i++) {
+                    if (i > 0) {
+                        builder.append(',');
+                    }
+                    builder.append(fields[i].getValue());
+                }
+            }
+            case XML -> {
+                builder.append("<event>");
+                appendMetadata(formatter, builder, event, time);
+                if (message != null) {
+                    builder.append("<message>").append(message).append("</message>");
+                }
+                for (KeyValueWrapper field : fields) {
+                    appendXmlElement(builder, field.getKey(), field.getValue());
+                }
+                builder.append("</event>");
+            }
+            case JSON -> appendJson(builder, event, time, message, fields);
+            default -> {
+                builder.append('[').append(time).append("] ").append(event.getLevel());
+                if (event.hasLocation()) {
+                    builder.append(' ').append(event.getClassName()).append(' ').append(event.getMethodName())
+                            .append(' ').append(event.getLineNumber());
+                }
+                builder.append(": ");
+                if (message != null) {
+                    builder.append(message);
+                    if (fields.length > 0) {
+                        builder.append(' ');
+                    }
+                }
+                for (KeyValueWrapper field : fields) {
+                    builder.append(field.getKey()).append("=\"").append(field.getValue()).append("\" ");
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends an event of a schema, taking the keys from the schema and the values by position. In the CSV format the
+     * columns are fixed, so the location columns are left empty if the event has none and values are quoted when
+     * needed.
+     */
+    private static void appendSchemaEvent(EventFormatter formatter, StringBuilder builder, LogEvent event,
+                                          String time) {
+        EventSchema schema = event.getSchema();
+        int size = schema.size();
+        switch (formatter) {
+            case KEY_VALUE -> {
+                appendMetadata(formatter, builder, event, time);
+                for (int i = 0; i < size; i++) {
+                    builder.append(schema.getFieldName(i)).append("=\"").append(event.getSchemaValueAsString(i))
+                            .append("\" ");
+                }
+            }
+            case CSV -> {
+                builder.append(time).append(',').append(event.getLevel()).append(',');
+                if (event.hasLocation()) {
+                    appendCsvValue(builder, event.getClassName());
+                    builder.append(',');
+                    appendCsvValue(builder, event.getMethodName());
+                    builder.append(',').append(event.getLineNumber());
+                } else {
+                    builder.append(",,");
+                }
+                for (int i = 0; i < size; i++) {
+                    builder.append(',');
+                    appendCsvValue(builder, event.getSchemaValueAsString(i));
+                }
+            }
+            case XML -> {
+                builder.append("<event>");
+                appendMetadata(formatter, builder, event, time);
+                for (int i = 0; i < size; i++) {
+                    appendXmlElement(builder, schema.getFieldName(i), event.getSchemaValueAsString(i));
+                }
+                builder.append("</event>");
+            }
+            case JSON -> {
+                builder.append('{');
+                appendJsonMetadata(builder, event, time);
+                for (int i = 0; i < size; i++) {
+                    Object value = event.getSchemaValue(i);
+                    if (schema.getFieldType(i).isJsonLiteral(value)) {
+                        builder.append(',');
+                        JsonEncoder.appendString(builder, schema.getFieldName(i));
+                        builder.append(':').append(value);
+                    } else {
+                        JsonEncoder.appendMember(builder, schema.getFieldName(i), event.getSchemaValueAsString(i),
+                                false);
+                    }
+                }
+                builder.append('}');
+            }
+            default -> {
+                builder.append('[').append(time).append("] ").append(event.getLevel());
+                if (event.hasLocation()) {
+                    builder.append(' ').append(event.getClassName()).append(' ').append(event.getMethodName())
+                            .append(' ').append(event.getLineNumber());
+                }
+                builder.append(": ");
+                for (int i = 0; i < size; i++) {
+                    builder.append(schema.getFieldName(i)).append("=\"").append(event.getSchemaValueAsString(i))
+                            .append("\" ");
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a CSV value, enclosed in quotes if it contains a separator, a quote or a line break. Null values are
+     * left empty.
+     */
+    private static void appendCsvValue(StringBuilder builder, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            builder.append(value);
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                builder.append('"');
+            }
+            builder.append(c);
+        }
+        builder.append('"');
+    }
+
+    /**
+     * Returns the builder of the current thread, emptied.
+     *
+     * @return the pooled builder.
+     */
+    private static StringBuilder pooledBuilder() {
+        StringBuilder builder = BUILDERS.get();
+        if (builder.capacity() > MAX_POOLED_CAPACITY) {
+            builder = new StringBuilder(512);
+            BUILDERS.set(builder);
+        }
+        builder.setLength(0);
+        return builder;
+    }
+
+    /**
+     * Appends the metadata of the event in a stable order: time, level, className, methodName and lineNumber.
+     */
+    private static void appendMetadata(EventFormatter formatter, StringBuilder builder, LogEvent event, String time) {
+        appendMetadata(formatter, builder, "time", time);
+        appendMetadata(formatter, builder, "level", event.getLevel());
+        if (event.hasLocation()) {
+            appendMetadata(formatter, builder, "className", event.getClassName());
+            appendMetadata(formatter, builder, "methodName", event.getMethodName());
+            switch (formatter) {
+                case KEY_VALUE -> builder.append("lineNumber=\"").append(event.getLineNumber()).append("\"  ");
+                case CSV -> builder.append(event.getLineNumber()).append(',');
+                default -> builder.append("<lineNumber>").append(event.getLineNumber()).append("</lineNumber>");
+            }
+        }
+    }
+
+    private static void appendMetadata(EventFormatter formatter, StringBuilder builder, String key, String value) {
+        switch (formatter) {
+            case KEY_VALUE -> builder.append(key).append("=\"").append(value).append("\"  ");
+            case CSV -> builder.append(value).append(',');
+            default -> appendXmlElement(builder, key, value);
+        }
+    }
+
+    /**
+     * Appends the event as a compact JSON object with the members in a stable order: time, level, className,
+     * methodName, lineNumber, message and the fields.
+     */
+    private static void appendJson(StringBuilder builder, LogEvent event, String time, String message,
+                                   KeyValueWrapper[] fields) {
+        builder.append('{');
+        appendJsonMetadata(builder, event, time);
+        if (message != null) {
+            JsonEncoder.appendMember(builder, "message", message, false);
+        }
+        for (KeyValueWrapper field : fields) {
+            JsonEncoder.appendMember(builder, field.getKey(), field.getValue(), false);
+        }
+        builder.append('}');
+    }
+
+    /**
+     * Appends the metadata members of a JSON object, starting with the first member.
+     */
+    private static void appendJsonMetadata(StringBuilder builder, LogEvent event, String time) {
+        JsonEncoder.appendMember(builder, "time", time, true);
+        JsonEncoder.appendMember(builder, "level", event.getLevel(), false);
+        if (event.hasLocation()) {
+            JsonEncoder.appendMember(builder, "className", event.getClassName(), false);
+            JsonEncoder.appendMember(builder, "methodName", event.getMethodName(), false);
+            builder.append(",\"lineNumber\":\"").append(event.getLineNumber()).append('"');
+        }
+    }
+
+    private static void appendXmlElement(StringBuilder builder, String key, String value) {
+        builder.append('<').append(key).append('>').append(value).append("</").append(key).append('>');
+    }
+
+    /**
+     * Formats a timestamp with the time format of the configuration.
+     *
+     * @param timestamp the time in milliseconds since the epoch.
+     * @return the formatted timestamp.
+     */
+    public String formatTime(long timestamp) {
+        String pattern = eventConfig().getTimeFormat();
+        CachedTimeFormat compiled = timeFormat;
+        if (compiled == null || !compiled.getPattern().equals(pattern)) {
+            compiled = new CachedTimeFormat(pattern);
+            timeFormat = compiled;
+        }
+        return compiled.format(timestamp);
+    }
+
+    /**
+     * Returns the message of the event followed by the stack trace of its throwable, if it has one.
+     *
+     * @param event the event.
+     * @return the message, or null if the event has neither a message nor a throwable.
+     */
+    public static String renderMessage(LogEvent event) {
+        String message = event.getMessage();
+        if (event.getThrowable() == null) {
+            return message;
+        }
+        StringWriter sw = new StringWriter();
+        event.getThrowable().printStackTrace(new PrintWriter(sw));
+        String stackTrace = sw.toString().trim();
+        return message == null ? stackTrace : message + System.lineSeparator() + stackTrace;
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.eventmanager.internal;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The ExecutionMode enum defines which kind of threads run the event pipeline.
+ */
+public enum ExecutionMode {
+    /**
+     * The pipeline runs on platform threads.
+     */
+    PLATFORM,
+    /**
+     * The pipeline runs on virtual threads. The pipeline cannot be started if the running Java version does not
+     * support virtual threads.
+     */
+    VIRTUAL,
+    /**
+     * The pipeline runs on virtual threads whenever the running Java version supports them, and on platform threads
+     * otherwise.
+     */
+    AUTO;
+
+    /**
+     * Resolves the given mode name, e.g. "platform", "virtual" or "auto".
+     *
+     * @param mode the name of the mode.
+     * @return the matching mode, or {@link #PLATFORM} if the name is unknown.
+     */
+    public static ExecutionMode of(String mode) {
+        if (mode == null) {
+            return PLATFORM;
+        }
+        try {
+            return valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return PLATFORM;
+        }
+    }
+
+    /**
+     * Checks if this mode results in virtual threads on the running Java version.
+     *
+     * @return true if virtual threads are used, false otherwise.
+     */
+    public boolean usesVirtualThreads() {
+        return this != PLATFORM && VirtualThreads.isSupported();
+    }
+
+    /**
+     * Returns the factory creating the threads of this mode.
+     *
+     * @return a virtual thread factory if {@link #usesVirtualThreads()} is true, a platform thread factory otherwise.
+     * @throws IllegalStateException if the mode is {@link #VIRTUAL} and the running Java version does not support
+     *                               virtual threads.
+     */
+    public ThreadFactory threadFactory() {
+        return switch (this) {
+            case PLATFORM -> Thread::new;
+            case AUTO -> VirtualThreads.factory().orElse(Thread::new);
+            case VIRTUAL -> VirtualThreads.factory().orElseThrow(() -> new IllegalStateException(
+                    "The execution mode \"virtual\" requires Java 21 or newer, use \"auto\" to fall back to platform"
+                            + " threads"));
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.eventmanager.internal;
+
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A process-wide cache of the hostname and IP address of the local machine.
+ * <p>
+ * Resolving the local host may take milliseconds or even seconds on hosts with slow name resolvers, which is far too
+ * expensive to do per event. The host is resolved once when the cache is first used and then refreshed by a daemon
+ * thread in the background, so reading a value is a single volatile read and never blocks. If a refresh fails, the
+ * values of the last successful resolution are kept; values that were never resolved are reported as "Unknown".
+ */
+public final class HostInfo {
+    /**
+     * The value reported for values that could not be resolved.
+     */
+    public static final String UNKNOWN = "Unknown";
+    /**
+     * The interval in minutes at which the host is resolved again.
+     */
+    private static final long REFRESH_MINUTES = 5;
+
+    /**
+     * The resolved values, swapped as a whole so the hostname and IP address always belong together.
+     */
+    private record Snapshot(String hostname, String ipAddress) {
+    }
+
+    private static volatile Snapshot snapshot = new Snapshot(UNKNOWN, UNKNOWN);
+
+    static {
+        refresh();
+        ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "EventManager-HostInfo");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(HostInfo::refresh, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private HostInfo() {
+    }
+
+    /**
+     * Returns the cached hostname of the local machine.
+     *
+     * @return the hostname, or {@link #UNKNOWN} if it could not be resolved.
+     */
+    public static String hostname() {
+        return snapshot.hostname();
+    }
+
+    /**
+     * Returns the cached IP address of the local machine.
+     *
+     * @return the IP address, or {@link #UNKNOWN} if it could not be resolved.
+     */
+    public static String ipAddress() {
+        return snapshot.ipAddress();
+    }
+
+    /**
+     * Resolves the local host again and replaces the cached values. Called by the background thread; it may also be
+     * called after the network configuration of the machine changed.
+     */
+    public static void refresh() {
+        try {
+            InetAddress localHost = InetAddress.getLocalHost();
+            snapshot = new Snapshot(localHost.getHostName(), localHost.getHostAddress());
+        } catch (Exception e) {
+            // Keep the values of the last successful resolution.
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.github.eventmanager.internal;
 
 import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.events.EventSchema;
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.LogHandler;
+import com.github.eventmanager.filehandlers.config.ConfigEvent;
+import com.github.eventmanager.filehandlers.config.ConfigQueue;
 import com.github.eventmanager.filehandlers.config.OutputEntry;
 import com.github.eventmanager.filehandlers.config.ProcessorEntry;
-import com.github.eventmanager.formatters.EventFormatter;
 import com.github.eventmanager.formatters.KeyValueWrapper;
+import com.github.eventmanager.outputs.EncodedEvents;
 import lombok.Getter;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.time.Duration;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 /**
  * Abstract base class providing foundational functionality for event management,
  * including event queuing, processing, and logging.
@@ -26,6 +34,11 @@ public abstract class ManagerBase {
     @Getter
     protected LogHandler logHandler;
 
+    /**
+     * The event settings of the configuration, kept to check the level threshold with a single field read.
+     */
+    protected final ConfigEvent eventConfig;
+
     /**
      * Processes and enriches log events.
      */
@@ -36,20 +49,45 @@ public abstract class ManagerBase {
      */
     protected OutputHelper outputHelper;
 
+    /**
+     * Serializes structured events to the configured event format at the output stage.
+     */
+    protected final EventRenderer eventRenderer;
+
     /**
      * Queue that holds events ready to be written to the log file.
      */
-    protected final BlockingQueue<String> eventQueue = new LinkedBlockingQueue<>();
+    protected final BlockingQueue<LogEvent> eventQueue;
 
     /**
      * Queue that holds events pending processing by processors.
      */
-    protected final BlockingQueue<String> processingQueue = new LinkedBlockingQueue<>();
+    protected final BlockingQueue<LogEvent> processingQueue;
+
+    /**
+     * The processing queue if the garbage-free mode is enabled, null otherwise.
+     */
+    private final PooledEventQueue pooledProcessingQueue;
 
     /**
      * Manages threading operations for event and processing threads.
      */
-    private final ThreadHelper threadHelper = new ThreadHelper();
+    private final ThreadHelper threadHelper;
+
+    /**
+     * Restores the queue order of the processed events if several processing workers are running, null otherwise.
+     */
+    private volatile ReorderBuffer<LogEvent> reorderBuffer;
+
+    /**
+     * Tags the events taken from the processing queue with consecutive sequence numbers for the reorder buffer.
+     */
+    private final AtomicLong sequenceCounter = new AtomicLong();
+
+    /**
+     * Makes taking an event and tagging it with a sequence number one step.
+     */
+    private final ReentrantLock takeLock = new ReentrantLock();
 
     /**
      * Initializes ManagerBase with a provided LogHandler instance.
@@ -58,8 +96,19 @@ public abstract class ManagerBase {
      */
     public ManagerBase(LogHandler logHandler) {
         this.logHandler = logHandler;
-        this.processorHelper = new ProcessorHelper(logHandler);
+        this.eventConfig = logHandler.getConfig().getEvent();
+        this.eventRenderer = new EventRenderer(logHandler);
+        this.processorHelper = new ProcessorHelper(logHandler, eventRenderer);
         this.outputHelper = new OutputHelper(logHandler);
+        this.eventQueue = createQueue(logHandler.getConfig().getQueue());
+        ConfigQueue queueConfig = logHandler.getConfig().getQueue();
+        this.pooledProcessingQueue = queueConfig.isGarbageFree()
+                ? new PooledEventQueue(queueConfig.getCapacity(), OverflowPolicy.of(queueConfig.getOverflowPolicy()),
+                        EventLevel.of(queueConfig.getDropBelowLevel()))
+                : null;
+        this.processingQueue = pooledProcessingQueue != null ? pooledProcessingQueue : createQueue(queueConfig);
+        ExecutionMode mode = ExecutionMode.of(logHandler.getConfig().getThreading().getMode());
+        this.threadHelper = new ThreadHelper(mode.threadFactory());
     }
 
     /**
@@ -71,22 +120,29 @@ public abstract class ManagerBase {
         this(new LogHandler(configPath));
     }
 
+    /**
+     * Creates an event queue based on the queue configuration.
+     *
+     * @param config the queue configuration.
+     * @return a bounded {@link RingBufferQueue} if the type is "ringBuffer", an unbounded
+     * {@link LinkedBlockingQueue} otherwise.
+     */
+    private static BlockingQueue<LogEvent> createQueue(ConfigQueue config) {
+        if ("ringBuffer".equalsIgnoreCase(config.getType())) {
+            return new RingBufferQueue<>(config.getCapacity(),
+                    OverflowPolicy.of(config.getOverflowPolicy()),
+                    EventLevel.of(config.getDropBelowLevel()));
+        }
+        return new LinkedBlockingQueue<>();
+    }
+
     /**
      * Starts event processing and logging threads.
      */
     protected void initiateThreads() {
         initialiseProcessorThreadAndOutputs();
 
-        threadHelper.startEventThread(() -> {
-            try {
-                while (!Thread.currentThread().isInterrupted()) {
-                    String event = eventQueue.take();
-                    outputEvent(event);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        });
+        threadHelper.startEventThread(() -> runEventLoop(null));
     }
 
     /**
@@ -95,16 +151,83 @@ public abstract class ManagerBase {
     protected void initiateThreads(InternalEventManager internalEventManager) {
         initialiseProcessorThreadAndOutputs();
 
-        threadHelper.startEventThread(() -> {
-            try {
-                while (!Thread.currentThread().isInterrupted()) {
-                    String event = eventQueue.take();
-                    outputEvent(internalEventManager, event);
+        threadHelper.startEventThread(() -> runEventLoop(internalEventManager));
+    }
+
+    /**
+     * Takes events from the event queue in batches and passes every batch to the outputs at once. The loop blocks
+     * for the first event and then drains whatever else is queued, up to the configured batch size. The events are
+     * rendered and encoded as UTF-8 into one reused buffer, which the outputs write without encoding them again.
+     * Outputs writing structured events receive the events themselves; if all outputs do, rendering is skipped.
+     *
+     * @param internalEventManager the internal event manager used by the outputs, or null for the internal event
+     *                             manager itself.
+     */
+    private void runEventLoop(InternalEventManager internalEventManager) {
+        int batchSize = Math.max(1, logHandler.getConfig().getQueue().getBatchSize());
+        List<LogEvent> events = new ArrayList<>(batchSize);
+        EncodedEvents encodedEvents = new EncodedEvents();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                events.add(eventQueue.take());
+                eventQueue.drainTo(events, batchSize - 1);
+                outputBatch(internalEventManager, events, encodedEvents);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Renders a batch of events if any output needs them serialized, passes the batch to the outputs and clears
+     * the batch and the buffer for the next one.
+     *
+     * @param internalEventManager the internal event manager used by the outputs, or null for the internal event
+     *                             manager itself.
+     * @param events               the events of the batch.
+     * @param encodedEvents        the reused buffer the events are encoded into.
+     */
+    private void outputBatch(InternalEventManager internalEventManager, List<LogEvent> events,
+                             EncodedEvents encodedEvents) {
+        try {
+            if (outputHelper.requiresRenderedEvents()) {
+                for (LogEvent event : events) {
+                    eventRenderer.renderTo(event, encodedEvents);
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
             }
-        });
+            if (internalEventManager != null) {
+                outputHelper.outputEvents(internalEventManager, events, encodedEvents);
+            } else {
+                outputHelper.outputEvents(events, encodedEvents);
+            }
+        } finally {
+            events.clear();
+            encodedEvents.clear();
+        }
+    }
+
+    /**
+     * Passes the events that are left in the event queue after the event thread was stopped to the outputs, in
+     * batches of the configured size, the same way the event loop does. The event thread is joined first, so its
+     * last batch is written before these events and the outputs are never called from both threads at once.
+     *
+     * @param internalEventManager the internal event manager used by the outputs, or null for the internal event
+     *                             manager itself.
+     * @param remaining            the remaining events, in queue order.
+     */
+    private void outputRemainingEvents(InternalEventManager internalEventManager, List<LogEvent> remaining) {
+        int batchSize = Math.max(1, logHandler.getConfig().getQueue().getBatchSize());
+        List<LogEvent> events = new ArrayList<>(Math.min(batchSize, remaining.size()));
+        EncodedEvents encodedEvents = new EncodedEvents();
+        for (LogEvent event : remaining) {
+            events.add(event);
+            if (events.size() == batchSize) {
+                outputBatch(internalEventManager, events, encodedEvents);
+            }
+        }
+        if (!events.isEmpty()) {
+            outputBatch(internalEventManager, events, encodedEvents);
+        }
     }
 
     /**
@@ -114,14 +237,139 @@ public abstract class ManagerBase {
         processorHelper.initialiseProcessors();
         outputHelper.initialiseOutputs();
 
+        int workers = logHandler.getConfig().getThreading().getProcessingWorkers();
+        if (workers > 1) {
+            startProcessingWorkers(workers);
+            return;
+        }
+
         threadHelper.startProcessingThread(() -> {
             try {
                 while (!Thread.currentThread().isInterrupted()) {
-                    String event = processingQueue.take();
-                    event = processorHelper.processEvent(event);
-                    if(!event.isBlank() && event!=null){
-                        writeEventToQueue(event);
+                    LogEvent next = takeProcessingEvent();
+                    if (next != null) {
+                        LogEvent event = processorHelper.processEvent(next);
+                        if (event != null) {
+                            writeEventToQueue(event);
+                        }
+                    }
+                    flushAggregatingProcessors(false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Takes the next event from the processing queue. If aggregating processors are registered, waits at most one
+     * flush interval, so they are also flushed while no events arrive.
+     *
+     * @return the next event, or null if none arrived within the flush interval.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private LogEvent takeProcessingEvent() throws InterruptedException {
+        if (processorHelper.hasAggregatingProcessors()) {
+            return processingQueue.poll(ProcessorHelper.FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return processingQueue.take();
+    }
+
+    /**
+     * Flushes the aggregating processors and queues the events they emit for the outputs. With several processing
+     * workers the events pass through the reorder buffer, behind all events taken from the processing queue so far.
+     *
+     * @param all true to flush all held back events.
+     */
+    private void flushAggregatingProcessors(boolean all) {
+        List<LogEvent> events = processorHelper.flushAggregatingProcessors(all);
+        if (events.isEmpty()) {
+            return;
+        }
+        if (reorderBuffer == null) {
+            for (LogEvent event : events) {
+                writeEventToQueue(event);
+            }
+            return;
+        }
+        long sequence;
+        takeLock.lock();
+        try {
+            sequence = sequenceCounter.getAndAdd(events.size());
+        } finally {
+            takeLock.unlock();
+        }
+        for (LogEvent event : events) {
+            reorderBuffer.complete(sequence++, event);
+        }
+    }
+
+    /**
+     * Processes an event that is left in the processing queue after the processing threads were stopped and queues
+     * the result for the outputs. With several processing workers the event takes the next sequence number and
+     * passes through the reorder buffer, so it cannot overtake events a worker still holds.
+     *
+     * @param event the remaining event.
+     */
+    private void processRemainingEvent(LogEvent event) {
+        if (reorderBuffer == null) {
+            LogEvent processedEvent = processorHelper.processEvent(event);
+            if (processedEvent != null) {
+                writeEventToQueue(processedEvent);
+            }
+            return;
+        }
+        long sequence;
+        takeLock.lock();
+        try {
+            sequence = sequenceCounter.getAndIncrement();
+        } finally {
+            takeLock.unlock();
+        }
+        LogEvent processedEvent = null;
+        try {
+            processedEvent = processorHelper.processEvent(event);
+        } finally {
+            reorderBuffer.complete(sequence, processedEvent);
+        }
+    }
+
+    /**
+     * Starts several processing threads that run the processors in parallel.
+     * <p>
+     * Each worker takes an event from the processing queue and tags it with the next sequence number in one step,
+     * so the sequence numbers follow the queue order. The processed events pass through a {@link ReorderBuffer}
+     * which writes them to the event queue in sequence order, keeping the order of every producer thread intact.
+     *
+     * @param workers the number of processing threads.
+     */
+    private void startProcessingWorkers(int workers) {
+        reorderBuffer = new ReorderBuffer<>(workers * 64, this::writeEventToQueue);
+
+        threadHelper.startProcessingThreads(workers, () -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    LogEvent event;
+                    long sequence;
+                    takeLock.lockInterruptibly();
+                    try {
+                        event = takeProcessingEvent();
+                        sequence = event != null ? sequenceCounter.getAndIncrement() : -1;
+                    } finally {
+                        takeLock.unlock();
+                    }
+                    if (event == null) {
+                        flushAggregatingProcessors(false);
+                        continue;
                     }
+
+                    LogEvent processedEvent = null;
+                    try {
+                        processedEvent = processorHelper.processEvent(event);
+                    } finally {
+                        reorderBuffer.complete(sequence, processedEvent);
+                    }
+                    flushAggregatingProcessors(false);
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -136,23 +384,27 @@ public abstract class ManagerBase {
      * @param internalEventManager The event manager used for logging shutdown information.
      */
     protected void stopAllThreads(InternalEventManager internalEventManager) {
-        threadHelper.stopThread(threadHelper.getProcessingThread(), processingQueue, event -> {
+        threadHelper.stopThreads(threadHelper.getProcessingThreads(), processingQueue, event -> {
             try {
-                event = processorHelper.processEvent(event);
-                writeEventToQueue(event);
+                processRemainingEvent(event);
             } catch (Exception e) {
                 internalEventManager.logError("Error processing remaining events: " + e.getMessage());
             }
         });
+        try {
+            flushAggregatingProcessors(true);
+        } catch (Exception e) {
+            internalEventManager.logError("Error flushing aggregating processors: " + e.getMessage());
+        }
         internalEventManager.logInfo("Processing queue processed successfully.");
 
-        threadHelper.stopThread(threadHelper.getEventThread(), eventQueue, event -> {
-            try {
-                outputEvent(event);
-            } catch (Exception e) {
-                internalEventManager.logError("Error writing remaining events: " + e.getMessage());
-            }
-        });
+        List<LogEvent> remaining = new ArrayList<>();
+        threadHelper.stopThreads(List.of(threadHelper.getEventThread()), eventQueue, remaining::add);
+        try {
+            outputRemainingEvents(internalEventManager, remaining);
+        } catch (Exception e) {
+            internalEventManager.logError("Error writing remaining events: " + e.getMessage());
+        }
         internalEventManager.logInfo("Event queue processed successfully.");
     }
 
@@ -161,28 +413,34 @@ public abstract class ManagerBase {
      * Logs status information directly to the standard output.
      */
     protected void stopAllThreads() {
-        threadHelper.stopThread(threadHelper.getProcessingThread(), processingQueue, event -> {
+        threadHelper.stopThreads(threadHelper.getProcessingThreads(), processingQueue, event -> {
             try {
-                event = processorHelper.processEvent(event);
-                writeEventToQueue(event);
+                processRemainingEvent(event);
             } catch (Exception e) {
                 System.out.println("Error processing remaining events: " + e.getMessage());
             }
         });
+        try {
+            flushAggregatingProcessors(true);
+        } catch (Exception e) {
+            System.out.println("Error flushing aggregating processors: " + e.getMessage());
+        }
         System.out.println("Processing queue processed successfully.");
 
-        threadHelper.stopThread(threadHelper.getEventThread(), eventQueue, event -> {
-            try {
-                outputEvent(event);
-            } catch (Exception e) {
-                System.out.println("Error writing remaining events: " + e.getMessage());
-            }
-        });
+        List<LogEvent> remaining = new ArrayList<>();
+        threadHelper.stopThreads(List.of(threadHelper.getEventThread()), eventQueue, remaining::add);
+        try {
+            outputRemainingEvents(null, remaining);
+        } catch (Exception e) {
+            System.out.println("Error writing remaining events: " + e.getMessage());
+        }
         System.out.println("Event queue processed successfully.");
     }
 
     /**
-     * Formats and queues a log message for processing and eventual writing to log file.
+     * Queues a log message for processing and eventual writing to log file. The message is serialized to the
+     * configured event format at the output stage. In the garbage-free mode the message is written to a pooled slot;
+     * a message that is not a string is still converted with {@code toString()} on the calling thread.
      *
      * @param level   Log level (e.g., INFO, ERROR).
      * @param message Message content to log, which can be an Exception or String.
@@ -192,18 +450,11 @@ public abstract class ManagerBase {
                 ? ((Exception) message).getMessage()
                 : message.toString();
 
-        Map<String, String> metaData = EventMetaDataBuilder.buildMetaData(level, this.logHandler);
-        String eventFormat = this.logHandler.getConfig().getEvent().getEventFormat();
-
-        String event = switch (eventFormat) {
-            case "kv" -> EventFormatter.KEY_VALUE.format(metaData, formattedMessage);
-            case "csv" -> EventFormatter.CSV.format(metaData, formattedMessage);
-            case "xml" -> EventFormatter.XML.format(metaData, formattedMessage);
-            case "json" -> EventFormatter.JSON.format(metaData, formattedMessage);
-            default -> EventFormatter.DEFAULT.format(metaData, formattedMessage);
-        };
-
-        writeEventToProcessingQueue(event);
+        if (pooledProcessingQueue != null) {
+            publishPooled(level, formattedMessage, null, null, null);
+            return;
+        }
+        writeEventToProcessingQueue(createEvent(level, formattedMessage, null, null, null));
     }
 
     /**
@@ -213,50 +464,225 @@ public abstract class ManagerBase {
      * @param messages an object array to be appended to the message.
      */
     protected void logMessage(String level, KeyValueWrapper... messages) {
-        Map<String, String> metaData = EventMetaDataBuilder.buildMetaData(level, this.logHandler);
-        String eventFormat = this.logHandler.getConfig().getEvent().getEventFormat();
+        if (pooledProcessingQueue != null) {
+            publishPooled(level, null, null, messages, null);
+            return;
+        }
+        writeEventToProcessingQueue(createEvent(level, null, null, messages, null));
+    }
+
+    /**
+     * Logs a parameterized message. The "{}" placeholders are rendered on the processing or output thread.
+     *
+     * @param level     the log level of the message.
+     * @param pattern   the message pattern.
+     * @param arguments the arguments of the placeholders.
+     */
+    protected void logParameterized(String level, String pattern, Object[] arguments) {
+        if (pooledProcessingQueue != null) {
+            publishPooled(level, pattern, arguments, null, null);
+            return;
+        }
+        writeEventToProcessingQueue(createEvent(level, pattern, arguments, null, null));
+    }
+
+    /**
+     * Logs an exception. The stack trace is only converted to a string at the output stage.
+     *
+     * @param level     the log level of the message.
+     * @param exception the exception to log.
+     */
+    protected void logException(String level, Exception exception) {
+        if (pooledProcessingQueue != null) {
+            publishPooled(level, null, null, null, exception);
+            return;
+        }
+        writeEventToProcessingQueue(createEvent(level, null, null, null, exception));
+    }
+
+    /**
+     * Logs an event of a schema with positional values.
+     *
+     * @param level  the log level of the event.
+     * @param schema the schema of the event.
+     * @param values the values of the fields, in the order of the schema.
+     */
+    protected void logSchemaEvent(String level, EventSchema schema, Object[] values) {
+        long timestamp = currentTime();
+        StackWalker.StackFrame caller = captureCaller(level);
+        if (pooledProcessingQueue != null) {
+            if (caller != null) {
+                pooledProcessingQueue.publish(timestamp, level, caller.getClassName(), caller.getMethodName(),
+                        caller.getLineNumber(), schema, values);
+            } else {
+                pooledProcessingQueue.publish(timestamp, level, null, null, -1, schema, values);
+            }
+            return;
+        }
+        writeEventToProcessingQueue(caller != null
+                ? LogEvent.ofSchema(timestamp, level, caller.getClassName(), caller.getMethodName(),
+                        caller.getLineNumber(), schema, values)
+                : LogEvent.ofSchema(timestamp, level, null, null, -1, schema, values));
+    }
+
+    /**
+     * Writes an event to a slot of the pooled processing queue. The caller location is captured if it is enabled
+     * for the level; only then does the calling thread allocate, for the stack frame.
+     *
+     * @param level     the log level of the event.
+     * @param message   the message or message pattern, or null.
+     * @param arguments the arguments of the message pattern, or null for a plain message.
+     * @param fields    the key-value fields, or null.
+     * @param throwable the throwable, or null.
+     */
+    private void publishPooled(String level, String message, Object[] arguments, KeyValueWrapper[] fields,
+                               Throwable throwable) {
+        long timestamp = currentTime();
+        StackWalker.StackFrame caller = captureCaller(level);
+        if (caller != null) {
+            pooledProcessingQueue.publish(timestamp, level, caller.getClassName(), caller.getMethodName(),
+                    caller.getLineNumber(), message, arguments, fields, throwable);
+        } else {
+            pooledProcessingQueue.publish(timestamp, level, null, null, -1, message, arguments, fields, throwable);
+        }
+    }
+
+    /**
+     * Reads the current time from the clock selected in the configuration.
+     *
+     * @return the current time in milliseconds since the epoch.
+     */
+    private long currentTime() {
+        return eventConfig.getCoarseClock() ? CoarseClock.currentTimeMillis() : System.currentTimeMillis();
+    }
 
-        String event = switch (eventFormat) {
-            case "kv" -> EventFormatter.KEY_VALUE.format(metaData, messages);
-            case "csv" -> EventFormatter.CSV.format(metaData, messages);
-            case "xml" -> EventFormatter.XML.format(metaData, messages);
-            case "json" -> EventFormatter.JSON.format(metaData, messages);
-            default -> EventFormatter.DEFAULT.format(metaData, messages);
-        };;
+    /**
+     * Creates a structured event, capturing the caller location if it is enabled for the level of the event.
+     *
+     * @param level     the log level of the event.
+     * @param message   the message or message pattern, or null.
+     * @param arguments the arguments of the message pattern, or null for a plain message.
+     * @param fields    the key-value fields, or null.
+     * @param throwable the throwable, or null.
+     * @return the new event.
+     */
+    private LogEvent createEvent(String level, String message, Object[] arguments, KeyValueWrapper[] fields,
+                                 Throwable throwable) {
+        long timestamp = currentTime();
+        String className = null;
+        String methodName = null;
+        int lineNumber = -1;
+        StackWalker.StackFrame caller = captureCaller(level);
+        if (caller != null) {
+            className = caller.getClassName();
+            methodName = caller.getMethodName();
+            lineNumber = caller.getLineNumber();
+        }
+        if (arguments != null) {
+            return LogEvent.ofParameterized(timestamp, level, className, methodName, lineNumber, message, arguments);
+        }
+        return new LogEvent(timestamp, level, className, methodName, lineNumber, message, fields, throwable);
+    }
 
-        writeEventToProcessingQueue(event);
+    /**
+     * Captures the caller location if it is enabled for the level.
+     *
+     * @param level the log level of the event.
+     * @return the frame of the caller, or null if the location is disabled or unknown.
+     */
+    private StackWalker.StackFrame captureCaller(String level) {
+        return eventConfig.isLocationEnabled(EventLevel.of(level)) ? EventMetaDataBuilder.captureCaller() : null;
     }
 
     /**
      * Adds processed event to the event queue.
      *
-     * @param event The event string after processing.
+     * @param event The event after processing.
+     */
+    protected void writeEventToQueue(LogEvent event) {
+        enqueue(eventQueue, event);
+    }
+
+    /**
+     * Adds an already serialized event to the event queue, bypassing the processors.
+     *
+     * @param event The serialized event.
      */
     protected void writeEventToQueue(String event) {
-        eventQueue.add(event);
+        enqueue(eventQueue, LogEvent.ofRendered(null, event));
+    }
+
+    /**
+     * Adds an already serialized event to the event queue, bypassing the processors.
+     *
+     * @param level The level of the event, used by the overflow policy of a bounded queue.
+     * @param event The serialized event.
+     */
+    protected void writeEventToQueue(String level, String event) {
+        enqueue(eventQueue, LogEvent.ofRendered(level, event));
+    }
+
+    /**
+     * Adds an event to the processing queue.
+     *
+     * @param event The event before processing.
+     */
+    protected void writeEventToProcessingQueue(LogEvent event) {
+        enqueue(processingQueue, event);
+    }
+
+    /**
+     * Adds an event to the given queue, applying the overflow policy if the queue is a {@link RingBufferQueue}.
+     *
+     * @param queue The queue to add the event to.
+     * @param event The event.
+     */
+    private static void enqueue(BlockingQueue<LogEvent> queue, LogEvent event) {
+        if (queue instanceof RingBufferQueue<LogEvent> ringBuffer) {
+            ringBuffer.publish(event, event.getEventLevel());
+        } else {
+            queue.add(event);
+        }
+    }
+
+    /**
+     * Checks if events of the given level are logged.
+     *
+     * @param level the level to check.
+     * @return true if the level is at least as severe as the configured threshold, false otherwise.
+     */
+    public boolean isEnabled(EventLevel level) {
+        return eventConfig.isEnabled(level);
     }
 
     /**
-     * Adds raw event to the processing queue.
+     * Returns the number of events that were discarded because a bounded queue was full.
      *
-     * @param event The event string before processing.
+     * @return the number of rejected events, always 0 for unbounded queues.
      */
-    protected void writeEventToProcessingQueue(String event) {
-        processingQueue.add(event);
+    public long getRejectedEventCount() {
+        long rejected = 0;
+        if (processingQueue instanceof RingBufferQueue<LogEvent> ringBuffer) {
+            rejected += ringBuffer.getRejectedCount();
+        }
+        if (eventQueue instanceof RingBufferQueue<LogEvent> ringBuffer) {
+            rejected += ringBuffer.getRejectedCount();
+        }
+        return rejected;
     }
 
     /**
-     * Passes the event to the output or outputs specified in the runtime or config specification.
+     * Serializes the event and passes it to the output or outputs specified in the runtime or config specification.
      */
-    protected void outputEvent(String event){
-        this.outputHelper.outputEvent(event);
+    protected void outputEvent(LogEvent event){
+        this.outputHelper.outputEvent(eventRenderer.render(event));
     }
 
     /**
-     * Passes the event to the output or outputs specified in the runtime or config specification.
+     * Serializes the event and passes it to the output or outputs specified in the runtime or config specification.
      */
-    protected void outputEvent(InternalEventManager internalEventManager, String event){
-        this.outputHelper.outputEvent(internalEventManager, event);
+    protected void outputEvent(InternalEventManager internalEventManager, LogEvent event){
+        this.outputHelper.outputEvent(internalEventManager, eventRenderer.render(event));
     }
 
     /**
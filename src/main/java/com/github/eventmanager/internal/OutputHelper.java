@@ -1,9 +1,11 @@
 package com.github.eventmanager.internal;
 
 import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.LogHandler;
 import com.github.eventmanager.filehandlers.config.OutputEntry;
 import com.github.eventmanager.filehandlers.config.SocketEntry;
+import com.github.eventmanager.outputs.EncodedEvents;
 import com.github.eventmanager.outputs.LogOutput;
 import com.github.eventmanager.outputs.Output;
 import com.github.eventmanager.outputs.PrintOutput;
@@ -57,7 +59,9 @@ public class OutputHelper {
             return new LogOutput();
         } else if (clazz == SocketOutput.class) {
             List<SocketEntry> socketSettings = (List<SocketEntry>) parameters.get("socketSettings");
-            return new SocketOutput(socketSettings);
+            ExecutionMode mode = ExecutionMode.of(logHandler.getConfig().getThreading().getMode());
+            return new SocketOutput(socketSettings, mode.usesVirtualThreads() ? mode.threadFactory() : null,
+                    SocketOutput.WireFormat.of((String) parameters.get("wireFormat")));
         }
         return null;
     }
@@ -139,4 +143,83 @@ public class OutputHelper {
             output.write(internalEventManager, event);
         }
     }
+
+    /**
+     * Output a batch of internal events to all output destinations.
+     * */
+    public void outputBatch(List<String> events) {
+        for (Output output : outputs) {
+            output.writeBatch(logHandler, events);
+        }
+    }
+
+    /**
+     * Checks whether any output destination writes rendered events, so the events of a batch must be rendered.
+     *
+     * @return true if at least one output writes rendered events, false otherwise.
+     */
+    public boolean requiresRenderedEvents() {
+        for (Output output : outputs) {
+            if (!output.writesStructuredEvents()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Output a batch of internal events to all output destinations, either structured or as the encoded
+     * rendered events, depending on the output.
+     * */
+    public void outputEvents(List<LogEvent> events, EncodedEvents encodedEvents) {
+        for (Output output : outputs) {
+            if (output.writesStructuredEvents()) {
+                output.writeEvents(logHandler, events);
+            } else {
+                output.writeEncoded(logHandler, encodedEvents);
+            }
+        }
+    }
+
+    /**
+     * Output a batch of events to all output destinations, either structured or as the encoded rendered events,
+     * depending on the output.
+     * */
+    public void outputEvents(InternalEventManager internalEventManager, List<LogEvent> events,
+                             EncodedEvents encodedEvents) {
+        for (Output output : outputs) {
+            if (output.writesStructuredEvents()) {
+                output.writeEvents(internalEventManager, events);
+            } else {
+                output.writeEncoded(internalEventManager, encodedEvents);
+            }
+        }
+    }
+
+    /**
+     * Output a batch of encoded internal events to all output destinations.
+     * */
+    public void outputEncoded(EncodedEvents events) {
+        for (Output output : outputs) {
+            output.writeEncoded(logHandler, events);
+        }
+    }
+
+    /**
+     * Output a batch of encoded events to all output destinations.
+     * */
+    public void outputEncoded(InternalEventManager internalEventManager, EncodedEvents events) {
+        for (Output output : outputs) {
+            output.writeEncoded(internalEventManager, events);
+        }
+    }
+
+    /**
+     * Output a batch of events to all output destinations.
+     * */
+    public void outputBatch(InternalEventManager internalEventManager, List<String> events) {
+        for (Output output : outputs) {
+            output.writeBatch(internalEventManager, events);
+        }
+    }
 }
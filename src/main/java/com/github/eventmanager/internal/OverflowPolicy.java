@@ -0,0 +1,41 @@
+package com.github.eventmanager.internal;
+
+/**
+ * The OverflowPolicy enum defines what a bounded {@link RingBufferQueue} does with a new event once it is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * The producer waits until there is space in the queue. No events are lost.
+     */
+    BLOCK,
+    /**
+     * The new event is discarded and counted as rejected.
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest queued event is discarded and counted as rejected to make room for the new event.
+     */
+    DROP_OLDEST,
+    /**
+     * New events below the configured level are discarded and counted as rejected, all other events wait until
+     * there is space in the queue.
+     */
+    DROP_BELOW_LEVEL;
+
+    /**
+     * Resolves the given policy name, e.g. "block", "drop-newest" or "DROP_OLDEST".
+     *
+     * @param policy the name of the policy.
+     * @return the matching policy, or {@link #BLOCK} if the name is unknown.
+     */
+    public static OverflowPolicy of(String policy) {
+        if (policy == null) {
+            return BLOCK;
+        }
+        try {
+            return valueOf(policy.trim().replace('-', '_').toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return BLOCK;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.events.EventSchema;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+
+/**
+ * A {@link RingBufferQueue} for the garbage-free mode, which keeps the queued events in preallocated, mutable slots.
+ * <p>
+ * Logging threads write the parts of an event straight into a free slot with
+ * {@link #publish(long, String, String, KeyValueWrapper[], Throwable)}, so neither a {@link LogEvent} nor a queue
+ * node is allocated on the logging thread. The allocation is moved rather than avoided: the consuming thread turns
+ * the slot into a {@link LogEvent} when it takes it from the queue and clears the slot, so the slot never keeps the
+ * event alive, and the event is processed and rendered like any other.
+ */
+public class PooledEventQueue extends RingBufferQueue<LogEvent> {
+    private final Slot[] slots;
+    private final boolean needsLevel;
+
+    /**
+     * A mutable, reusable event slot.
+     */
+    private static final class Slot {
+        private long timestamp;
+        private String level;
+        private String className;
+        private String methodName;
+        private int lineNumber;
+        private String message;
+        private Object[] arguments;
+        private KeyValueWrapper[] fields;
+        private Throwable throwable;
+        private EventSchema schema;
+        private LogEvent event;
+
+        private void clear() {
+            level = null;
+            className = null;
+            methodName = null;
+            message = null;
+            arguments = null;
+            fields = null;
+            throwable = null;
+            schema = null;
+            event = null;
+        }
+    }
+
+    /**
+     * Creates a pooled queue with the given capacity and overflow policy.
+     *
+     * @param capacity       the minimum number of slots, rounded up to the next power of two of at least two.
+     * @param overflowPolicy the policy applied once the queue is full.
+     * @param dropBelowLevel the level below which events are dropped by {@link OverflowPolicy#DROP_BELOW_LEVEL}.
+     */
+    public PooledEventQueue(int capacity, OverflowPolicy overflowPolicy, EventLevel dropBelowLevel) {
+        super(capacity, overflowPolicy, dropBelowLevel, false);
+        this.slots = new Slot[capacity()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+        this.needsLevel = overflowPolicy == OverflowPolicy.DROP_BELOW_LEVEL;
+    }
+
+    /**
+     * Writes an event without caller location into a free slot, applying the overflow policy if the queue is full.
+     * Nothing is allocated by this method; the fields array is carried by reference and must not be modified
+     * afterwards.
+     *
+     * @param timestamp the time of the event in milliseconds since the epoch.
+     * @param level     the level name of the event.
+     * @param message   the message of the event, or null.
+     * @param fields    the key-value fields of the event, or null.
+     * @param throwable the throwable of the event, or null.
+     * @return true if the event was queued, false if it was rejected by the overflow policy.
+     */
+    public boolean publish(long timestamp, String level, String message, KeyValueWrapper[] fields,
+                           Throwable throwable) {
+        return publish(timestamp, level, null, null, -1, message, null, fields, throwable);
+    }
+
+    /**
+     * Writes an event into a free slot, applying the overflow policy if the queue is full. Nothing is allocated by
+     * this method; the arrays are carried by reference and must not be modified afterwards. The placeholders of a
+     * parameterized message are rendered by the consuming thread.
+     *
+     * @param timestamp  the time of the event in milliseconds since the epoch.
+     * @param level      the level name of the event.
+     * @param className  the class name of the caller, or null if the location is not captured.
+     * @param methodName the method name of the caller, or null.
+     * @param lineNumber the line number of the caller, or -1.
+     * @param message    the message or message pattern of the event, or null.
+     * @param arguments  the arguments of the message pattern, or null for a plain message.
+     * @param fields     the key-value fields of the event, or null.
+     * @param throwable  the throwable of the event, or null.
+     * @return true if the event was queued, false if it was rejected by the overflow policy.
+     */
+    public boolean publish(long timestamp, String level, String className, String methodName, int lineNumber,
+                           String message, Object[] arguments, KeyValueWrapper[] fields, Throwable throwable) {
+        long position = claim(needsLevel ? EventLevel.of(level) : null);
+        if (position < 0) {
+            return false;
+        }
+        Slot slot = slots[indexOf(position)];
+        slot.timestamp = timestamp;
+        slot.level = level;
+        slot.className = className;
+        slot.methodName = methodName;
+        slot.lineNumber = lineNumber;
+        slot.message = message;
+        slot.arguments = arguments;
+        slot.fields = fields;
+        slot.throwable = throwable;
+        slot.schema = null;
+        commit(position);
+        return true;
+    }
+
+    /**
+     * Writes an event of a schema into a free slot, applying the overflow policy if the queue is full. The values
+     * array is carried by reference and must not be modified afterwards.
+     *
+     * @param timestamp  the time of the event in milliseconds since the epoch.
+     * @param level      the level name of the event.
+     * @param className  the class name of the caller, or null if the location is not captured.
+     * @param methodName the method name of the caller, or null.
+     * @param lineNumber the line number of the caller, or -1.
+     * @param schema     the schema of the event.
+     * @param values     the values of the fields, in the order of the schema.
+     * @return true if the event was queued, false if it was rejected by the overflow policy.
+     */
+    public boolean publish(long timestamp, String level, String className, String methodName, int lineNumber,
+                           EventSchema schema, Object[] values) {
+        long position = claim(needsLevel ? EventLevel.of(level) : null);
+        if (position < 0) {
+            return false;
+        }
+        Slot slot = slots[indexOf(position)];
+        slot.timestamp = timestamp;
+        slot.level = level;
+        slot.className = className;
+        slot.methodName = methodName;
+        slot.lineNumber = lineNumber;
+        slot.message = null;
+        slot.arguments = values;
+        slot.fields = null;
+        slot.throwable = null;
+        slot.schema = schema;
+        commit(position);
+        return true;
+    }
+
+    @Override
+    protected void store(int index, LogEvent element) {
+        // Events which already exist, e.g. during shutdown, are kept as they are
+        slots[index].event = element;
+    }
+
+    @Override
+    protected LogEvent load(int index) {
+        Slot slot = slots[index];
+        LogEvent event = toLogEvent(slot);
+        slot.clear();
+        return event;
+    }
+
+    @Override
+    protected LogEvent peekAt(int index) {
+        return toLogEvent(slots[index]);
+    }
+
+    private static LogEvent toLogEvent(Slot slot) {
+        if (slot.event != null) {
+            return slot.event;
+        }
+        if (slot.schema != null) {
+            return LogEvent.ofSchema(slot.timestamp, slot.level, slot.className, slot.methodName, slot.lineNumber,
+                    slot.schema, slot.arguments);
+        }
+        if (slot.arguments != null) {
+            return LogEvent.ofParameterized(slot.timestamp, slot.level, slot.className, slot.methodName,
+                    slot.lineNumber, slot.message, slot.arguments);
+        }
+        return new LogEvent(slot.timestamp, slot.level, slot.className, slot.methodName, slot.lineNumber,
+                slot.message, slot.fields, slot.throwable);
+    }
+
+    @Override
+    public String toString() {
+        return "PooledEventQueue[size=" + size() + ", capacity=" + capacity() + ", policy=" + getOverflowPolicy()
+                + "]";
+    }
+}
@@ -0,0 +1,249 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.processors.AggregatingProcessor;
+import com.github.eventmanager.processors.LogEventProcessor;
+import com.github.eventmanager.processors.MaskingEngine;
+import com.github.eventmanager.processors.MaskingProcessor;
+import com.github.eventmanager.processors.Processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * The processors of an event manager bound to one event format.
+ * <p>
+ * Which method of a processor handles an event only depends on the event format, so it is decided once when the
+ * chain is built instead of for every processor and event. Each processor becomes a stage that calls the matching
+ * method directly; processors that do nothing for the format, like string processors for the CSV and default formats,
+ * are left out. {@link LogEventProcessor}s do work on structured events of every format, so since version 3.0 they
+ * also run for the CSV and default formats, where all processors used to be skipped. A chain is immutable and
+ * rebuilt by the {@link ProcessorHelper} when the processors or the event format change.
+ * <p>
+ * Consecutive {@link MaskingProcessor}s are merged into one stage which scans the message text, or the serialized
+ * event, once for the rules of all of them.
+ * <p>
+ * Events emitted by an {@link AggregatingProcessor} are passed through the stages after that processor.
+ */
+final class ProcessingChain {
+    /**
+     * One processor, bound to the event format of the chain.
+     */
+    @FunctionalInterface
+    private interface Stage {
+        /**
+         * Processes the event.
+         *
+         * @param event the event to process.
+         * @return the processed event, or null if it was discarded.
+         */
+        LogEvent apply(LogEvent event);
+    }
+
+    private final EventFormatter formatter;
+    private final Stage[] stages;
+    private final AggregatingProcessor[] aggregators;
+    /**
+     * The index of the stage of every aggregating processor.
+     */
+    private final int[] aggregatorStages;
+
+    private ProcessingChain(EventFormatter formatter, Stage[] stages, AggregatingProcessor[] aggregators,
+                            int[] aggregatorStages) {
+        this.formatter = formatter;
+        this.stages = stages;
+        this.aggregators = aggregators;
+        this.aggregatorStages = aggregatorStages;
+    }
+
+    /**
+     * Binds the processors to the event format.
+     *
+     * @param processors    the processors, in the order they are applied; may be changed concurrently.
+     * @param formatter     the formatter of the event format.
+     * @param eventRenderer the renderer serializing events for processors which only work on strings.
+     * @return the chain.
+     */
+    static ProcessingChain of(List<Processor> processors, EventFormatter formatter, EventRenderer eventRenderer) {
+        // One snapshot, so a concurrent change cannot shift the indices while the chain is built
+        processors = new ArrayList<>(processors);
+        List<Stage> stages = new ArrayList<>(processors.size());
+        List<AggregatingProcessor> aggregators = new ArrayList<>();
+        List<Integer> aggregatorStages = new ArrayList<>();
+        for (int p = 0; p < processors.size(); p++) {
+            Processor processor = processors.get(p);
+            if (processor instanceof MaskingProcessor) {
+                List<MaskingProcessor> group = new ArrayList<>();
+                while (p < processors.size() && processors.get(p) instanceof MaskingProcessor maskingProcessor) {
+                    group.add(maskingProcessor);
+                    p++;
+                }
+                p--;
+                if (group.size() > 1) {
+                    stages.add(new MaskingStage(group.toArray(new MaskingProcessor[0]), formatter, eventRenderer));
+                    continue;
+                }
+            }
+            if (processor instanceof AggregatingProcessor aggregator) {
+                aggregators.add(aggregator);
+                aggregatorStages.add(stages.size());
+            }
+            UnaryOperator<String> stringMethod = stringMethod(processor, formatter);
+            Stage stringStage = stringMethod == null ? null
+                    : event -> processRendered(event, stringMethod, formatter, eventRenderer);
+            if (processor instanceof LogEventProcessor logEventProcessor
+                    && logEventProcessor.processesStructuredEvents()) {
+                stages.add(event -> {
+                    if (!event.isRendered()) {
+                        return logEventProcessor.process(event, formatter);
+                    }
+                    return stringStage == null ? event : stringStage.apply(event);
+                });
+            } else if (stringStage != null) {
+                stages.add(stringStage);
+            }
+        }
+        return new ProcessingChain(formatter, stages.toArray(new Stage[0]),
+                aggregators.toArray(new AggregatingProcessor[0]),
+                aggregatorStages.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static UnaryOperator<String> stringMethod(Processor processor, EventFormatter formatter) {
+        return switch (formatter) {
+            case KEY_VALUE -> processor::processKV;
+            case XML -> processor::processXML;
+            case JSON -> processor::processJSON;
+            default -> null;
+        };
+    }
+
+    private static LogEvent processRendered(LogEvent event, UnaryOperator<String> stringMethod,
+                                            EventFormatter formatter, EventRenderer eventRenderer) {
+        String rendered = eventRenderer.render(event, formatter);
+        String processed = stringMethod.apply(rendered);
+        if (processed == null || processed.isBlank()) {
+            return null;
+        }
+        return processed.equals(rendered) ? event : event.withRendered(processed);
+    }
+
+    /**
+     * Consecutive masking processors, merged into one stage.
+     * <p>
+     * The fields of structured events are rewritten by every processor in turn, then the message text is scanned
+     * once with the engines of all processors combined. The combined engine is rebuilt when a processor changes its
+     * engine.
+     */
+    private static final class MaskingStage implements Stage {
+        /**
+         * The engines of the processors and the engine combining them.
+         */
+        private record Engines(MaskingEngine[] parts, MaskingEngine combined) {
+        }
+
+        private final MaskingProcessor[] processors;
+        private final EventFormatter formatter;
+        private final EventRenderer eventRenderer;
+        private volatile Engines engines;
+
+        private MaskingStage(MaskingProcessor[] processors, EventFormatter formatter, EventRenderer eventRenderer) {
+            this.processors = processors;
+            this.formatter = formatter;
+            this.eventRenderer = eventRenderer;
+            this.engines = combine();
+        }
+
+        @Override
+        public LogEvent apply(LogEvent event) {
+            MaskingEngine engine = engine();
+            if (event.isRendered()) {
+                return formatter == EventFormatter.CSV || formatter == EventFormatter.DEFAULT ? event
+                        : processRendered(event, text -> engine.mask(text, formatter), formatter, eventRenderer);
+            }
+            for (MaskingProcessor processor : processors) {
+                event = processor.maskFields(event);
+            }
+            return engine.maskMessage(event, formatter);
+        }
+
+        private MaskingEngine engine() {
+            Engines current = engines;
+            for (int i = 0; i < processors.length; i++) {
+                if (processors[i].maskingEngine() != current.parts()[i]) {
+                    current = combine();
+                    engines = current;
+                    break;
+                }
+            }
+            return current.combined();
+        }
+
+        private Engines combine() {
+            MaskingEngine[] parts = new MaskingEngine[processors.length];
+            for (int i = 0; i < processors.length; i++) {
+                parts[i] = processors[i].maskingEngine();
+            }
+            return new Engines(parts, MaskingEngine.combine(List.of(parts)));
+        }
+    }
+
+    /**
+     * Passes the event through all stages.
+     *
+     * @param event the event to process.
+     * @return the processed event, or null if a processor discarded it.
+     */
+    LogEvent process(LogEvent event) {
+        return process(event, 0);
+    }
+
+    private LogEvent process(LogEvent event, int firstStage) {
+        for (int i = firstStage; i < stages.length; i++) {
+            event = stages[i].apply(event);
+            if (event == null) {
+                return null;
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Checks whether the chain contains aggregating processors which have to be flushed.
+     *
+     * @return true if the chain contains an {@link AggregatingProcessor}, false otherwise.
+     */
+    boolean hasAggregators() {
+        return aggregators.length > 0;
+    }
+
+    /**
+     * Flushes the aggregating processors and passes their events through the stages that follow them.
+     *
+     * @param now the current time in milliseconds since the epoch.
+     * @param all true to flush all held back events.
+     * @return the processed events, in the order of the processors.
+     */
+    List<LogEvent> flush(long now, boolean all) {
+        List<LogEvent> flushed = new ArrayList<>();
+        for (int i = 0; i < aggregators.length; i++) {
+            for (LogEvent event : aggregators[i].flush(now, all)) {
+                LogEvent processed = process(event, aggregatorStages[i] + 1);
+                if (processed != null) {
+                    flushed.add(processed);
+                }
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Gets the formatter of the event format the chain is bound to.
+     *
+     * @return the formatter.
+     */
+    EventFormatter formatter() {
+        return formatter;
+    }
+}
@@ -1,25 +1,151 @@
 package com.github.eventmanager.internal;
 
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.LogHandler;
 import com.github.eventmanager.filehandlers.config.ProcessorEntry;
 import com.github.eventmanager.filehandlers.config.RegexEntry;
+import com.github.eventmanager.formatters.EventFormatter;
 import com.github.eventmanager.processors.*;
-import lombok.Getter;
-import lombok.Setter;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 
 public class ProcessorHelper {
-    @Getter
-    @Setter
-    protected List<Processor> processors = new ArrayList<>();
+    /**
+     * The minimum interval in milliseconds between two regular flushes of the aggregating processors.
+     */
+    public static final long FLUSH_INTERVAL_MILLIS = 100;
+
+    protected List<Processor> processors = new CopyOnWriteArrayList<>();
     private LogHandler logHandler;
+    private final EventRenderer eventRenderer;
+    /**
+     * A chain together with the modification count of the processors it was built from.
+     */
+    private record BoundChain(ProcessingChain chain, long modification) {
+    }
+
+    /**
+     * Counts the changes of the processors. Every change increments it after the processors were changed, so a chain
+     * built from an older list records an older count and is built again.
+     */
+    private final AtomicLong modifications = new AtomicLong();
+    /**
+     * The processors bound to the event format, or null if no chain was built yet.
+     */
+    private volatile BoundChain chain;
+    private volatile long nextFlush;
+
+    /**
+     * A live view of the processors; changes made through it take effect for the following events.
+     */
+    private final List<Processor> processorsView = new AbstractList<>() {
+        @Override
+        public Processor get(int index) {
+            return processors.get(index);
+        }
+
+        @Override
+        public int size() {
+            return processors.size();
+        }
+
+        @Override
+        public Processor set(int index, Processor processor) {
+            Processor previous = processors.set(index, processor);
+            processorsChanged();
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Processor processor) {
+            processors.add(index, processor);
+            processorsChanged();
+        }
+
+        @Override
+        public Processor remove(int index) {
+            Processor removed = processors.remove(index);
+            processorsChanged();
+            return removed;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Processor> filter) {
+            boolean removed = processors.removeIf(filter);
+            processorsChanged();
+            return removed;
+        }
+
+        @Override
+        public boolean remove(Object processor) {
+            boolean removed = processors.remove(processor);
+            processorsChanged();
+            return removed;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> other) {
+            boolean removed = processors.removeAll(other);
+            processorsChanged();
+            return removed;
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> other) {
+            boolean removed = processors.retainAll(other);
+            processorsChanged();
+            return removed;
+        }
+
+        @Override
+        public Iterator<Processor> iterator() {
+            // A snapshot, like the iterator of the underlying list
+            return processors.iterator();
+        }
+    };
 
     public ProcessorHelper(LogHandler logHandler) {
+        this(logHandler, new EventRenderer(logHandler));
+    }
+
+    /**
+     * Creates a ProcessorHelper that serializes events with the given renderer for processors which only work on
+     * strings.
+     *
+     * @param logHandler the log handler providing the configuration.
+     * @param eventRenderer the renderer serializing events.
+     */
+    public ProcessorHelper(LogHandler logHandler, EventRenderer eventRenderer) {
         this.logHandler = logHandler;
+        this.eventRenderer = eventRenderer;
+    }
+
+    /**
+     * Returns the registered processors. The list can be modified; the processors are bound to the event format
+     * again before the next event is processed.
+     *
+     * @return a modifiable view of the processors, in the order they are applied.
+     */
+    public List<Processor> getProcessors() {
+        return processorsView;
+    }
+
+    /**
+     * Replaces the registered processors.
+     *
+     * @param processors the processors, in the order they are applied.
+     */
+    public void setProcessors(List<Processor> processors) {
+        this.processors = new CopyOnWriteArrayList<>(processors);
+        processorsChanged();
     }
 
     /**
@@ -62,11 +188,41 @@ public class ProcessorHelper {
                 List<RegexEntry> regexEntries = (List<RegexEntry>) parameters.get("regexEntries");
                 return new RegexProcessor(regexEntries);
             } else if (clazz == FilterProcessor.class) {
+                String expression = (String) parameters.get("expression");
+                if (expression != null) {
+                    return new FilterProcessor(expression);
+                }
                 List<String> termToFilter = (List<String>) parameters.get("termToFilter");
                 return new FilterProcessor(termToFilter);
             } else if (clazz == SampleProcessor.class) {
+                Number targetRate = (Number) parameters.get("targetRate");
+                if (targetRate != null) {
+                    String keyBy = (String) parameters.get("keyBy");
+                    return new SampleProcessor(targetRate.doubleValue(),
+                            keyBy != null ? RateLimitProcessor.KeyType.of(keyBy) : null,
+                            (String) parameters.get("field"));
+                }
                 int sampleSize = (int) parameters.get("sampleSize");
                 return new SampleProcessor(sampleSize);
+            } else if (clazz == DeduplicationProcessor.class) {
+                Number windowMillis = (Number) parameters.get("windowMillis");
+                Number maxFingerprints = (Number) parameters.get("maxFingerprints");
+                return new DeduplicationProcessor(
+                        windowMillis != null ? windowMillis.longValue() : DeduplicationProcessor.DEFAULT_WINDOW_MILLIS,
+                        maxFingerprints != null ? maxFingerprints.intValue()
+                                : DeduplicationProcessor.DEFAULT_MAX_FINGERPRINTS);
+            } else if (clazz == RateLimitProcessor.class) {
+                Number ratePerSecond = (Number) parameters.get("ratePerSecond");
+                Number burst = (Number) parameters.get("burst");
+                Number reportIntervalMillis = (Number) parameters.get("reportIntervalMillis");
+                return new RateLimitProcessor(
+                        ratePerSecond != null ? ratePerSecond.doubleValue() : RateLimitProcessor.DEFAULT_RATE_PER_SECOND,
+                        burst != null ? burst.intValue() : 0,
+                        RateLimitProcessor.KeyType.of((String) parameters.get("keyBy")),
+                        (String) parameters.get("field"),
+                        (Map<String, Number>) parameters.get("levelRates"),
+                        reportIntervalMillis != null ? reportIntervalMillis.longValue()
+                                : RateLimitProcessor.DEFAULT_REPORT_INTERVAL_MILLIS);
             }
         } catch (ClassCastException e) {
             return null;
@@ -85,20 +241,62 @@ public class ProcessorHelper {
 
     /**
      * Processes an event by passing it through all registered processors.
+     * <p>
+     * Structured events are passed to {@link LogEventProcessor}s as they are. Other processors, and all processors
+     * for events that are already serialized, receive the serialized event; if they change it, the result is carried
+     * on as a rendered event.
      *
      * @param event the event to process.
-     * @return the processed event.
+     * @return the processed event, or null if a processor discarded it.
      * */
-    public String processEvent(String event) {
-        for (Processor processor : processors) {
-            switch (this.logHandler.getConfig().getEvent().getEventFormat())
-            {
-                case "kv" -> event = processor.processKV(event);
-                case "xml" -> event = processor.processXML(event);
-                case "json" -> event = processor.processJSON(event);
-            }
+    public LogEvent processEvent(LogEvent event) {
+        return currentChain().process(event);
+    }
+
+    /**
+     * Checks whether an {@link AggregatingProcessor} is registered, so the processors have to be flushed regularly.
+     *
+     * @return true if an aggregating processor is registered, false otherwise.
+     */
+    public boolean hasAggregatingProcessors() {
+        return currentChain().hasAggregators();
+    }
+
+    /**
+     * Flushes the aggregating processors and passes the events they emit through the processors that follow them.
+     * Regular flushes are skipped if the last one was less than {@link #FLUSH_INTERVAL_MILLIS} ago.
+     *
+     * @param all true to flush all held back events, e.g. when the event manager stops.
+     * @return the processed events, may be empty.
+     */
+    public List<LogEvent> flushAggregatingProcessors(boolean all) {
+        long now = System.currentTimeMillis();
+        ProcessingChain current = currentChain();
+        if (!current.hasAggregators() || (!all && now < nextFlush)) {
+            return List.of();
+        }
+        nextFlush = now + FLUSH_INTERVAL_MILLIS;
+        return current.flush(now, all);
+    }
+
+    /**
+     * Returns the chain of the registered processors bound to the configured event format, building it if the
+     * processors or the format changed.
+     */
+    private ProcessingChain currentChain() {
+        EventFormatter formatter = this.logHandler.getConfig().getEvent().formatter();
+        BoundChain current = this.chain;
+        long modification = modifications.get();
+        if (current == null || current.modification() != modification || current.chain().formatter() != formatter) {
+            // The count is read before the processors, so a change made meanwhile leaves the chain outdated
+            current = new BoundChain(ProcessingChain.of(processors, formatter, eventRenderer), modification);
+            this.chain = current;
         }
-        return event;
+        return current.chain();
+    }
+
+    private void processorsChanged() {
+        modifications.incrementAndGet();
     }
 
     /**
@@ -111,6 +309,7 @@ public class ProcessorHelper {
                 processors.add(processor);
             }
         }
+        processorsChanged();
     }
 
     public boolean addProcessor(ProcessorEntry processorEntry) {
@@ -118,6 +317,7 @@ public class ProcessorHelper {
         Processor processor = createProcessorInstance(processorEntry.getName(), processorEntry.getParameters());
         if (processor != null && !isProcessorAlreadyRegistered(processor)) {
             processors.add(processor);
+            processorsChanged();
             return true;
         }
         return false;
@@ -128,6 +328,7 @@ public class ProcessorHelper {
         for (Processor processor : processors) {
             if (processor.getClass().getSimpleName().equalsIgnoreCase(processorName)) {
                 processors.remove(processor);
+                processorsChanged();
                 return true;
             }
         }
@@ -141,6 +342,7 @@ public class ProcessorHelper {
             Processor outputInstance = getProcessor(processorEntry.getParameters(), processor.getClass());
             if (processor.getClass().equals(outputInstance.getClass())) {
                 processors.remove(processor);
+                processorsChanged();
                 return true;
             }
         }
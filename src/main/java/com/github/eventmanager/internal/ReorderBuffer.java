@@ -0,0 +1,112 @@
+package com.github.eventmanager.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Restores the original order of events that were processed by several worker threads.
+ * <p>
+ * Every event is tagged with a sequence number before it is processed. Workers hand the result to
+ * {@link #complete(long, Object)} in any order, and the buffer passes the results to its sink strictly in sequence
+ * order. Dropped events still complete their sequence number with {@code null}, so that later events are not held
+ * back.
+ * <p>
+ * The buffer holds a bounded window of sequence numbers. A worker that is too far ahead of the oldest pending
+ * sequence waits until the window moves on. The worker holding the oldest sequence never waits. A waiting worker
+ * keeps waiting when it is interrupted, because every sequence has to be completed to release the ones after it;
+ * the interrupt status is restored once the event is in the buffer.
+ *
+ * @param <E> the type of the events.
+ */
+public class ReorderBuffer<E> {
+    private static final Object DROPPED = new Object();
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AtomicReferenceArray<Object> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Consumer<E> sink;
+
+    /**
+     * Creates a reorder buffer.
+     *
+     * @param capacity the size of the sequence window, rounded up to the next power of two.
+     * @param sink     the consumer receiving the events in sequence order.
+     */
+    public ReorderBuffer(int capacity, Consumer<E> sink) {
+        int size = Math.max(2, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.sink = sink;
+    }
+
+    /**
+     * Completes the given sequence number and releases all events that are now in order.
+     *
+     * @param sequence the sequence number the event was tagged with, starting at 0 without gaps.
+     * @param event    the processed event, or null if the event was dropped.
+     */
+    public void complete(long sequence, E event) {
+        boolean interrupted = false;
+        while (sequence - nextSequence.get() > mask) {
+            // parkNanos returns at once while the interrupt status is set, so it is cleared for the wait
+            if (Thread.interrupted()) {
+                interrupted = true;
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        slots.set((int) (sequence & mask), event == null ? DROPPED : event);
+        release();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the next sequence number that will be passed to the sink.
+     *
+     * @return the next sequence number.
+     */
+    public long getNextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Passes all consecutive completed events to the sink. Only one thread releases events at a time, a thread that
+     * completes a sequence while another one is releasing leaves the work to it.
+     */
+    @SuppressWarnings("unchecked")
+    private void release() {
+        while (draining.compareAndSet(false, true)) {
+            try {
+                while (true) {
+                    long sequence = nextSequence.get();
+                    int index = (int) (sequence & mask);
+                    Object event = slots.get(index);
+                    if (event == null) {
+                        break;
+                    }
+                    slots.set(index, null);
+                    nextSequence.set(sequence + 1);
+                    if (event != DROPPED) {
+                        sink.accept((E) event);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Another worker may have completed the next sequence while this thread was still releasing
+            if (slots.get((int) (nextSequence.get() & mask)) == null) {
+                return;
+            }
+        }
+    }
+}
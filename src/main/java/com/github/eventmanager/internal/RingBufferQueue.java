@@ -0,0 +1,526 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.EventLevel;
+
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, preallocated, lock-free multi-producer multi-consumer queue.
+ * <p>
+ * Producers and consumers claim slots by advancing a shared sequence with a compare-and-set, in the same way the
+ * Disruptor claims sequences. Every slot carries its own sequence number, which tells whether the slot is free to
+ * be written or ready to be read. No locks are taken and no nodes are allocated when an event is queued.
+ * <p>
+ * When the queue is full, {@link #publish(Object, EventLevel)} applies the configured {@link OverflowPolicy}.
+ * Every event discarded by the policy is counted and can be read with {@link #getRejectedCount()}.
+ * <p>
+ * Waiting producers and consumers spin briefly and then park with an increasing timeout, so an idle queue costs
+ * almost no CPU time.
+ * <p>
+ * The iterator is weakly consistent: it walks the slots that were occupied when it was created, skips those taken
+ * by a consumer in the meantime and never throws {@link java.util.ConcurrentModificationException}. Elements can only
+ * be removed from the head of the queue, so the removal of arbitrary elements, e.g. with {@link #remove(Object)} or
+ * {@link #removeIf(Predicate)}, is not supported.
+ *
+ * @param <E> the type of the queued elements.
+ */
+public class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+    private static final int SPIN_TRIES = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Object[] buffer;
+    private final int capacity;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final OverflowPolicy overflowPolicy;
+    private final EventLevel dropBelowLevel;
+
+    /**
+     * Creates a ring buffer with the given capacity and the {@link OverflowPolicy#BLOCK} policy.
+     *
+     * @param capacity the minimum number of slots, rounded up to the next power of two of at least two.
+     */
+    public RingBufferQueue(int capacity) {
+        this(capacity, OverflowPolicy.BLOCK, EventLevel.WARNING);
+    }
+
+    /**
+     * Creates a ring buffer with the given capacity and overflow policy.
+     *
+     * @param capacity       the minimum number of slots, rounded up to the next power of two of at least two.
+     * @param overflowPolicy the policy applied by {@link #publish(Object, EventLevel)} once the queue is full.
+     * @param dropBelowLevel the level below which events are dropped by {@link OverflowPolicy#DROP_BELOW_LEVEL}.
+     */
+    public RingBufferQueue(int capacity, OverflowPolicy overflowPolicy, EventLevel dropBelowLevel) {
+        this(capacity, overflowPolicy, dropBelowLevel, true);
+    }
+
+    /**
+     * Creates a ring buffer for subclasses which keep the elements in their own preallocated storage.
+     *
+     * @param capacity       the minimum number of slots, rounded up to the next power of two of at least two.
+     * @param overflowPolicy the policy applied by {@link #publish(Object, EventLevel)} once the queue is full.
+     * @param dropBelowLevel the level below which events are dropped by {@link OverflowPolicy#DROP_BELOW_LEVEL}.
+     * @param allocateBuffer false if the subclass overrides {@link #store(int, Object)}, {@link #load(int)} and
+     *                       {@link #peekAt(int)} and does not need the element array.
+     */
+    protected RingBufferQueue(int capacity, OverflowPolicy overflowPolicy, EventLevel dropBelowLevel,
+                              boolean allocateBuffer) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        // The slot sequences need at least two slots to tell a full slot from a free one
+        int size = Math.max(2, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = allocateBuffer ? new Object[size] : null;
+        this.capacity = size;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.dropBelowLevel = dropBelowLevel;
+    }
+
+    /**
+     * Adds an event to the queue, applying the overflow policy if the queue is full.
+     *
+     * @param element the event to add.
+     * @param level   the level of the event, used by {@link OverflowPolicy#DROP_BELOW_LEVEL}. Events without a level
+     *                are never dropped by that policy.
+     * @return true if the event was queued, false if it was rejected by the overflow policy.
+     */
+    public boolean publish(E element, EventLevel level) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long position = claim(level);
+        if (position < 0) {
+            return false;
+        }
+        store(indexOf(position), element);
+        commit(position);
+        return true;
+    }
+
+    /**
+     * Claims the next slot for writing, applying the overflow policy if the queue is full. The caller must write
+     * the slot with {@link #store(int, Object)} or its own storage and then hand it over with {@link #commit(long)}.
+     *
+     * @param level the level of the event, used by {@link OverflowPolicy#DROP_BELOW_LEVEL}. Events without a level
+     *              are never dropped by that policy.
+     * @return the claimed position, or -1 if the event was rejected by the overflow policy.
+     */
+    protected final long claim(EventLevel level) {
+        long position = tryClaim();
+        if (position >= 0) {
+            return position;
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                rejected.incrementAndGet();
+                return -1;
+            case DROP_OLDEST:
+                while ((position = tryClaim()) < 0) {
+                    if (tryPoll() != null) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return position;
+            case DROP_BELOW_LEVEL:
+                if (level != null && !level.isAtLeast(dropBelowLevel)) {
+                    rejected.incrementAndGet();
+                    return -1;
+                }
+                return awaitClaim();
+            default:
+                return awaitClaim();
+        }
+    }
+
+    /**
+     * Makes a slot claimed by {@link #claim(EventLevel)} visible to the consumers.
+     *
+     * @param position the claimed position.
+     */
+    protected final void commit(long position) {
+        sequences.setRelease(indexOf(position), position + 1);
+    }
+
+    /**
+     * Returns the slot index of a position.
+     *
+     * @param position the position.
+     * @return the index of the slot.
+     */
+    protected final int indexOf(long position) {
+        return (int) (position & mask);
+    }
+
+    /**
+     * Writes an element to a claimed slot.
+     *
+     * @param index   the index of the slot.
+     * @param element the element.
+     */
+    protected void store(int index, E element) {
+        buffer[index] = element;
+    }
+
+    /**
+     * Reads and clears the element of a slot that is about to be freed.
+     *
+     * @param index the index of the slot.
+     * @return the element.
+     */
+    @SuppressWarnings("unchecked")
+    protected E load(int index) {
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        return element;
+    }
+
+    /**
+     * Reads the element of a slot without freeing it.
+     *
+     * @param index the index of the slot.
+     * @return the element.
+     */
+    @SuppressWarnings("unchecked")
+    protected E peekAt(int index) {
+        return (E) buffer[index];
+    }
+
+    /**
+     * Returns the number of events that were discarded by the overflow policy.
+     *
+     * @return the number of rejected events.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the overflow policy of this queue.
+     *
+     * @return the overflow policy.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns the number of slots of this queue.
+     *
+     * @return the capacity of the queue.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private boolean tryOffer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long position = tryClaim();
+        if (position < 0) {
+            return false;
+        }
+        store(indexOf(position), element);
+        commit(position);
+        return true;
+    }
+
+    /**
+     * Claims the next slot for writing without waiting.
+     *
+     * @return the claimed position, or -1 if the queue is full.
+     */
+    private long tryClaim() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private E tryPoll() {
+        long position = head.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+        E element = load(index);
+        sequences.setRelease(index, position + mask + 1);
+        return element;
+    }
+
+    private long awaitClaim() {
+        int tries = 0;
+        long position;
+        while ((position = tryClaim()) < 0) {
+            tries = backOff(tries);
+        }
+        return position;
+    }
+
+    /**
+     * Spins for the first attempts and parks with an increasing timeout afterwards.
+     *
+     * @param tries the number of failed attempts so far.
+     * @return the updated number of attempts.
+     */
+    private static int backOff(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            long parkNanos = Math.min(MAX_PARK_NANOS, 1000L << Math.min(tries - SPIN_TRIES, 10));
+            LockSupport.parkNanos(parkNanos);
+        }
+        return tries + 1;
+    }
+
+    @Override
+    public boolean offer(E element) {
+        return tryOffer(element);
+    }
+
+    @Override
+    public E poll() {
+        return tryPoll();
+    }
+
+    @Override
+    public E peek() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) - (position + 1) != 0) {
+            return null;
+        }
+        return peekAt(index);
+    }
+
+    @Override
+    public void put(E element) throws InterruptedException {
+        int tries = 0;
+        while (!tryOffer(element)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            tries = backOff(tries);
+        }
+    }
+
+    @Override
+    public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        while (!tryOffer(element)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            tries = backOff(tries);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int tries = 0;
+        E element;
+        while ((element = tryPoll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            tries = backOff(tries);
+        }
+        return element;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        E element;
+        while ((element = tryPoll()) == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            tries = backOff(tries);
+        }
+        return element;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        if (collection == this) {
+            throw new IllegalArgumentException();
+        }
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = tryPoll()) != null) {
+            collection.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the queued elements, from the head to the tail. Elements queued after
+     * the iterator was created may or may not be returned; elements taken by a consumer before the iterator reads
+     * them are skipped. The iterator does not support {@link Iterator#remove()}.
+     *
+     * @return the iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private long position = head.get();
+            private final long end = tail.get();
+            private E next = advance();
+
+            private E advance() {
+                while (position < end) {
+                    long current = position++;
+                    int index = (int) (current & mask);
+                    if (sequences.get(index) != current + 1) {
+                        // Not yet committed or already consumed
+                        continue;
+                    }
+                    E element = peekAt(index);
+                    // A consumer claims the head before it clears the slot, so the element is valid if the head has
+                    // not moved past it while it was read.
+                    VarHandle.acquireFence();
+                    if (element != null && head.get() <= current) {
+                        return element;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                E element = next;
+                if (element == null) {
+                    throw new NoSuchElementException();
+                }
+                next = advance();
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Removing an element other than the head is not supported by the ring buffer.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public boolean remove(Object element) {
+        throw new UnsupportedOperationException("RingBufferQueue only supports removal from the head");
+    }
+
+    /**
+     * Removing elements other than the head is not supported by the ring buffer.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        throw new UnsupportedOperationException("RingBufferQueue only supports removal from the head");
+    }
+
+    /**
+     * Removing elements other than the head is not supported by the ring buffer.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        throw new UnsupportedOperationException("RingBufferQueue only supports removal from the head");
+    }
+
+    /**
+     * Removing elements other than the head is not supported by the ring buffer.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        throw new UnsupportedOperationException("RingBufferQueue only supports removal from the head");
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferQueue[size=" + size() + ", capacity=" + capacity + ", policy=" + overflowPolicy + "]";
+    }
+}
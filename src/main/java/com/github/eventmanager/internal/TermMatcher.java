@@ -0,0 +1,225 @@
+package com.github.eventmanager.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A multi-pattern substring matcher (Aho-Corasick automaton) finding any number of terms in a single pass over a
+ * text.
+ * <p>
+ * The terms are compiled into a trie whose missing transitions are resolved through failure links, so every
+ * character of the text is one table lookup, no matter how many terms there are. The transitions are a dense table
+ * over the characters that appear in the terms; any other character leads back to the start state.
+ * <p>
+ * A matcher is immutable and can be shared between threads. Callers that need more than a yes or no walk the states
+ * themselves with {@link #next(int, char)} and {@link #terms(int)}.
+ */
+public final class TermMatcher {
+    private static final int[] NO_TERMS = new int[0];
+
+    private final List<String> terms;
+    private final int[] asciiColumns = new int[128];
+    private final Map<Character, Integer> otherColumns = new HashMap<>();
+    private final int columns;
+    private final int[] transitions;
+    /**
+     * The indexes of all terms ending in a state, in ascending order.
+     */
+    private final int[][] outputs;
+
+    private TermMatcher(List<String> terms) {
+        this.terms = terms;
+        Arrays.fill(asciiColumns, -1);
+        int columnCount = 0;
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (column(c) < 0) {
+                    if (c < 128) {
+                        asciiColumns[c] = columnCount++;
+                    } else {
+                        otherColumns.put(c, columnCount++);
+                    }
+                }
+            }
+        }
+        this.columns = columnCount;
+
+        // The trie of all terms; -1 marks a missing transition until the failure links are resolved.
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> termIndexes = new ArrayList<>();
+        addState(trie, termIndexes);
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                int column = column(term.charAt(i));
+                if (trie.get(state)[column] < 0) {
+                    int next = addState(trie, termIndexes);
+                    trie.get(state)[column] = next;
+                }
+                state = trie.get(state)[column];
+            }
+            termIndexes.get(state).add(t);
+        }
+
+        int states = trie.size();
+        this.transitions = new int[states * columns];
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < columns; c++) {
+            int next = trie.get(0)[c];
+            transitions[c] = Math.max(next, 0);
+            if (next > 0) {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            // Terms ending in the state of the longest proper suffix end here as well.
+            termIndexes.get(state).addAll(termIndexes.get(failure[state]));
+            for (int c = 0; c < columns; c++) {
+                int next = trie.get(state)[c];
+                if (next < 0) {
+                    transitions[state * columns + c] = transitions[failure[state] * columns + c];
+                } else {
+                    failure[next] = transitions[failure[state] * columns + c];
+                    transitions[state * columns + c] = next;
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            List<Integer> indexes = termIndexes.get(s);
+            outputs[s] = indexes.isEmpty() ? NO_TERMS
+                    : indexes.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+        }
+    }
+
+    /**
+     * Compiles the terms into a matcher. Empty terms are contained in every text.
+     *
+     * @param terms the terms.
+     * @return the matcher.
+     */
+    public static TermMatcher of(List<String> terms) {
+        return new TermMatcher(List.copyOf(terms));
+    }
+
+    private int addState(List<int[]> trie, List<List<Integer>> termIndexes) {
+        int[] row = new int[columns];
+        Arrays.fill(row, -1);
+        trie.add(row);
+        termIndexes.add(new ArrayList<>());
+        return trie.size() - 1;
+    }
+
+    private int column(char c) {
+        if (c < 128) {
+            return asciiColumns[c];
+        }
+        Integer column = otherColumns.get(c);
+        return column != null ? column : -1;
+    }
+
+    /**
+     * Gets the terms of the matcher.
+     *
+     * @return the terms, in the order of their indexes.
+     */
+    public List<String> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Gets the state a text starts in.
+     *
+     * @return the start state.
+     */
+    public int start() {
+        return 0;
+    }
+
+    /**
+     * Moves on by one character.
+     *
+     * @param state the current state.
+     * @param c     the next character of the text.
+     * @return the next state.
+     */
+    public int next(int state, char c) {
+        int column = column(c);
+        return column < 0 ? 0 : transitions[state * columns + column];
+    }
+
+    /**
+     * Gets the terms which end with the last character read.
+     *
+     * @param state the current state.
+     * @return the indexes of the terms in ascending order, empty if no term ends here.
+     */
+    public int[] terms(int state) {
+        return outputs[state];
+    }
+
+    /**
+     * Checks whether the text contains any of the terms.
+     *
+     * @param text the text, may be null.
+     * @return true if at least one term is found.
+     */
+    public boolean containsAny(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        if (outputs[0].length > 0) {
+            return true;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (outputs[state].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the terms contained in the text. Calling this for several texts collects the terms found in any of
+     * them, without matching terms across the boundary of two texts.
+     *
+     * @param text  the text, may be null.
+     * @param found the indexes of the terms found so far, updated with the terms of the text.
+     * @return true if all terms have been found.
+     */
+    public boolean collect(CharSequence text, BitSet found) {
+        if (text != null) {
+            mark(outputs[0], found);
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                state = next(state, text.charAt(i));
+                if (outputs[state].length > 0) {
+                    mark(outputs[state], found);
+                    if (found.cardinality() == terms.size()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return found.cardinality() == terms.size();
+    }
+
+    private static void mark(int[] termIndexes, BitSet found) {
+        for (int termIndex : termIndexes) {
+            found.set(termIndex);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.github.eventmanager.internal;
 
 import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 
 /**
@@ -26,13 +30,44 @@ public class ThreadHelper {
      */
     private Thread processingThread;
 
+    /**
+     * All threads processing events prior to logging, including {@link #processingThread}.
+     */
+    private final List<Thread> processingThreads = new ArrayList<>();
+
+    /**
+     * Maximum time in milliseconds to wait for a thread to finish its current event when it is stopped.
+     */
+    private static final long JOIN_TIMEOUT_MILLIS = 1000;
+
+    /**
+     * Factory creating the event and processing threads.
+     */
+    private final ThreadFactory threadFactory;
+
+    /**
+     * Creates a ThreadHelper running the pipeline on platform threads.
+     */
+    public ThreadHelper() {
+        this(Thread::new);
+    }
+
+    /**
+     * Creates a ThreadHelper running the pipeline on threads created by the given factory.
+     *
+     * @param threadFactory the factory creating the event and processing threads, see {@link ExecutionMode}.
+     */
+    public ThreadHelper(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
     /**
      * Starts and manages the event logging thread, executing the provided runnable task.
      *
      * @param runnable the task to run in the event thread, typically involving log-writing operations.
      */
     public void startEventThread(Runnable runnable) {
-        eventThread = new Thread(runnable);
+        eventThread = threadFactory.newThread(runnable);
         eventThread.start();
     }
 
@@ -42,8 +77,22 @@ public class ThreadHelper {
      * @param runnable the task to run in the processing thread, typically involving pre-processing or modifying event data.
      */
     public void startProcessingThread(Runnable runnable) {
-        processingThread = new Thread(runnable);
-        processingThread.start();
+        startProcessingThreads(1, runnable);
+    }
+
+    /**
+     * Starts the given number of event processing threads, each executing the provided runnable task.
+     *
+     * @param count    the number of processing threads to start.
+     * @param runnable the task to run in every processing thread.
+     */
+    public void startProcessingThreads(int count, Runnable runnable) {
+        for (int i = 0; i < count; i++) {
+            Thread thread = threadFactory.newThread(runnable);
+            processingThreads.add(thread);
+            thread.start();
+        }
+        processingThread = processingThreads.get(0);
     }
 
     /**
@@ -53,11 +102,39 @@ public class ThreadHelper {
      * @param thread the {@link Thread} instance to stop.
      * @param queue  the {@link BlockingQueue} holding the remaining events to be processed.
      * @param remainingItemProcessor a {@link Consumer} to process remaining events from the queue after interruption.
+     * @param <E> the type of the queued events.
      */
-    public void stopThread(Thread thread, BlockingQueue<String> queue, Consumer<String> remainingItemProcessor) {
+    public <E> void stopThread(Thread thread, BlockingQueue<E> queue, Consumer<E> remainingItemProcessor) {
         thread.interrupt();
         while (!queue.isEmpty()) {
-            String event = queue.poll();
+            E event = queue.poll();
+            if (event != null) {
+                remainingItemProcessor.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Interrupts the specified threads, waits for them to finish the event they are currently handling and then
+     * processes all remaining queued events using the provided {@link Consumer}.
+     *
+     * @param threads the threads to stop.
+     * @param queue  the {@link BlockingQueue} holding the remaining events to be processed.
+     * @param remainingItemProcessor a {@link Consumer} to process remaining events from the queue after interruption.
+     * @param <E> the type of the queued events.
+     */
+    public <E> void stopThreads(List<Thread> threads, BlockingQueue<E> queue, Consumer<E> remainingItemProcessor) {
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(JOIN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        while (!queue.isEmpty()) {
+            E event = queue.poll();
             if (event != null) {
                 remainingItemProcessor.accept(event);
             }
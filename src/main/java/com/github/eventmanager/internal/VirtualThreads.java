@@ -0,0 +1,45 @@
+package com.github.eventmanager.internal;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access point for virtual threads.
+ * <p>
+ * This is the Java 17 version of the class, which reports virtual threads as unsupported. The multi-release JAR
+ * contains a Java 21 version under {@code META-INF/versions/21} that creates virtual threads, and which is picked
+ * automatically when the library runs on Java 21 or newer.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks if the running Java version supports virtual threads.
+     *
+     * @return false, since virtual threads are not available on Java 17.
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Returns a factory creating virtual threads.
+     *
+     * @return an empty optional, since virtual threads are not available on Java 17.
+     */
+    public static Optional<ThreadFactory> factory() {
+        return Optional.empty();
+    }
+
+    /**
+     * Checks if a thread is a virtual thread.
+     *
+     * @param thread the thread to check.
+     * @return false, since virtual threads are not available on Java 17.
+     */
+    public static boolean isVirtual(Thread thread) {
+        return false;
+    }
+}
@@ -1,13 +1,21 @@
 package com.github.eventmanager.outputs;
 
-import lombok.Getter;
-
-import java.nio.charset.Charset;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
- * Represents a batch of strings that can be added to. Used to batch strings together before sending them to an output.
+ * Represents a batch of events that can be added to. Used to batch events together before sending them to an output.
+ * <p>
+ * The events are stored as UTF-8 bytes, separated by line breaks, so measuring an event and sending it later share a
+ * single encoding. Events that are already encoded are copied without being encoded again.
+ * <p>
+ * Since version 3.0 the bytes sent by the {@link SocketOutput} are always UTF-8. Earlier versions encoded the events
+ * with the default charset of the JVM, so receivers of a JVM whose default charset is not UTF-8, e.g. on Java 17 on
+ * Windows, see different bytes for non-ASCII characters and have to decode the stream as UTF-8.
  */
 public class Batch {
     /**
@@ -15,31 +23,121 @@ public class Batch {
      */
     private final int maxBytes;
     /**
-     * The list of strings in the batch.
+     * The encoded events, separated by line breaks.
      */
-    @Getter
-    private final List<String> batch = new ArrayList<>();
+    private byte[] bytes;
+    private int length = 0;
     private int currentBytes = 0;
+    private int count = 0;
+    /**
+     * The end offset of every event in {@link #bytes}.
+     */
+    private int[] ends = new int[64];
 
     public Batch(int maxBytes) {
         this.maxBytes = maxBytes;
+        this.bytes = new byte[Math.min(maxBytes, 16 * 1024) + 1];
     }
 
+    /**
+     * Adds an event to the batch if it fits. An event larger than the whole batch is accepted if the batch is empty.
+     * The event is encoded as UTF-8, not in the default charset of the JVM.
+     *
+     * @param s the event.
+     * @return true if the event was added, false if the batch is full.
+     */
     public boolean tryAdd(String s) {
-        // Check if adding the string will exceed the maxBytes
-        int byteLen = s.getBytes(Charset.defaultCharset()).length;
-        if (currentBytes + byteLen > maxBytes) {
+        byte[] encoded = s.getBytes(StandardCharsets.UTF_8);
+        return tryAdd(encoded, 0, encoded.length);
+    }
+
+    /**
+     * Adds an encoded event of the given batch if it fits. An event larger than the whole batch is accepted if the
+     * batch is empty.
+     *
+     * @param events the encoded events.
+     * @param index  the index of the event to add.
+     * @return true if the event was added, false if the batch is full.
+     */
+    public boolean tryAdd(EncodedEvents events, int index) {
+        return tryAdd(events.array(), events.start(index), events.length(index));
+    }
+
+    private boolean tryAdd(byte[] source, int offset, int byteLen) {
+        // Check if adding the event will exceed the maxBytes
+        if (count > 0 && currentBytes + byteLen > maxBytes) {
             return false;
         }
-        // Add the string to the batch and update the currentBytes
-        batch.add(s);
+        int required = length + byteLen + 1;
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+        }
+        if (count > 0) {
+            bytes[length++] = '\n';
+        }
+        System.arraycopy(source, offset, bytes, length, byteLen);
+        length += byteLen;
+        if (count == ends.length) {
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        ends[count] = length;
         currentBytes += byteLen;
+        count++;
         return true;
     }
 
+    /**
+     * Returns the events of the batch decoded to strings. Since version 3.0 this is a new list decoded from the
+     * encoded events on every call, not the list backing the batch; use {@link #size()} to count the events.
+     *
+     * @return the events, in order.
+     */
+    public List<String> getBatch() {
+        List<String> events = new ArrayList<>(count);
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            events.add(new String(bytes, start, ends[i] - start, StandardCharsets.UTF_8));
+            start = ends[i] + 1;
+        }
+        return events;
+    }
+
+    /**
+     * Returns a copy of the payload of the batch: the encoded events separated by line breaks.
+     *
+     * @return the payload.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Writes the payload of the batch, the encoded events separated by line breaks, to the stream.
+     *
+     * @param outputStream the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(bytes, 0, length);
+    }
+
+    /**
+     * Returns the number of events in the batch.
+     *
+     * @return the number of events.
+     */
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
     public void clearBatch() {
-        batch.clear();
+        length = 0;
         currentBytes = 0;
+        count = 0;
     }
 
     public int getCurrentSizeInBytes() {
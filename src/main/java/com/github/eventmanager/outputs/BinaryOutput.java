@@ -0,0 +1,83 @@
+package com.github.eventmanager.outputs;
+
+import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.binary.BinaryEventEncoder;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.LogHandler;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the events in the binary event format to a file next to the log file, named like the log file with the
+ * extension {@value #EXTENSION} appended.
+ * <p>
+ * Every batch is appended to the file with a single write. The dictionaries of the binary format carry over from
+ * batch to batch; a new segment is started whenever the log file is rotated and when the output is created, so the
+ * file stays decodable if several runs append to it. Use {@link com.github.eventmanager.binary.BinaryConverter} to
+ * convert the file to a text format.
+ */
+public class BinaryOutput implements Output {
+    /**
+     * The extension appended to the name of the log file.
+     */
+    public static final String EXTENSION = ".emb";
+
+    private final BinaryEventEncoder encoder = new BinaryEventEncoder();
+    private String currentFile;
+
+    @Override
+    public boolean writesStructuredEvents() {
+        return true;
+    }
+
+    @Override
+    public void write(LogHandler loghandler, String event) {
+        writeEvents(loghandler, List.of(LogEvent.ofRendered(null, event)));
+    }
+
+    @Override
+    public void write(InternalEventManager internalEventManager, String event) {
+        writeEvents(internalEventManager, List.of(LogEvent.ofRendered(null, event)));
+    }
+
+    @Override
+    public void writeEvents(LogHandler loghandler, List<LogEvent> events) {
+        try {
+            String filePath = loghandler.getConfig().getInternalEvents().getFilePath();
+            writeSegment(filePath + loghandler.getCurrentInternalFileName() + EXTENSION, events);
+        } catch (IOException e) {
+            System.out.println("An error occurred in writeEventToBinaryFile:" + e.getMessage());
+        }
+    }
+
+    @Override
+    public void writeEvents(InternalEventManager internalEventManager, List<LogEvent> events) {
+        try {
+            LogHandler logHandler = internalEventManager.getLogHandler();
+            String filePath = logHandler.getConfig().getLogFile().getFilePath();
+            writeSegment(filePath + logHandler.getCurrentFileName() + EXTENSION, events);
+        } catch (IOException e) {
+            internalEventManager.logError("An error occurred in writeEventToBinaryFile:" + e.getMessage());
+        }
+    }
+
+    private synchronized void writeSegment(String fileName, List<LogEvent> events) throws IOException {
+        if (!fileName.equals(currentFile)) {
+            encoder.reset();
+            currentFile = fileName;
+        }
+        for (LogEvent event : events) {
+            encoder.encode(event);
+        }
+        try (FileOutputStream outputStream = new FileOutputStream(fileName, true)) {
+            encoder.drainTo(outputStream);
+        } catch (IOException e) {
+            // The frames are lost, so the next batch must not refer to their definitions
+            encoder.drain();
+            encoder.reset();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.eventmanager.outputs;
+
+import com.github.eventmanager.events.EventSchema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A batch of events encoded as UTF-8, stored back to back in one reusable buffer with a line break after every event.
+ * <p>
+ * The event thread renders every event straight into this buffer, so each event is encoded exactly once and outputs
+ * writing bytes never see an intermediate {@link String}. The buffer is kept between batches; it is only replaced by
+ * a smaller one if a single huge batch made it grow beyond its pooled capacity.
+ * <p>
+ * Instances are not thread-safe and are only valid until the caller clears them after the outputs returned.
+ */
+public final class EncodedEvents {
+    /**
+     * Buffers larger than this are replaced on {@link #clear()}, so a single huge batch does not pin its memory.
+     */
+    private static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int length;
+    /**
+     * The end offset of every event, excluding its line break.
+     */
+    private int[] ends = new int[64];
+    private int size;
+    /**
+     * The schema of every event, or null as long as no event of a schema was added.
+     */
+    private EventSchema[] schemas;
+    private List<String> strings;
+
+    /**
+     * Encodes the event as UTF-8 and appends it to the batch, followed by a line break. Unpaired surrogates are
+     * replaced by '?'.
+     *
+     * @param event the rendered event.
+     */
+    public void add(CharSequence event) {
+        add(event, null);
+    }
+
+    /**
+     * Encodes the event of a schema as UTF-8 and appends it to the batch, followed by a line break. Outputs use the
+     * schema to write headers, e.g. for the CSV format.
+     *
+     * @param event  the rendered event.
+     * @param schema the schema of the event, or null if it has none.
+     */
+    public void add(CharSequence event, EventSchema schema) {
+        if (schema != null && schemas == null) {
+            schemas = new EventSchema[ends.length];
+        }
+        int count = event.length();
+        ensureCapacity(length + 3 * count + 1);
+        byte[] buffer = bytes;
+        int position = length;
+        for (int i = 0; i < count; i++) {
+            char c = event.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(event.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, event.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        if (size == ends.length) {
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        if (schemas != null) {
+            if (schemas.length < ends.length) {
+                schemas = Arrays.copyOf(schemas, ends.length);
+            }
+            schemas[size] = schema;
+        }
+        ends[size++] = position;
+        buffer[position++] = '\n';
+        length = position;
+        strings = null;
+    }
+
+    /**
+     * Gets the number of events in the batch.
+     *
+     * @return the number of events.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the batch holds no events.
+     *
+     * @return true if the batch is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of bytes of all events including their line breaks.
+     *
+     * @return the encoded size of the batch.
+     */
+    public int byteSize() {
+        return length;
+    }
+
+    /**
+     * Returns a read-only view of the encoded batch, each event followed by a line break.
+     *
+     * @return the encoded events.
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes, 0, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the encoded batch, each event followed by a line break, to the stream.
+     *
+     * @param outputStream the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(bytes, 0, length);
+    }
+
+    /**
+     * Returns the events decoded to strings. The list is created once per batch, for outputs that only handle
+     * strings.
+     *
+     * @return the events, in order.
+     */
+    public List<String> asStrings() {
+        if (strings == null) {
+            List<String> decoded = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                decoded.add(new String(bytes, start(i), ends[i] - start(i), StandardCharsets.UTF_8));
+            }
+            strings = Collections.unmodifiableList(decoded);
+        }
+        return strings;
+    }
+
+    /**
+     * Removes all events, keeping the buffer for the next batch.
+     */
+    public void clear() {
+        if (bytes.length > MAX_POOLED_CAPACITY) {
+            bytes = new byte[INITIAL_CAPACITY];
+        }
+        length = 0;
+        size = 0;
+        schemas = null;
+        strings = null;
+    }
+
+    /**
+     * Checks whether the batch holds events of a schema.
+     *
+     * @return true if an event of a schema was added since the batch was last cleared, false otherwise.
+     */
+    public boolean hasSchemas() {
+        return schemas != null;
+    }
+
+    /**
+     * Gets the schema of an event.
+     *
+     * @param index the index of the event.
+     * @return the schema, or null if the event has none.
+     */
+    public EventSchema schema(int index) {
+        return schemas != null ? schemas[index] : null;
+    }
+
+    /**
+     * Gets the offset of the first byte of an event.
+     */
+    int start(int index) {
+        return index == 0 ? 0 : ends[index - 1] + 1;
+    }
+
+    /**
+     * Gets the number of bytes of an event, excluding its line break.
+     */
+    int length(int index) {
+        return ends[index] - start(index);
+    }
+
+    /**
+     * Gets the backing array of the batch.
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+}
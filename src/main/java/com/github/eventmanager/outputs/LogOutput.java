@@ -1,12 +1,29 @@
 package com.github.eventmanager.outputs;
 
 import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.events.EventSchema;
 import com.github.eventmanager.filehandlers.LogHandler;
+import com.github.eventmanager.formatters.EventFormatter;
 
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public class LogOutput implements Output {
+    /**
+     * The log file the CSV headers were written to.
+     */
+    private String headerFile;
+    /**
+     * The schemas whose CSV header was written to {@link #headerFile}.
+     */
+    private final Set<EventSchema> writtenHeaders = new HashSet<>();
+
     @Override
     public void write(LogHandler loghandler, String event) {
         try {
@@ -36,4 +53,115 @@ public class LogOutput implements Output {
             internalEventManager.logError("An error occurred in writeEventToLogFile:" + e.getMessage());
         }
     }
+
+    /**
+     * Writes all events of the batch with a single opened, buffered writer.
+     */
+    @Override
+    public void writeBatch(LogHandler loghandler, List<String> events) {
+        try {
+            if (!loghandler.checkIfInternalLogFileExists()) {
+                loghandler.createInternalLogFile();
+            }
+            String filePath = loghandler.getConfig().getInternalEvents().getFilePath();
+            writeLines(filePath + loghandler.getCurrentInternalFileName(), events);
+        } catch (IOException e) {
+            System.out.println("An error occurred in writeEventToLogFile:" + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all events of the batch with a single opened, buffered writer.
+     */
+    @Override
+    public void writeBatch(InternalEventManager internalEventManager, List<String> events) {
+        try {
+            if (!internalEventManager.getLogHandler().checkIfLogFileExists()) {
+                internalEventManager.getLogHandler().createLogFile();
+            }
+            String filePath = internalEventManager.getLogHandler().getConfig().getLogFile().getFilePath();
+            writeLines(filePath + internalEventManager.getLogHandler().getCurrentFileName(), events);
+        } catch (IOException e) {
+            internalEventManager.logError("An error occurred in writeEventToLogFile:" + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the encoded batch to the file with a single write.
+     */
+    @Override
+    public void writeEncoded(LogHandler loghandler, EncodedEvents events) {
+        try {
+            if (!loghandler.checkIfInternalLogFileExists()) {
+                loghandler.createInternalLogFile();
+            }
+            String filePath = loghandler.getConfig().getInternalEvents().getFilePath();
+            writeBytes(filePath + loghandler.getCurrentInternalFileName(), events);
+        } catch (IOException e) {
+            System.out.println("An error occurred in writeEventToLogFile:" + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the encoded batch to the file with a single write. In the CSV format, the header of a schema is
+     * written to a log file before the first event of that schema.
+     */
+    @Override
+    public void writeEncoded(InternalEventManager internalEventManager, EncodedEvents events) {
+        try {
+            if (!internalEventManager.getLogHandler().checkIfLogFileExists()) {
+                internalEventManager.getLogHandler().createLogFile();
+            }
+            LogHandler logHandler = internalEventManager.getLogHandler();
+            String fileName = logHandler.getConfig().getLogFile().getFilePath() + logHandler.getCurrentFileName();
+            if (events.hasSchemas() && logHandler.getConfig().getEvent().formatter() == EventFormatter.CSV) {
+                writeBytesWithHeaders(fileName, events);
+            } else {
+                writeBytes(fileName, events);
+            }
+        } catch (IOException e) {
+            internalEventManager.logError("An error occurred in writeEventToLogFile:" + e.getMessage());
+        }
+    }
+
+    private static void writeBytes(String fileName, EncodedEvents events) throws IOException {
+        try (FileOutputStream outputStream = new FileOutputStream(fileName, true)) {
+            events.writeTo(outputStream);
+        }
+    }
+
+    /**
+     * Appends the encoded batch to the file, inserting the CSV header of every schema that was not yet written to
+     * the file. The events between two headers are written at once.
+     */
+    private synchronized void writeBytesWithHeaders(String fileName, EncodedEvents events) throws IOException {
+        if (!fileName.equals(headerFile)) {
+            headerFile = fileName;
+            writtenHeaders.clear();
+        }
+        try (FileOutputStream outputStream = new FileOutputStream(fileName, true)) {
+            byte[] bytes = events.array();
+            int pending = 0;
+            for (int i = 0; i < events.size(); i++) {
+                EventSchema schema = events.schema(i);
+                if (schema == null || !writtenHeaders.add(schema)) {
+                    continue;
+                }
+                int start = events.start(i);
+                outputStream.write(bytes, pending, start - pending);
+                outputStream.write((schema.getCsvHeader() + "\n").getBytes(StandardCharsets.UTF_8));
+                pending = start;
+            }
+            outputStream.write(bytes, pending, events.byteSize() - pending);
+        }
+    }
+
+    private static void writeLines(String fileName, List<String> events) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true), 64 * 1024)) {
+            for (String event : events) {
+                writer.write(event);
+                writer.write('\n');
+            }
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package com.github.eventmanager.outputs;
 
 import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.LogHandler;
 
+import java.util.List;
+
 /**
  * The Output interface is used to define the methods that must be implemented by all Output classes.
  */
@@ -21,4 +24,87 @@ public interface Output {
      * @param event the event to write.
      */
     void write(InternalEventManager internalEventManager, String event);
+
+    /**
+     * Writes a batch of events to the internal log file. The default implementation calls
+     * {@link #write(LogHandler, String)} for every event; outputs which can write several events at once should
+     * override it.
+     *
+     * @param loghandler the LogHandler to use for writing the events.
+     * @param events the events to write, in order. The list is reused by the caller after the method returns.
+     */
+    default void writeBatch(LogHandler loghandler, List<String> events) {
+        for (String event : events) {
+            write(loghandler, event);
+        }
+    }
+
+    /**
+     * Writes a batch of events to the log file. The default implementation calls
+     * {@link #write(InternalEventManager, String)} for every event; outputs which can write several events at once
+     * should override it.
+     *
+     * @param internalEventManager the InternalEventManager to use for writing the events.
+     * @param events the events to write, in order. The list is reused by the caller after the method returns.
+     */
+    default void writeBatch(InternalEventManager internalEventManager, List<String> events) {
+        for (String event : events) {
+            write(internalEventManager, event);
+        }
+    }
+
+    /**
+     * Writes a batch of UTF-8 encoded events to the internal log file. The default implementation decodes the events
+     * and calls {@link #writeBatch(LogHandler, List)}; outputs which write bytes should override it, so the events
+     * are written exactly as they were encoded.
+     *
+     * @param loghandler the LogHandler to use for writing the events.
+     * @param events the encoded events. The batch is reused by the caller after the method returns.
+     */
+    default void writeEncoded(LogHandler loghandler, EncodedEvents events) {
+        writeBatch(loghandler, events.asStrings());
+    }
+
+    /**
+     * Writes a batch of UTF-8 encoded events to the log file. The default implementation decodes the events and
+     * calls {@link #writeBatch(InternalEventManager, List)}; outputs which write bytes should override it, so the
+     * events are written exactly as they were encoded.
+     *
+     * @param internalEventManager the InternalEventManager to use for writing the events.
+     * @param events the encoded events. The batch is reused by the caller after the method returns.
+     */
+    default void writeEncoded(InternalEventManager internalEventManager, EncodedEvents events) {
+        writeBatch(internalEventManager, events.asStrings());
+    }
+
+    /**
+     * Checks whether the output serializes the structured events itself, e.g. in a binary format. Such outputs
+     * receive the events through {@link #writeEvents(LogHandler, List)} and
+     * {@link #writeEvents(InternalEventManager, List)} instead of the rendered text.
+     *
+     * @return true if the output writes structured events, false if it writes rendered events.
+     */
+    default boolean writesStructuredEvents() {
+        return false;
+    }
+
+    /**
+     * Writes a batch of structured internal events. Only called if {@link #writesStructuredEvents()} returns true;
+     * the default implementation does nothing.
+     *
+     * @param loghandler the LogHandler to use for writing the events.
+     * @param events the processed events, in order. The list is reused by the caller after the method returns.
+     */
+    default void writeEvents(LogHandler loghandler, List<LogEvent> events) {
+    }
+
+    /**
+     * Writes a batch of structured events. Only called if {@link #writesStructuredEvents()} returns true; the default
+     * implementation does nothing.
+     *
+     * @param internalEventManager the InternalEventManager to use for writing the events.
+     * @param events the processed events, in order. The list is reused by the caller after the method returns.
+     */
+    default void writeEvents(InternalEventManager internalEventManager, List<LogEvent> events) {
+    }
 }
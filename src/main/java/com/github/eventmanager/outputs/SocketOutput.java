@@ -1,24 +1,143 @@
 package com.github.eventmanager.outputs;
 
 import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.binary.BinaryEventEncoder;
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.LogHandler;
 import com.github.eventmanager.filehandlers.config.SocketEntry;
+import com.github.eventmanager.internal.VirtualThreads;
 
+import java.io.OutputStream;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
 
 public class SocketOutput implements Output {
+    /**
+     * The number of bytes collected before they are sent.
+     */
+    private static final int BATCH_BYTES = 65536;
+
+    /**
+     * The encoding of the events sent to the sockets.
+     */
+    public enum WireFormat {
+        /**
+         * The rendered events in the configured text format, separated by line breaks.
+         */
+        TEXT,
+        /**
+         * The structured events in the binary event format, one segment per connection.
+         */
+        BINARY;
+
+        /**
+         * Resolves the wire format name used in the output parameters.
+         *
+         * @param name the name, "binary" or "text".
+         * @return the matching wire format, {@link #TEXT} for null or unknown names.
+         */
+        public static WireFormat of(String name) {
+            return "binary".equalsIgnoreCase(name) ? BINARY : TEXT;
+        }
+    }
+
     private List<SocketEntry> socketSettings;
-    private final Batch batch = new Batch(65536);
+    private final Batch batch = new Batch(BATCH_BYTES);
+    private final WireFormat wireFormat;
+    private final BinaryEventEncoder binaryEncoder = new BinaryEventEncoder();
+    /**
+     * Factory for the virtual threads sending a batch to several sockets in parallel, or null to send sequentially.
+     */
+    private final ThreadFactory senderFactory;
 
     public SocketOutput(List<SocketEntry> socketSettings) {
+        this(socketSettings, null);
+    }
+
+    /**
+     * Creates a SocketOutput that sends every batch to all sockets in parallel, one sender thread per socket.
+     * A sender thread is started for every batch, which is only cheap for virtual threads; a factory creating
+     * platform threads is ignored and the sockets are served one after another.
+     *
+     * @param socketSettings the sockets to send the events to.
+     * @param senderFactory  the factory creating the sender threads, or null to send to one socket after another.
+     */
+    public SocketOutput(List<SocketEntry> socketSettings, ThreadFactory senderFactory) {
+        this(socketSettings, senderFactory, WireFormat.TEXT);
+    }
+
+    /**
+     * Creates a SocketOutput with the given wire format.
+     *
+     * @param socketSettings the sockets to send the events to.
+     * @param senderFactory  the factory creating the virtual sender threads, or null to send to one socket after
+     *                       another.
+     * @param wireFormat     the encoding of the events sent to the sockets.
+     */
+    public SocketOutput(List<SocketEntry> socketSettings, ThreadFactory senderFactory, WireFormat wireFormat) {
         this.socketSettings = socketSettings;
+        // The probe thread is never started
+        this.senderFactory = senderFactory != null && VirtualThreads.isVirtual(senderFactory.newThread(() -> { }))
+                ? senderFactory : null;
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public boolean writesStructuredEvents() {
+        return wireFormat == WireFormat.BINARY;
+    }
+
+    /**
+     * Encodes the events in the binary format. Once the encoded events fill a batch, they are sent as one segment
+     * per socket.
+     */
+    @Override
+    public void writeEvents(LogHandler loghandler, List<LogEvent> events) {
+        byte[] payload = encodeBinary(events);
+        if (payload != null) {
+            sendToSocket(payload);
+        }
+    }
+
+    /**
+     * Encodes the events in the binary format. Once the encoded events fill a batch, they are sent as one segment
+     * per socket.
+     */
+    @Override
+    public void writeEvents(InternalEventManager internalEventManager, List<LogEvent> events) {
+        byte[] payload = encodeBinary(events);
+        if (payload != null) {
+            internalEventManager.logInfo("Sending " + payload.length + " bytes of binary events to socket.");
+            sendToSocket(internalEventManager, payload);
+        }
+    }
+
+    /**
+     * Adds the events to the binary segment and returns the segment once it is full.
+     *
+     * @param events the events to encode.
+     * @return the encoded segment, or null if it is not full yet.
+     */
+    private byte[] encodeBinary(List<LogEvent> events) {
+        for (LogEvent event : events) {
+            binaryEncoder.encode(event);
+        }
+        if (binaryEncoder.bufferedBytes() < BATCH_BYTES) {
+            return null;
+        }
+        byte[] payload = binaryEncoder.drain();
+        // Every payload is sent over a new connection, so it must start a segment of its own
+        binaryEncoder.reset();
+        return payload;
     }
 
     @Override
     public void write(LogHandler loghandler, String event) {
         if(!batch.tryAdd(event)) {
-            sendToSocket(String.join("\n", batch.getBatch()));
+            sendToSocket(batch.toByteArray());
             batch.clearBatch();
             batch.tryAdd(event);
         }
@@ -28,34 +147,155 @@ public class SocketOutput implements Output {
     public void write(InternalEventManager internalEventManager, String event) {
         if (!batch.tryAdd(event)) {
             int bytes = batch.getCurrentSizeInBytes();
-            int size = batch.getBatch().size();
+            int size = batch.size();
             internalEventManager.logInfo("Sending " + size + " events to socket. Total size: " + bytes + " bytes.");
-            sendToSocket(internalEventManager, String.join("\n", batch.getBatch()));
+            sendToSocket(internalEventManager, batch.toByteArray());
             batch.clearBatch();
             batch.tryAdd(event);
         }
     }
 
-    private void sendToSocket(String event) {
-        for (SocketEntry socketEntry : socketSettings) {
-            try {
-                Socket socket = new Socket(socketEntry.getHost(), socketEntry.getPort());
-                socket.getOutputStream().write(event.getBytes());
-                socket.close();
-            } catch (Exception e) {
-                System.out.println("An error occurred in sendToSocket:" + e.getMessage());
+    /**
+     * Adds all events to the socket batch. Every batch that fills up is collected, and all of them are sent over a
+     * single connection per socket instead of one connection per batch.
+     */
+    @Override
+    public void writeBatch(LogHandler loghandler, List<String> events) {
+        List<byte[]> payloads = fillBatch(events);
+        if (!payloads.isEmpty()) {
+            sendToSocket(payloads, error -> System.out.println("An error occurred in sendToSocket:" + error));
+        }
+    }
+
+    /**
+     * Adds all events to the socket batch. Every batch that fills up is collected, and all of them are sent over a
+     * single connection per socket instead of one connection per batch.
+     */
+    @Override
+    public void writeBatch(InternalEventManager internalEventManager, List<String> events) {
+        List<byte[]> payloads = fillBatch(events);
+        if (!payloads.isEmpty()) {
+            internalEventManager.logInfo("Sending " + payloads.size() + " full batches to socket.");
+            sendToSocket(payloads, error -> internalEventManager.logError("An error occurred in sendToSocket:" + error));
+        }
+    }
+
+    /**
+     * Copies the encoded events into the socket batch without encoding them again. Every batch that fills up is
+     * collected, and all of them are sent over a single connection per socket.
+     */
+    @Override
+    public void writeEncoded(LogHandler loghandler, EncodedEvents events) {
+        List<byte[]> payloads = fillBatch(events);
+        if (!payloads.isEmpty()) {
+            sendToSocket(payloads, error -> System.out.println("An error occurred in sendToSocket:" + error));
+        }
+    }
+
+    /**
+     * Copies the encoded events into the socket batch without encoding them again. Every batch that fills up is
+     * collected, and all of them are sent over a single connection per socket.
+     */
+    @Override
+    public void writeEncoded(InternalEventManager internalEventManager, EncodedEvents events) {
+        List<byte[]> payloads = fillBatch(events);
+        if (!payloads.isEmpty()) {
+            internalEventManager.logInfo("Sending " + payloads.size() + " full batches to socket.");
+            sendToSocket(payloads, error -> internalEventManager.logError("An error occurred in sendToSocket:" + error));
+        }
+    }
+
+    /**
+     * Adds the events to the socket batch and returns the contents of every batch that filled up on the way.
+     *
+     * @param events the events to add.
+     * @return the payloads of the full batches, in order.
+     */
+    private List<byte[]> fillBatch(List<String> events) {
+        List<byte[]> payloads = new ArrayList<>();
+        for (String event : events) {
+            if (!batch.tryAdd(event)) {
+                payloads.add(batch.toByteArray());
+                batch.clearBatch();
+                batch.tryAdd(event);
             }
         }
+        return payloads;
     }
 
-    private void sendToSocket(InternalEventManager internalEventManager, String event) {
+    /**
+     * Adds the encoded events to the socket batch and returns the contents of every batch that filled up on the way.
+     *
+     * @param events the encoded events to add.
+     * @return the payloads of the full batches, in order.
+     */
+    private List<byte[]> fillBatch(EncodedEvents events) {
+        List<byte[]> payloads = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            if (!batch.tryAdd(events, i)) {
+                payloads.add(batch.toByteArray());
+                batch.clearBatch();
+                batch.tryAdd(events, i);
+            }
+        }
+        return payloads;
+    }
+
+    private void sendToSocket(byte[] payload) {
+        sendToSocket(List.of(payload), error -> System.out.println("An error occurred in sendToSocket:" + error));
+    }
+
+    private void sendToSocket(InternalEventManager internalEventManager, byte[] payload) {
+        sendToSocket(List.of(payload), error -> internalEventManager.logError("An error occurred in sendToSocket:" + error));
+    }
+
+    /**
+     * Sends the payloads to every socket, one connection per socket. Consecutive payloads are separated by a line
+     * break.
+     *
+     * @param payloads the payloads to send.
+     * @param errorHandler receives the message of every error.
+     */
+    private void sendToSocket(List<byte[]> payloads, Consumer<String> errorHandler) {
+        forEachSocket(socketEntry -> {
+            try (Socket socket = new Socket(socketEntry.getHost(), socketEntry.getPort())) {
+                OutputStream outputStream = socket.getOutputStream();
+                for (int i = 0; i < payloads.size(); i++) {
+                    if (i > 0) {
+                        outputStream.write('\n');
+                    }
+                    outputStream.write(payloads.get(i));
+                }
+            } catch (Exception e) {
+                errorHandler.accept(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Runs the given send operation for every socket. Without a sender factory the sockets are served one after
+     * another, otherwise every socket gets its own virtual sender thread and the method waits until all of them are
+     * done.
+     *
+     * @param sender the send operation.
+     */
+    private void forEachSocket(Consumer<SocketEntry> sender) {
+        if (senderFactory == null || socketSettings.size() < 2) {
+            socketSettings.forEach(sender);
+            return;
+        }
+        List<Thread> senders = new ArrayList<>(socketSettings.size());
         for (SocketEntry socketEntry : socketSettings) {
+            Thread thread = senderFactory.newThread(() -> sender.accept(socketEntry));
+            senders.add(thread);
+            thread.start();
+        }
+        for (Thread thread : senders) {
             try {
-                Socket socket = new Socket(socketEntry.getHost(), socketEntry.getPort());
-                socket.getOutputStream().write(event.getBytes());
-                socket.close();
-            } catch (Exception e) {
-                internalEventManager.logError("An error occurred in sendToSocket:" + e.getMessage());
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
         }
     }
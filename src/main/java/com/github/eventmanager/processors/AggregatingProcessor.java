@@ -0,0 +1,23 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+
+import java.util.List;
+
+/**
+ * A {@link LogEventProcessor} that holds events back and later emits events of its own, e.g. summaries of
+ * suppressed events.
+ * <p>
+ * The processing thread flushes aggregating processors regularly, also while no events arrive. The flushed events
+ * are passed through the processors that follow the aggregating processor, then written like any other event.
+ */
+public interface AggregatingProcessor extends LogEventProcessor {
+    /**
+     * Returns the events that are due.
+     *
+     * @param now the current time in milliseconds since the epoch.
+     * @param all true to return all held back events regardless of their time, e.g. when the event manager stops.
+     * @return the events to emit, may be empty but never null.
+     */
+    List<LogEvent> flush(long now, boolean all);
+}
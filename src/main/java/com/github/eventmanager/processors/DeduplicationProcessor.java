@@ -0,0 +1,233 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.EventSchema;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The DeduplicationProcessor class collapses repeated events, e.g. the storm of identical errors logged while a
+ * dependency is down.
+ *
+ * <p>Events are fingerprinted by their level, message template and call site, so events which only differ in the
+ * arguments of a parameterized message are repeats of each other. Events without a message, like events only
+ * consisting of key-value fields, are fingerprinted by the keys and values of their fields as well. The first event of a fingerprint is passed on and
+ * opens a window; repeats inside the window are dropped and only counted. Once the window has passed, one summary
+ * event is emitted with the next flush: a copy of the first event, stamped with the time of the flush, with the fields
+ * "duplicates", "firstSeen" and "lastSeen" added. "firstSeen" is the time of the first event of the window, "lastSeen"
+ * the time of its last repeat. The next repeat after the window is passed on again and opens a new window.
+ *
+ * <p>The fingerprints are kept in LRU maps of bounded size. Evicting a fingerprint emits its summary early, so no
+ * count is lost. The maps are striped by the hash of the fingerprint and every stripe has a lock of its own, so
+ * parallel processing workers only contend when they process events of the same stripe. Serialized events, like the
+ * output of an {@link com.github.eventmanager.formatters.EventCreator}, are passed on as they are.
+ * */
+public class DeduplicationProcessor implements AggregatingProcessor {
+    /**
+     * The default length of a window in milliseconds.
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 10_000;
+    /**
+     * The default number of fingerprints that are tracked.
+     */
+    public static final int DEFAULT_MAX_FINGERPRINTS = 1024;
+    /**
+     * The maximum number of stripes the fingerprints are spread over.
+     */
+    static final int MAX_STRIPES = 16;
+
+    /**
+     * Identifies repeats of an event.
+     */
+    private record Fingerprint(String level, String template, List<String> fields, String className,
+                               String methodName, int lineNumber) {
+    }
+
+    /**
+     * The state of a fingerprint in its current window.
+     */
+    private static final class Window {
+        private final LogEvent firstEvent;
+        private final long start;
+        private int duplicates;
+        private long lastSeen;
+
+        private Window(LogEvent firstEvent) {
+            this.firstEvent = firstEvent;
+            this.start = firstEvent.getTimestamp();
+        }
+    }
+
+    /**
+     * An LRU map of fingerprints, guarded by its own monitor.
+     */
+    private final class Stripe extends LinkedHashMap<Fingerprint, Window> {
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Fingerprint, Window> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            endWindow(eldest.getValue());
+            return true;
+        }
+    }
+
+    private final long windowMillis;
+    private final Stripe[] stripes;
+    /**
+     * Windows with repeats that ended while an event was processed, summarized on the next flush.
+     */
+    private final Queue<Window> pending = new ConcurrentLinkedQueue<>();
+
+    public DeduplicationProcessor() {
+        this(DEFAULT_WINDOW_MILLIS, DEFAULT_MAX_FINGERPRINTS);
+    }
+
+    /**
+     * Creates a DeduplicationProcessor.
+     *
+     * @param windowMillis    the time in milliseconds during which repeats of an event are collapsed.
+     * @param maxFingerprints the maximum number of fingerprints that are tracked at the same time.
+     */
+    public DeduplicationProcessor(long windowMillis, int maxFingerprints) {
+        this.windowMillis = windowMillis > 0 ? windowMillis : DEFAULT_WINDOW_MILLIS;
+        int capacity = maxFingerprints > 0 ? maxFingerprints : DEFAULT_MAX_FINGERPRINTS;
+        int stripeCount = Math.min(MAX_STRIPES, capacity);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe((capacity + stripeCount - 1) / stripeCount);
+        }
+    }
+
+    /**
+     * Passes the first event of a window on and drops its repeats.
+     *
+     * @param event  the event to process.
+     * @param format the event format, not used.
+     * @return the event, or null if it repeats an event of the current window.
+     */
+    @Override
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        Fingerprint fingerprint = fingerprint(event);
+        Stripe stripe = stripes[Math.floorMod(fingerprint.hashCode(), stripes.length)];
+        long timestamp = event.getTimestamp();
+        synchronized (stripe) {
+            Window window = stripe.get(fingerprint);
+            if (window != null && timestamp - window.start < windowMillis) {
+                window.duplicates++;
+                window.lastSeen = timestamp;
+                return null;
+            }
+            if (window != null) {
+                endWindow(window);
+            }
+            stripe.put(fingerprint, new Window(event));
+        }
+        return event;
+    }
+
+    /**
+     * Returns the summaries of all windows that have passed, or of all windows if {@code all} is true.
+     */
+    @Override
+    public List<LogEvent> flush(long now, boolean all) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Window> iterator = stripe.values().iterator();
+                while (iterator.hasNext()) {
+                    Window window = iterator.next();
+                    if (all || now - window.start >= windowMillis) {
+                        endWindow(window);
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<LogEvent> summaries = new ArrayList<>();
+        Window window;
+        while ((window = pending.poll()) != null) {
+            summaries.add(summarize(window, now));
+        }
+        return summaries;
+    }
+
+    @Override
+    public String processKV(String event) {
+        return event;
+    }
+
+    @Override
+    public String processJSON(String event) {
+        return event;
+    }
+
+    @Override
+    public String processXML(String event) {
+        return event;
+    }
+
+    /**
+     * Queues a window for its summary if it had repeats. Called with the lock of the window's stripe held.
+     */
+    private void endWindow(Window window) {
+        if (window.duplicates > 0) {
+            pending.add(window);
+        }
+    }
+
+    private static LogEvent summarize(Window window, long now) {
+        return window.firstEvent.withTimestamp(now).withAddedFields(
+                new KeyValueWrapper("duplicates", String.valueOf(window.duplicates)),
+                new KeyValueWrapper("firstSeen", Instant.ofEpochMilli(window.start).toString()),
+                new KeyValueWrapper("lastSeen", Instant.ofEpochMilli(window.lastSeen).toString()));
+    }
+
+    private static Fingerprint fingerprint(LogEvent event) {
+        String template = event.getMessageTemplate();
+        List<String> fields = null;
+        EventSchema schema = event.getSchema();
+        if (schema != null) {
+            template = schema.getName();
+        } else if (template == null) {
+            fields = fieldsOf(event);
+            if (event.getThrowable() != null) {
+                template = event.getThrowable().getClass().getName();
+            }
+        }
+        return new Fingerprint(event.getLevel(), template, fields, event.getClassName(), event.getMethodName(),
+                event.getLineNumber());
+    }
+
+    /**
+     * Returns the keys and values of the fields of an event, alternating.
+     */
+    private static List<String> fieldsOf(LogEvent event) {
+        KeyValueWrapper[] fields = event.getFields();
+        String[] keysAndValues = new String[fields.length * 2];
+        for (int i = 0; i < fields.length; i++) {
+            keysAndValues[2 * i] = fields[i].getKey();
+            keysAndValues[2 * i + 1] = fields[i].getValue();
+        }
+        return Arrays.asList(keysAndValues);
+    }
+}
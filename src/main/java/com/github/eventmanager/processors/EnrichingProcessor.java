@@ -1,6 +1,10 @@
 package com.github.eventmanager.processors;
 
-import java.net.InetAddress;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import com.github.eventmanager.internal.HostInfo;
+
 import java.util.List;
 
 /**
@@ -8,11 +12,28 @@ import java.util.List;
  *
  * <p>It enriches event data with the information such as hostname, IP address, thread name, and thread ID.
  * */
-public class EnrichingProcessor implements Processor {
-    private List<String> enrichingFields = List.of("hostname", "ip");
+public class EnrichingProcessor implements LogEventProcessor {
+    private final List<String> enrichingFields;
 
     public EnrichingProcessor(List<String> enrichingFields) {
-        this.enrichingFields = enrichingFields != null ? enrichingFields : this.enrichingFields;
+        this.enrichingFields = enrichingFields != null ? List.copyOf(enrichingFields) : List.of("hostname", "ip");
+    }
+
+    /**
+     * Appends the enriching fields to the fields of the event.
+     *
+     * @param event  the event to enrich.
+     * @param format the event format, not used.
+     * @return the enriched event.
+     */
+    @Override
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        KeyValueWrapper[] additionalFields = new KeyValueWrapper[enrichingFields.size()];
+        for (int i = 0; i < additionalFields.length; i++) {
+            String field = enrichingFields.get(i);
+            additionalFields[i] = new KeyValueWrapper(field, getValue(field));
+        }
+        return event.withAddedFields(additionalFields);
     }
 
     @Override
@@ -98,25 +119,17 @@ public class EnrichingProcessor implements Processor {
     }
 
     /**
-     * Returns the hostname of the machine.
+     * Returns the cached hostname of the machine.
      * */
     private String getHostname() {
-        try {
-            return InetAddress.getLocalHost().getHostName();
-        } catch (Exception e) {
-            return "Unknown";
-        }
+        return HostInfo.hostname();
     }
 
     /**
-     * Returns the IP address of the machine.
+     * Returns the cached IP address of the machine.
      * */
     private String getIpAddress() {
-        try {
-            return InetAddress.getLocalHost().getHostAddress();
-        } catch (Exception e) {
-            return "Unknown";
-        }
+        return HostInfo.ipAddress();
     }
 
     /**
@@ -0,0 +1,598 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import com.github.eventmanager.internal.TermMatcher;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The FilterExpression class is a compiled condition on the fields of an event, used by the {@link FilterProcessor}
+ * to decide which events to drop.
+ *
+ * <p>An expression combines conditions with {@code AND}, {@code OR}, {@code NOT} and parentheses. A condition
+ * compares a field with a value:
+ * <ul>
+ *   <li>{@code level >= WARNING} - equality ({@code =}, {@code !=}) and ordering ({@code <}, {@code <=}, {@code >},
+ *   {@code >=}). Levels are ordered by severity, other values numerically if both sides are numbers, else
+ *   alphabetically. Ordering a level requires a known level name; custom levels can only be compared for
+ *   equality.</li>
+ *   <li>{@code message ~ "timeout after \\d+ ms"} - the value contains a match of the regular expression.</li>
+ *   <li>{@code user IN (admin, root)} and {@code user NOT IN (admin, root)} - the value is one of the set.</li>
+ *   <li>{@code message CONTAINS "refused"}, {@code message CONTAINS ANY ("refused", "reset")} and
+ *   {@code event CONTAINS ALL ("db", "down")} - the value contains one, any or all of the terms.</li>
+ * </ul>
+ * The fields are "level", "className", "methodName", "lineNumber", "message" and the fields of the event. The
+ * pseudo field "event" stands for all of them together and can only be used with {@code CONTAINS}. In a structured
+ * event the terms are searched in every part on its own, so a term does not match across two parts, nor the field
+ * names, quotes or timestamp the event is written with. A condition on a
+ * field the event does not have is false, except for {@code !=} and {@code NOT IN}. Values are words or numbers, or
+ * strings in double or single quotes with backslash escapes. Keywords are case-insensitive.
+ *
+ * <p>The expression is compiled once into a tree of predicates: regular expressions are compiled, sets are hashed
+ * and term lists are merged into a {@link TermMatcher}, so a hundred terms cost a single pass over the text.
+ * Serialized events are matched as well; their fields are read from the text in the event format.
+ */
+public final class FilterExpression {
+    /**
+     * The pseudo field standing for the whole event.
+     */
+    public static final String EVENT_FIELD = "event";
+
+    /**
+     * A compiled condition.
+     */
+    @FunctionalInterface
+    private interface Node {
+        boolean test(Fields fields);
+    }
+
+    /**
+     * The fields of an event a condition is tested against.
+     */
+    private interface Fields {
+        /**
+         * Gets the value of a field.
+         *
+         * @param name the name of the field.
+         * @return the value, or null if the event has no such field.
+         */
+        String get(String name);
+
+        /**
+         * Checks whether any text of the event contains any of the terms.
+         */
+        boolean containsAny(TermMatcher terms);
+
+        /**
+         * Checks whether every term is contained in some text of the event.
+         */
+        boolean containsAll(TermMatcher terms);
+    }
+
+    private final String expression;
+    private final Node root;
+
+    private FilterExpression(String expression, Node root) {
+        this.expression = expression;
+        this.root = root;
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param expression the expression, e.g. {@code level <= DEBUG AND className ~ "^com\\.example\\."}.
+     * @return the compiled expression.
+     * @throws IllegalArgumentException if the expression is not valid.
+     */
+    public static FilterExpression compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("The filter expression is empty");
+        }
+        return new FilterExpression(expression, new Parser(expression).parse());
+    }
+
+    /**
+     * Creates the expression matching events which contain all of the terms, in any of their parts. Matched against
+     * a serialized event, the terms are searched in the whole text.
+     *
+     * @param terms the terms.
+     * @return the compiled expression, {@code event CONTAINS ALL (terms)}.
+     */
+    static FilterExpression containsAll(List<String> terms) {
+        TermMatcher matcher = TermMatcher.of(terms);
+        return new FilterExpression("event CONTAINS ALL " + terms, fields -> fields.containsAll(matcher));
+    }
+
+    /**
+     * Tests a structured event.
+     *
+     * @param event the event.
+     * @return true if the event matches the expression.
+     */
+    public boolean matches(LogEvent event) {
+        return root.test(new EventFields(event));
+    }
+
+    /**
+     * Tests a serialized event.
+     *
+     * @param event  the serialized event.
+     * @param format the format of the event, used to read its fields.
+     * @return true if the event matches the expression.
+     */
+    public boolean matches(String event, EventFormatter format) {
+        return root.test(new TextFields(event, format));
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * The fields of a structured event.
+     */
+    private record EventFields(LogEvent event) implements Fields {
+        @Override
+        public String get(String name) {
+            return switch (name) {
+                case "level" -> event.getLevel();
+                case "className" -> event.getClassName();
+                case "methodName" -> event.getMethodName();
+                case "lineNumber" -> event.hasLocation() ? String.valueOf(event.getLineNumber()) : null;
+                case "message" -> event.getMessage();
+                case EVENT_FIELD -> null;
+                default -> event.getField(name);
+            };
+        }
+
+        @Override
+        public boolean containsAny(TermMatcher terms) {
+            if (terms.containsAny(event.getLevel()) || terms.containsAny(event.getClassName())
+                    || terms.containsAny(event.getMethodName()) || terms.containsAny(event.getMessage())) {
+                return true;
+            }
+            if (event.hasLocation() && terms.containsAny(String.valueOf(event.getLineNumber()))) {
+                return true;
+            }
+            for (KeyValueWrapper field : event.getFields()) {
+                if (terms.containsAny(field.getKey()) || terms.containsAny(field.getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean containsAll(TermMatcher terms) {
+            BitSet found = new BitSet(terms.getTerms().size());
+            if (terms.collect(event.getLevel(), found) || terms.collect(event.getClassName(), found)
+                    || terms.collect(event.getMethodName(), found) || terms.collect(event.getMessage(), found)) {
+                return true;
+            }
+            if (event.hasLocation() && terms.collect(String.valueOf(event.getLineNumber()), found)) {
+                return true;
+            }
+            for (KeyValueWrapper field : event.getFields()) {
+                if (terms.collect(field.getKey(), found) || terms.collect(field.getValue(), found)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The fields of a serialized event, read from the text on demand.
+     */
+    private record TextFields(String text, EventFormatter format) implements Fields {
+        @Override
+        public String get(String name) {
+            if (EVENT_FIELD.equals(name)) {
+                return text;
+            }
+            return switch (format) {
+                case JSON -> jsonValue(name);
+                case XML -> xmlValue(name);
+                default -> keyValue(name);
+            };
+        }
+
+        @Override
+        public boolean containsAny(TermMatcher terms) {
+            return terms.containsAny(text);
+        }
+
+        @Override
+        public boolean containsAll(TermMatcher terms) {
+            return terms.collect(text, new BitSet(terms.getTerms().size()));
+        }
+
+        private String keyValue(String name) {
+            String token = name + "=\"";
+            for (int start = text.indexOf(token); start >= 0; start = text.indexOf(token, start + 1)) {
+                if (start == 0 || !isNameChar(text.charAt(start - 1))) {
+                    int valueStart = start + token.length();
+                    int valueEnd = text.indexOf('"', valueStart);
+                    return valueEnd >= 0 ? text.substring(valueStart, valueEnd) : null;
+                }
+            }
+            return null;
+        }
+
+        private String jsonValue(String name) {
+            String token = "\"" + name + "\":";
+            int start = text.indexOf(token);
+            if (start < 0) {
+                return null;
+            }
+            int i = start + token.length();
+            while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i < text.length() && text.charAt(i) == '"') {
+                StringBuilder value = new StringBuilder();
+                for (int j = i + 1; j < text.length(); j++) {
+                    char c = text.charAt(j);
+                    if (c == '"') {
+                        return value.toString();
+                    }
+                    if (c == '\\' && j + 1 < text.length()) {
+                        c = text.charAt(++j);
+                    }
+                    value.append(c);
+                }
+                return null;
+            }
+            int end = i;
+            while (end < text.length() && text.charAt(end) != ',' && text.charAt(end) != '}') {
+                end++;
+            }
+            return text.substring(i, end).trim();
+        }
+
+        private String xmlValue(String name) {
+            String open = "<" + name + ">";
+            int start = text.indexOf(open);
+            if (start < 0) {
+                return null;
+            }
+            int valueStart = start + open.length();
+            int end = text.indexOf("</" + name + ">", valueStart);
+            return end >= 0 ? text.substring(valueStart, end) : null;
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-';
+        }
+    }
+
+    /**
+     * The comparison operators.
+     */
+    private enum Operator {
+        EQUAL("="), NOT_EQUAL("!="), LESS("<"), LESS_OR_EQUAL("<="), GREATER(">"), GREATER_OR_EQUAL(">=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        private static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        private boolean test(int comparison) {
+            return switch (this) {
+                case EQUAL -> comparison == 0;
+                case NOT_EQUAL -> comparison != 0;
+                case LESS -> comparison < 0;
+                case LESS_OR_EQUAL -> comparison <= 0;
+                case GREATER -> comparison > 0;
+                case GREATER_OR_EQUAL -> comparison >= 0;
+            };
+        }
+    }
+
+    /**
+     * A recursive descent parser compiling an expression into nodes.
+     */
+    private static final class Parser {
+        private enum Kind { WORD, STRING, OPERATOR, OPEN, CLOSE, COMMA, END }
+
+        private record Token(Kind kind, String text, int position) {
+            private boolean isKeyword(String keyword) {
+                return kind == Kind.WORD && text.equalsIgnoreCase(keyword);
+            }
+        }
+
+        private final String expression;
+        private final List<Token> tokens;
+        private int next;
+
+        private Parser(String expression) {
+            this.expression = expression;
+            this.tokens = tokenize(expression);
+        }
+
+        private Node parse() {
+            Node node = or();
+            expect(peek().kind() == Kind.END, "end of expression");
+            return node;
+        }
+
+        private Node or() {
+            Node left = and();
+            while (peek().isKeyword("OR")) {
+                next++;
+                Node a = left;
+                Node b = and();
+                left = fields -> a.test(fields) || b.test(fields);
+            }
+            return left;
+        }
+
+        private Node and() {
+            Node left = unary();
+            while (peek().isKeyword("AND")) {
+                next++;
+                Node a = left;
+                Node b = unary();
+                left = fields -> a.test(fields) && b.test(fields);
+            }
+            return left;
+        }
+
+        private Node unary() {
+            Token token = peek();
+            if (token.isKeyword("NOT")) {
+                next++;
+                Node node = unary();
+                return fields -> !node.test(fields);
+            }
+            if (token.kind() == Kind.OPEN) {
+                next++;
+                Node node = or();
+                expect(take().kind() == Kind.CLOSE, "')'");
+                return node;
+            }
+            return condition();
+        }
+
+        private Node condition() {
+            Token fieldToken = take();
+            expect(fieldToken.kind() == Kind.WORD && !isReserved(fieldToken), "field name");
+            String field = fieldToken.text();
+            boolean isLevel = "level".equals(field);
+            Token token = peek();
+
+            if (token.isKeyword("CONTAINS")) {
+                next++;
+                boolean all = false;
+                if (peek().isKeyword("ALL") || peek().isKeyword("ANY")) {
+                    all = take().isKeyword("ALL");
+                }
+                List<String> terms = peek().kind() == Kind.OPEN ? list() : List.of(value());
+                return contains(field, TermMatcher.of(terms), all);
+            }
+            expect(!EVENT_FIELD.equals(field), "CONTAINS after \"event\"");
+
+            boolean negated = false;
+            if (token.isKeyword("NOT")) {
+                next++;
+                negated = true;
+                expect(peek().isKeyword("IN"), "IN");
+            }
+            if (peek().isKeyword("IN")) {
+                next++;
+                Set<String> values = new HashSet<>();
+                for (String value : list()) {
+                    values.add(isLevel ? value.toUpperCase(Locale.ROOT) : value);
+                }
+                boolean in = !negated;
+                return fields -> {
+                    String value = fields.get(field);
+                    if (value == null) {
+                        return !in;
+                    }
+                    return values.contains(isLevel ? value.toUpperCase(Locale.ROOT) : value) == in;
+                };
+            }
+
+            Token operatorToken = take();
+            expect(operatorToken.kind() == Kind.OPERATOR, "operator");
+            if ("~".equals(operatorToken.text())) {
+                Pattern pattern = Pattern.compile(value());
+                return fields -> {
+                    String value = fields.get(field);
+                    return value != null && pattern.matcher(value).find();
+                };
+            }
+            Operator operator = Operator.of(operatorToken.text());
+            int literalPosition = peek().position();
+            String literal = value();
+            if (isLevel) {
+                if (operator != Operator.EQUAL && operator != Operator.NOT_EQUAL && !EventLevel.isKnown(literal)) {
+                    throw new IllegalArgumentException("Unknown level '" + literal + "' at position "
+                            + literalPosition);
+                }
+                return levelComparison(operator, literal);
+            }
+            Double number = parseNumber(literal);
+            return fields -> {
+                String value = fields.get(field);
+                if (value == null) {
+                    return operator == Operator.NOT_EQUAL;
+                }
+                if (operator == Operator.EQUAL || operator == Operator.NOT_EQUAL) {
+                    return operator.test(value.equals(literal) ? 0 : 1);
+                }
+                Double valueNumber = number != null ? parseNumber(value) : null;
+                return operator.test(valueNumber != null ? Double.compare(valueNumber, number)
+                        : value.compareTo(literal));
+            };
+        }
+
+        private static Node contains(String field, TermMatcher terms, boolean all) {
+            if (EVENT_FIELD.equals(field)) {
+                return all ? fields -> fields.containsAll(terms) : fields -> fields.containsAny(terms);
+            }
+            if (all) {
+                return fields -> {
+                    String value = fields.get(field);
+                    return value != null && terms.collect(value, new BitSet(terms.getTerms().size()));
+                };
+            }
+            return fields -> terms.containsAny(fields.get(field));
+        }
+
+        /**
+         * Compares levels by severity; equality is the equality of the names, so custom levels are only equal to
+         * themselves.
+         */
+        private static Node levelComparison(Operator operator, String literal) {
+            EventLevel level = EventLevel.of(literal);
+            return fields -> {
+                String value = fields.get("level");
+                if (value == null) {
+                    return operator == Operator.NOT_EQUAL;
+                }
+                if (operator == Operator.EQUAL || operator == Operator.NOT_EQUAL) {
+                    return operator.test(value.equalsIgnoreCase(literal) ? 0 : 1);
+                }
+                return operator.test(EventLevel.of(value).compareTo(level));
+            };
+        }
+
+        private static Double parseNumber(String text) {
+            if (text.isEmpty() || !(Character.isDigit(text.charAt(0)) || text.charAt(0) == '-')) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private List<String> list() {
+            expect(take().kind() == Kind.OPEN, "'('");
+            List<String> values = new ArrayList<>();
+            values.add(value());
+            while (peek().kind() == Kind.COMMA) {
+                next++;
+                values.add(value());
+            }
+            expect(take().kind() == Kind.CLOSE, "')'");
+            return values;
+        }
+
+        private String value() {
+            Token token = take();
+            expect(token.kind() == Kind.STRING || (token.kind() == Kind.WORD && !isReserved(token)), "value");
+            return token.text();
+        }
+
+        private static boolean isReserved(Token token) {
+            for (String keyword : new String[]{"AND", "OR", "NOT", "IN", "CONTAINS"}) {
+                if (token.isKeyword(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Token peek() {
+            return tokens.get(next);
+        }
+
+        private Token take() {
+            Token token = tokens.get(next);
+            if (token.kind() != Kind.END) {
+                next++;
+            }
+            return token;
+        }
+
+        private void expect(boolean condition, String expected) {
+            if (!condition) {
+                Token token = tokens.get(Math.max(0, next - 1));
+                throw new IllegalArgumentException("Expected " + expected + " at position " + token.position()
+                        + " of the filter expression: " + expression);
+            }
+        }
+
+        private static List<Token> tokenize(String expression) {
+            List<Token> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < expression.length()) {
+                char c = expression.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(') {
+                    tokens.add(new Token(Kind.OPEN, "(", i++));
+                } else if (c == ')') {
+                    tokens.add(new Token(Kind.CLOSE, ")", i++));
+                } else if (c == ',') {
+                    tokens.add(new Token(Kind.COMMA, ",", i++));
+                } else if (c == '"' || c == '\'') {
+                    StringBuilder text = new StringBuilder();
+                    int start = i++;
+                    while (i < expression.length() && expression.charAt(i) != c) {
+                        char ch = expression.charAt(i++);
+                        if (ch == '\\' && i < expression.length()) {
+                            char escaped = expression.charAt(i++);
+                            // Escapes other than quotes and backslashes are kept for regular expressions.
+                            if (escaped != c && escaped != '\\') {
+                                text.append('\\');
+                            }
+                            ch = escaped;
+                        }
+                        text.append(ch);
+                    }
+                    if (i >= expression.length()) {
+                        throw new IllegalArgumentException("Unterminated string at position " + start
+                                + " of the filter expression: " + expression);
+                    }
+                    i++;
+                    tokens.add(new Token(Kind.STRING, text.toString(), start));
+                } else if ("=!<>~".indexOf(c) >= 0) {
+                    int start = i++;
+                    if (i < expression.length() && expression.charAt(i) == '=' && c != '=' && c != '~') {
+                        i++;
+                    }
+                    String operator = expression.substring(start, i);
+                    if (operator.equals("!")) {
+                        throw new IllegalArgumentException("Unknown operator '!' at position " + start
+                                + " of the filter expression: " + expression);
+                    }
+                    tokens.add(new Token(Kind.OPERATOR, operator, start));
+                } else {
+                    int start = i;
+                    while (i < expression.length() && !Character.isWhitespace(expression.charAt(i))
+                            && "()\",'=!<>~".indexOf(expression.charAt(i)) < 0) {
+                        i++;
+                    }
+                    tokens.add(new Token(Kind.WORD, expression.substring(start, i), start));
+                }
+            }
+            tokens.add(new Token(Kind.END, "", expression.length()));
+            return tokens;
+        }
+    }
+}
@@ -1,40 +1,95 @@
 package com.github.eventmanager.processors;
 
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+
 import java.util.List;
 
 /**
  * The FilterProcessor class is responsible for filtering out events based on a specified term.
  *
- * <p>It filters out events that do not contain the specified term.</p>
+ * <p>It filters out events that contain all of the specified terms, or events that match a
+ * {@link FilterExpression}, e.g. {@code level <= DEBUG AND className ~ "^com\\.example\\.noisy\\."}.</p>
  */
-public class FilterProcessor implements Processor {
-    private final List<String> termToFilter;
+public class FilterProcessor implements LogEventProcessor {
+    private final FilterExpression expression;
+    /**
+     * True if the terms are searched in the serialized event rather than in its parts.
+     */
+    private final boolean matchesSerializedEvent;
 
+    /**
+     * Creates a FilterProcessor which discards events containing all of the terms.
+     *
+     * <p>The terms are searched in the event as it is written, including the timestamp and the field names and
+     * quotes of the event format, so terms like {@code level="DEBUG"} or {@code "user":"admin"} match. The event is
+     * serialized for the search; expressions testing single fields, like {@code user = admin}, avoid that.
+     *
+     * @param termToFilter the terms, searched in the serialized event.
+     */
     public FilterProcessor(List<String> termToFilter) {
-        this.termToFilter = termToFilter;
+        this.expression = FilterExpression.containsAll(termToFilter != null ? termToFilter : List.of());
+        this.matchesSerializedEvent = true;
+    }
+
+    /**
+     * Creates a FilterProcessor which discards events matching the expression.
+     *
+     * @param expression the filter expression, see {@link FilterExpression}.
+     * @throws IllegalArgumentException if the expression is not valid.
+     */
+    public FilterProcessor(String expression) {
+        this.expression = FilterExpression.compile(expression);
+        this.matchesSerializedEvent = false;
+    }
+
+    /**
+     * Gets the expression deciding which events are discarded.
+     *
+     * @return the compiled expression.
+     */
+    public FilterExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Discards the event if it matches the expression.
+     *
+     * @param event  the event to filter.
+     * @param format the event format, not used.
+     * @return the event, or null if it is filtered out.
+     */
+    @Override
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        return expression.matches(event) ? null : event;
+    }
+
+    /**
+     * Checks whether the processor works on structured events.
+     *
+     * @return false for a term list, which is searched in the serialized event, true for an expression.
+     */
+    @Override
+    public boolean processesStructuredEvents() {
+        return !matchesSerializedEvent;
     }
 
     @Override
     public String processKV(String event) {
-        return getEvent(event);
+        return getEvent(event, EventFormatter.KEY_VALUE);
     }
 
 
     @Override
     public String processJSON(String event) {
-        return getEvent(event);
+        return getEvent(event, EventFormatter.JSON);
     }
 
     @Override
     public String processXML(String event) {
-        return getEvent(event);
-    }
-    private String getEvent(String event) {
-        for (String term : termToFilter) {
-            if (!event.contains(term)) {
-                return event;
-            }
-        }
-        return "";
+        return getEvent(event, EventFormatter.XML);
+    }
+    private String getEvent(String event, EventFormatter format) {
+        return expression.matches(event, format) ? "" : event;
     }
 }
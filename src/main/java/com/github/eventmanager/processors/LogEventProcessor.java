@@ -0,0 +1,35 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+
+/**
+ * A {@link Processor} that works on structured events instead of serialized strings.
+ * <p>
+ * Processors implementing this interface read and modify the fields of a {@link LogEvent} directly, so events do not
+ * have to be serialized, parsed and serialized again for every processor. Events that were already serialized, like
+ * the output of an {@link com.github.eventmanager.formatters.EventCreator}, are still passed to the string methods of
+ * {@link Processor}.
+ */
+public interface LogEventProcessor extends Processor {
+    /**
+     * Processes a structured event.
+     *
+     * @param event  the event to process.
+     * @param format the event format the event will be serialized to, for message text in that format.
+     * @return the processed event, or null if the event should be discarded.
+     */
+    LogEvent process(LogEvent event, EventFormatter format);
+
+    /**
+     * Checks whether the processor works on structured events. A processor that needs the event exactly as it is
+     * written, e.g. to search the serialized text, returns false and receives the serialized event through the
+     * string methods of {@link Processor} instead; like other string processors, it is then left out for the
+     * default and CSV formats.
+     *
+     * @return true to receive structured events through {@link #process(LogEvent, EventFormatter)}.
+     */
+    default boolean processesStructuredEvents() {
+        return true;
+    }
+}
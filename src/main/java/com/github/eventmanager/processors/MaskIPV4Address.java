@@ -1,22 +1,70 @@
 package com.github.eventmanager.processors;
 
-import java.net.InetAddress;
-import java.net.UnknownHostException;
-import java.util.ArrayList;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import com.github.eventmanager.internal.CidrTrie;
+
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * The MaskIPV4Address class implements the Processor interface and provides methods to mask IPv4 addresses in
- * different event formats (KV, JSON, XML). The class also provides methods to check if an IP address is in a CIDR
- * range and to convert an IP address to a long value. The class uses a list of CIDR ranges to mask the IP addresses.
+ * different event formats (KV, JSON, XML). The class also provides a method to check if an IP address is in a CIDR
+ * range. The class uses a list of CIDR ranges to mask the IP addresses.
+ * <p>
+ * The ranges are compiled into a {@link CidrTrie} when the processor is created, so checking an address takes the
+ * same time for one range as for thousands. IPv6 ranges are supported as well; IPv6 addresses in them are masked
+ * group by group.
  */
-public class MaskIPV4Address implements Processor {
-    private List<String> ipAddressRanges;
+public class MaskIPV4Address implements MaskingProcessor {
+    private static final String MASK = "***.***.***.***";
+    private static final String IPV6_MASK = "****:****:****:****:****:****:****:****";
+
+    private final CidrTrie ipAddressRanges;
+    private final MaskingEngine engine;
 
     public MaskIPV4Address(List<String> ipAddressRanges) {
-        this.ipAddressRanges = ipAddressRanges != null ? ipAddressRanges : new ArrayList<>();
+        this.ipAddressRanges = CidrTrie.of(ipAddressRanges);
+        this.engine = MaskingEngine.of(List.of(new MaskingEngine.Rule("ip", this::maskIp)));
+    }
+
+    /**
+     * Masks the value of every "ip" field and any IPv4 address field in the message text that matches the CIDR
+     * ranges.
+     *
+     * @param event  the event to process.
+     * @param format the event format, used to find IPv4 addresses in the message text.
+     * @return the event with masked IPv4 addresses.
+     */
+    @Override
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        return engine.maskMessage(maskFields(event), format);
+    }
+
+    @Override
+    public MaskingEngine maskingEngine() {
+        return engine;
+    }
+
+    /**
+     * Masks the value of every "ip" field that matches the CIDR ranges.
+     */
+    @Override
+    public LogEvent maskFields(LogEvent event) {
+        KeyValueWrapper[] fields = event.getFields();
+        KeyValueWrapper[] maskedFields = null;
+        for (int i = 0; i < fields.length; i++) {
+            if ("ip".equals(fields[i].getKey())) {
+                String masked = maskIp(fields[i].getValue());
+                if (masked != null) {
+                    if (maskedFields == null) {
+                        maskedFields = fields.clone();
+                    }
+                    maskedFields[i] = new KeyValueWrapper("ip", masked);
+                }
+            }
+        }
+        return maskedFields != null ? event.withFields(maskedFields) : event;
     }
 
     /**
@@ -27,7 +75,7 @@ public class MaskIPV4Address implements Processor {
      */
     @Override
     public String processKV(String event) {
-        return maskIpInEvent(event, "ip=\"(\\d+\\.\\d+\\.\\d+\\.\\d+)\"");
+        return engine.mask(event, EventFormatter.KEY_VALUE);
     }
 
     /**
@@ -38,7 +86,7 @@ public class MaskIPV4Address implements Processor {
      */
     @Override
     public String processJSON(String event) {
-        return maskIpInEvent(event, "\"ip\":\\s+\"(\\d+\\.\\d+\\.\\d+\\.\\d+)\"");
+        return engine.mask(event, EventFormatter.JSON);
     }
 
     /**
@@ -49,45 +97,20 @@ public class MaskIPV4Address implements Processor {
      */
     @Override
     public String processXML(String event) {
-        return maskIpInEvent(event, "<ip>(\\d+\\.\\d+\\.\\d+\\.\\d+)</ip>");
-    }
-
-    /**
-     * Masks IPv4 addresses in the event string that match the given regular expression.
-     *
-     * @param event the event string.
-     * @param regex the regular expression to find IPv4 addresses.
-     * @return the event string with masked IPv4 addresses.
-     */
-    private String maskIpInEvent(String event, String regex) {
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(event);
-        StringBuffer maskedEvent = new StringBuffer();
-
-        // Iterate through all matches and mask the IP addresses
-        while (matcher.find()) {
-            String ip = matcher.group(1);
-            if (isIpInAnyCidrRange(ip)) {
-                matcher.appendReplacement(maskedEvent, matcher.group().replace(ip, "***.***.***.***"));
-            }
-        }
-        matcher.appendTail(maskedEvent);
-        return maskedEvent.toString();
+        return engine.mask(event, EventFormatter.XML);
     }
 
     /**
-     * Checks if the given IP address is in any of the CIDR ranges.
+     * Masks an IP address that matches the CIDR ranges.
      *
-     * @param ip the IP address to check.
-     * @return true if the IP address is in any of the CIDR ranges, false otherwise.
+     * @param ip the value of an "ip" field, may be null.
+     * @return the masked address, or null if the value is not an IP address in the CIDR ranges.
      */
-    private boolean isIpInAnyCidrRange(String ip) {
-        for (String cidr : ipAddressRanges) {
-            if (isIpInCidr(ip, cidr)) {
-                return true;
-            }
+    private String maskIp(String ip) {
+        if (!ipAddressRanges.contains(ip)) {
+            return null;
         }
-        return false;
+        return ip.indexOf(':') >= 0 ? IPV6_MASK : MASK;
     }
 
     /**
@@ -98,38 +121,6 @@ public class MaskIPV4Address implements Processor {
      * @return true if the IP address is in the CIDR range, false otherwise.
      */
     public static boolean isIpInCidr(String ip, String cidr) {
-        try {
-            String[] parts = cidr.split("/");
-            String networkIp = parts[0];
-            int prefix = Integer.parseInt(parts[1]);
-
-            long ipValue = ipToLong(ip);
-            long networkValue = ipToLong(networkIp);
-
-            // Create the subnet mask
-            long mask = (0xFFFFFFFFL << (32 - prefix)) & 0xFFFFFFFFL;
-
-            // Check if the IP address is in the subnet
-            return (ipValue & mask) == (networkValue & mask);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    /**
-     * Converts an IPv4 address to a long value.
-     *
-     * @param ip the IPv4 address to convert.
-     * @return the long value of the IPv4 address.
-     * @throws UnknownHostException if the IP address is invalid.
-     */
-    private static long ipToLong(String ip) throws UnknownHostException {
-        InetAddress inetAddress = InetAddress.getByName(ip);
-        byte[] bytes = inetAddress.getAddress();
-        return ((bytes[0] & 0xFFL) << 24) |
-                ((bytes[1] & 0xFFL) << 16) |
-                ((bytes[2] & 0xFFL) << 8)  |
-                (bytes[3] & 0xFFL);
+        return cidr != null && CidrTrie.of(List.of(cidr)).contains(ip);
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,68 @@
 package com.github.eventmanager.processors;
 
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+
+import java.util.List;
+
 /**
  * The MaskPasswords class is responsible for masking passwords in event data.
+ * <p>
+ * The "password" fields of the event text are found and masked by a {@link MaskingEngine} in a single scan.
  * */
-public class MaskPasswords implements Processor {
+public class MaskPasswords implements MaskingProcessor {
+    private static final String MASK = "***";
+    private static final MaskingEngine ENGINE = MaskingEngine.of(List.of(
+            new MaskingEngine.Rule("password", value -> value.isEmpty() ? null : MASK, true)));
+
+    /**
+     * Masks the value of every "password" field and any password in the message text.
+     *
+     * @param event  the event to process.
+     * @param format the event format, used to find passwords in the message text.
+     * @return the event with masked passwords.
+     */
+    @Override
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        return ENGINE.maskMessage(maskFields(event), format);
+    }
+
+    @Override
+    public MaskingEngine maskingEngine() {
+        return ENGINE;
+    }
+
+    /**
+     * Masks the value of every "password" field.
+     */
+    @Override
+    public LogEvent maskFields(LogEvent event) {
+        KeyValueWrapper[] fields = event.getFields();
+        KeyValueWrapper[] maskedFields = null;
+        for (int i = 0; i < fields.length; i++) {
+            if ("password".equals(fields[i].getKey())) {
+                if (maskedFields == null) {
+                    maskedFields = fields.clone();
+                }
+                maskedFields[i] = new KeyValueWrapper("password", MASK);
+            }
+        }
+        return maskedFields != null ? event.withFields(maskedFields) : event;
+    }
+
     @Override
     public String processKV(String event) {
-        return event.replaceAll("password=\"\\w+\"", "password=***");
+        return ENGINE.mask(event, EventFormatter.KEY_VALUE);
     }
 
     @Override
     public String processJSON(String event) {
-        return event.replaceAll("\"password\":\\s+\"\\w+\"", "\"password\": \"***\"");
+        return ENGINE.mask(event, EventFormatter.JSON);
     }
 
     @Override
     public String processXML(String event) {
-        return event.replaceAll("<password>\\w+</password>", "<password>***</password>");
+        return ENGINE.mask(event, EventFormatter.XML);
     }
 }
@@ -0,0 +1,269 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+
+import com.github.eventmanager.internal.TermMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The MaskingEngine class rewrites the values of named fields in serialized events with a single scan.
+ *
+ * <p>All rules are compiled into one {@link TermMatcher} per event format that recognizes the start of every field they
+ * apply to, e.g. {@code password="} in the key-value format, {@code "password":} in JSON and {@code <password>} in
+ * XML. The event is read once, character by character; whenever a field starts, its value is cut out and handed to
+ * the rules of that field in the order they were added. So an event costs one pass no matter how many rules are
+ * configured, and events without any of the fields are returned as they are, without copying.
+ *
+ * <p>Engines are immutable. Engines of several processors can be combined into one, so consecutive masking
+ * processors scan an event only once as well.
+ */
+public final class MaskingEngine {
+    /**
+     * A rule rewriting the values of one field.
+     *
+     * @param fieldName the name of the field.
+     * @param rewriter  returns the new value of the field, or null to leave the value as it is.
+     * @param unquoted  true to write a rewritten key-value field without quotes, e.g. {@code password=***}.
+     */
+    public record Rule(String fieldName, UnaryOperator<String> rewriter, boolean unquoted) {
+        /**
+         * Creates a rule which keeps the quotes of key-value fields.
+         *
+         * @param fieldName the name of the field.
+         * @param rewriter  returns the new value of the field, or null to leave the value as it is.
+         */
+        public Rule(String fieldName, UnaryOperator<String> rewriter) {
+            this(fieldName, rewriter, false);
+        }
+    }
+
+    private static final MaskingEngine EMPTY = new MaskingEngine(List.of());
+
+    private final List<Rule> rules;
+    private final Automaton keyValue;
+    private final Automaton json;
+    private final Automaton xml;
+
+    private MaskingEngine(List<Rule> rules) {
+        this.rules = rules;
+        this.keyValue = rules.isEmpty() ? null : new Automaton(rules, EventFormatter.KEY_VALUE);
+        this.json = rules.isEmpty() ? null : new Automaton(rules, EventFormatter.JSON);
+        this.xml = rules.isEmpty() ? null : new Automaton(rules, EventFormatter.XML);
+    }
+
+    /**
+     * Compiles the rules into an engine.
+     *
+     * @param rules the rules, in the order they are applied to a value.
+     * @return the engine.
+     */
+    public static MaskingEngine of(List<Rule> rules) {
+        return rules == null || rules.isEmpty() ? EMPTY : new MaskingEngine(List.copyOf(rules));
+    }
+
+    /**
+     * Combines the rules of several engines into one engine.
+     *
+     * @param engines the engines, in the order their rules are applied.
+     * @return the engine applying the rules of all engines.
+     */
+    public static MaskingEngine combine(List<MaskingEngine> engines) {
+        List<Rule> rules = new ArrayList<>();
+        for (MaskingEngine engine : engines) {
+            rules.addAll(engine.rules);
+        }
+        return of(rules);
+    }
+
+    /**
+     * Gets the rules of the engine.
+     *
+     * @return the rules, in the order they are applied.
+     */
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Rewrites the fields of a serialized event.
+     *
+     * @param text   the serialized event.
+     * @param format the format of the event; formats other than JSON and XML are read as key-value pairs.
+     * @return the rewritten event, or the text itself if no rule applied.
+     */
+    public String mask(String text, EventFormatter format) {
+        if (text == null || rules.isEmpty()) {
+            return text;
+        }
+        return switch (format) {
+            case JSON -> json.mask(text);
+            case XML -> xml.mask(text);
+            default -> keyValue.mask(text);
+        };
+    }
+
+    /**
+     * Rewrites the fields contained in the message text of a structured event.
+     *
+     * @param event  the event.
+     * @param format the event format the message text is written in.
+     * @return the event with the rewritten message, or the event itself if no rule applied.
+     */
+    public LogEvent maskMessage(LogEvent event, EventFormatter format) {
+        String message = event.getMessage();
+        String masked = mask(message, format);
+        return masked == message ? event : event.withMessage(masked);
+    }
+
+    /**
+     * The start of all fields in one event format, matched by a {@link TermMatcher}.
+     */
+    private static final class Automaton {
+        private final EventFormatter format;
+        private final TermMatcher matcher;
+        /**
+         * The rules of all fields whose start is a term, by term index.
+         */
+        private final Rule[][] outputs;
+        /**
+         * The name of the field of every term, used for the closing XML tag.
+         */
+        private final String[] names;
+
+        private Automaton(List<Rule> rules, EventFormatter format) {
+            this.format = format;
+            // One term per field name; the rules of a field are applied in the order they were added.
+            Map<String, List<Rule>> rulesByName = new LinkedHashMap<>();
+            for (Rule rule : rules) {
+                rulesByName.computeIfAbsent(rule.fieldName(), name -> new ArrayList<>()).add(rule);
+            }
+            List<String> tokens = new ArrayList<>(rulesByName.size());
+            this.outputs = new Rule[rulesByName.size()][];
+            this.names = new String[rulesByName.size()];
+            int index = 0;
+            for (Map.Entry<String, List<Rule>> entry : rulesByName.entrySet()) {
+                tokens.add(token(entry.getKey(), format));
+                outputs[index] = entry.getValue().toArray(new Rule[0]);
+                names[index++] = entry.getKey();
+            }
+            this.matcher = TermMatcher.of(tokens);
+        }
+
+        private static String token(String fieldName, EventFormatter format) {
+            return switch (format) {
+                case JSON -> "\"" + fieldName + "\":";
+                case XML -> "<" + fieldName + ">";
+                default -> fieldName + "=\"";
+            };
+        }
+
+        private String mask(String text) {
+            StringBuilder builder = null;
+            int copied = 0;
+            int state = 0;
+            int length = text.length();
+            int i = 0;
+            while (i < length) {
+                state = matcher.next(state, text.charAt(i));
+                i++;
+                int[] terms = matcher.terms(state);
+                if (terms.length == 0) {
+                    continue;
+                }
+                // In the key-value format a field name can end with another one, e.g. "clientip" and "ip", and the
+                // value belongs to both; in XML and JSON only one field can start at a position.
+                int valueStart = valueStart(text, i);
+                int valueEnd = valueStart < 0 ? -1 : valueEnd(text, valueStart, names[terms[0]]);
+                if (valueEnd < 0) {
+                    continue;
+                }
+                String value = text.substring(valueStart, valueEnd);
+                String rewritten = value;
+                boolean unquoted = false;
+                for (int term : terms) {
+                    for (Rule rule : outputs[term]) {
+                        String result = rule.rewriter().apply(rewritten);
+                        if (result != null) {
+                            rewritten = result;
+                            unquoted |= rule.unquoted();
+                        }
+                    }
+                }
+                if (rewritten == value) {
+                    continue;
+                }
+                if (builder == null) {
+                    builder = new StringBuilder(length + 16);
+                }
+                if (unquoted && format == EventFormatter.KEY_VALUE) {
+                    builder.append(text, copied, valueStart - 1).append(rewritten);
+                    copied = valueEnd + 1;
+                } else {
+                    builder.append(text, copied, valueStart).append(rewritten);
+                    copied = valueEnd;
+                }
+                i = copied;
+                state = 0;
+            }
+            if (builder == null) {
+                return text;
+            }
+            return builder.append(text, copied, length).toString();
+        }
+
+        /**
+         * Finds the first character of the value of a field.
+         *
+         * @param text  the serialized event.
+         * @param start the index after the start of the field.
+         * @return the index of the value, or -1 if the field has no value that can be rewritten.
+         */
+        private int valueStart(String text, int start) {
+            if (format != EventFormatter.JSON) {
+                return start;
+            }
+            int i = start;
+            while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            return i < text.length() && text.charAt(i) == '"' ? i + 1 : -1;
+        }
+
+        /**
+         * Finds the end of the value of a field.
+         *
+         * @param text      the serialized event.
+         * @param start     the index of the value.
+         * @param fieldName the name of the field, for the closing XML tag.
+         * @return the index after the value, or -1 if the value is not closed.
+         */
+        private int valueEnd(String text, int start, String fieldName) {
+            switch (format) {
+                case JSON -> {
+                    for (int i = start; i < text.length(); i++) {
+                        char c = text.charAt(i);
+                        if (c == '\\') {
+                            i++;
+                        } else if (c == '"') {
+                            return i;
+                        }
+                    }
+                    return -1;
+                }
+                case XML -> {
+                    int end = text.indexOf('<', start);
+                    return end >= 0 && text.startsWith("</" + fieldName + ">", end) ? end : -1;
+                }
+                default -> {
+                    return text.indexOf('"', start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+
+/**
+ * A {@link LogEventProcessor} that rewrites the values of named fields with a {@link MaskingEngine}.
+ * <p>
+ * Masking processors separate the fields of a structured event from the fields written in its message text, so the
+ * event manager can merge the engines of consecutive masking processors and scan every message only once.
+ */
+public interface MaskingProcessor extends LogEventProcessor {
+    /**
+     * Gets the engine rewriting the fields written in serialized events and message texts.
+     *
+     * @return the current engine of the processor.
+     */
+    MaskingEngine maskingEngine();
+
+    /**
+     * Rewrites the fields, level, location or message of a structured event, but not the fields written in its
+     * message text.
+     *
+     * @param event the event to process.
+     * @return the processed event.
+     */
+    LogEvent maskFields(LogEvent event);
+}
@@ -2,6 +2,11 @@ package com.github.eventmanager.processors;
 
 /**
  * The Processor interface provides methods to process events in different formats (KV, JSON, XML).
+ *
+ * <p>With more than one processing worker, a processor is called by several threads at the same time, so
+ * implementations must be thread-safe. All processors of this package are: their settings are immutable after
+ * construction, and the ones keeping state, like the sampling, rate-limiting and deduplicating processors, keep it
+ * in concurrent or synchronized structures.
  * */
 public interface Processor {
     /**
@@ -0,0 +1,273 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The RateLimitProcessor class limits the number of events per second with token buckets.
+ *
+ * <p>Every key has a bucket of its own, so a chatty debug loop only exhausts its own bucket while rare events keep
+ * passing. Events are keyed by their level, by their call site or by the value of a field. The rate can be set per
+ * level; a rate of 0 or less disables the limit for that level. Buckets are always kept per level as well, so events
+ * of different levels sharing a call site or field value are limited with the rate of their own level.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the next event (the generic
+ * cell rate algorithm, which behaves like a token bucket), so taking a token is one compare-and-set without locks.
+ * The suppressed events are counted with striped {@link LongAdder}s. Every report interval, one event per key reports
+ * how many events were suppressed.
+ *
+ * <p>The number of buckets is bounded; events of keys beyond the limit share one bucket. Serialized events, like the
+ * output of an {@link com.github.eventmanager.formatters.EventCreator}, are passed on as they are.
+ * */
+public class RateLimitProcessor implements AggregatingProcessor {
+    /**
+     * The default number of events per second and key.
+     */
+    public static final double DEFAULT_RATE_PER_SECOND = 100;
+    /**
+     * The default interval in milliseconds between two reports of suppressed events.
+     */
+    public static final long DEFAULT_REPORT_INTERVAL_MILLIS = 10_000;
+    /**
+     * The maximum number of buckets.
+     */
+    static final int MAX_BUCKETS = 10_000;
+
+    private static final String OVERFLOW_KEY = "<other>";
+
+    /**
+     * What the buckets are keyed by.
+     */
+    public enum KeyType {
+        /**
+         * One bucket per level.
+         */
+        LEVEL,
+        /**
+         * One bucket per class, method and line that logged the event.
+         */
+        CALL_SITE,
+        /**
+         * One bucket per value of a field.
+         */
+        FIELD;
+
+        /**
+         * Returns the key type for the given configuration value.
+         *
+         * @param keyBy "level", "callSite" or "field".
+         * @return the key type, {@link #LEVEL} for unknown values.
+         */
+        public static KeyType of(String keyBy) {
+            if (keyBy == null) {
+                return LEVEL;
+            }
+            return switch (keyBy) {
+                case "callSite" -> CALL_SITE;
+                case "field" -> FIELD;
+                default -> LEVEL;
+            };
+        }
+
+        /**
+         * Gets the key of an event.
+         *
+         * @param event the event.
+         * @param field the field the event is keyed by if the key type is {@link #FIELD}.
+         * @return the key, which is only rendered to a string when suppressed events are reported.
+         */
+        BucketKey keyOf(LogEvent event, String field) {
+            String level = event.getLevel();
+            return switch (this) {
+                case LEVEL -> new BucketKey(level, null);
+                case CALL_SITE -> event.hasLocation()
+                        ? new BucketKey(level, new CallSite(event.getClassName(), event.getMethodName(),
+                                event.getLineNumber()))
+                        : new BucketKey(level, null);
+                case FIELD -> new BucketKey(level, String.valueOf(event.getField(field)));
+            };
+        }
+    }
+
+    /**
+     * The call site of an event.
+     */
+    private record CallSite(String className, String methodName, int lineNumber) {
+        @Override
+        public String toString() {
+            return className + "." + methodName + ":" + lineNumber;
+        }
+    }
+
+    /**
+     * The key of a bucket: the level of the event and what it is keyed by within the level, or null if it is only
+     * keyed by its level.
+     */
+    record BucketKey(String level, Object key) {
+        @Override
+        public String toString() {
+            return key != null ? key.toString() : String.valueOf(level);
+        }
+    }
+
+    /**
+     * The token bucket of a key.
+     */
+    private static final class Bucket {
+        /**
+         * The time in microseconds since the epoch at which the bucket is full again.
+         */
+        private final AtomicLong theoreticalArrival = new AtomicLong();
+        private final LongAdder suppressed = new LongAdder();
+        private final long intervalMicros;
+        private final long toleranceMicros;
+        private final String level;
+
+        private Bucket(double ratePerSecond, int burst, String level) {
+            this.intervalMicros = Math.max(1, (long) (1_000_000 / ratePerSecond));
+            this.toleranceMicros = intervalMicros * (Math.max(1, burst) - 1);
+            this.level = level;
+        }
+
+        /**
+         * Takes a token.
+         *
+         * @param nowMicros the current time in microseconds since the epoch.
+         * @return true if a token was available, false if the event is suppressed.
+         */
+        private boolean tryAcquire(long nowMicros) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long start = Math.max(arrival, nowMicros);
+                if (start - nowMicros > toleranceMicros) {
+                    suppressed.increment();
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, start + intervalMicros)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private final double ratePerSecond;
+    private final int burst;
+    private final KeyType keyType;
+    private final String field;
+    private final Map<String, Double> levelRates;
+    private final long reportIntervalMillis;
+    private final ConcurrentHashMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextReport = new AtomicLong();
+
+    public RateLimitProcessor() {
+        this(DEFAULT_RATE_PER_SECOND, 0, KeyType.LEVEL, null, null, DEFAULT_REPORT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Creates a RateLimitProcessor.
+     *
+     * @param ratePerSecond        the number of events per second and key.
+     * @param burst                the number of events that may pass at once after a quiet period, at least one;
+     *                             0 or less for one second worth of events.
+     * @param keyType              what the buckets are keyed by.
+     * @param field                the field the buckets are keyed by if the key type is {@link KeyType#FIELD}.
+     * @param levelRates           the rates of single levels overriding {@code ratePerSecond}, or null.
+     * @param reportIntervalMillis the interval in milliseconds between two reports of suppressed events.
+     */
+    public RateLimitProcessor(double ratePerSecond, int burst, KeyType keyType, String field,
+                              Map<String, ? extends Number> levelRates, long reportIntervalMillis) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.keyType = keyType != null ? keyType : KeyType.LEVEL;
+        this.field = field;
+        this.levelRates = new ConcurrentHashMap<>();
+        if (levelRates != null) {
+            levelRates.forEach((level, rate) -> this.levelRates.put(level, rate.doubleValue()));
+        }
+        this.reportIntervalMillis = reportIntervalMillis > 0 ? reportIntervalMillis : DEFAULT_REPORT_INTERVAL_MILLIS;
+    }
+
+    /**
+     * Passes the event on if its bucket has a token left.
+     *
+     * @param event  the event to process.
+     * @param format the event format, not used.
+     * @return the event, or null if it is suppressed.
+     */
+    @Override
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        double rate = rateOf(event.getLevel());
+        if (rate <= 0) {
+            return event;
+        }
+        Bucket bucket = bucketOf(keyType.keyOf(event, field), rate);
+        return bucket.tryAcquire(event.getTimestamp() * 1000) ? event : null;
+    }
+
+    /**
+     * Returns one event per key that suppressed events since the last report, once per report interval.
+     */
+    @Override
+    public List<LogEvent> flush(long now, boolean all) {
+        long next = nextReport.get();
+        if (!all && (now < next || !nextReport.compareAndSet(next, now + reportIntervalMillis))) {
+            return List.of();
+        }
+        List<LogEvent> reports = new ArrayList<>();
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            long suppressed = entry.getValue().suppressed.sumThenReset();
+            if (suppressed > 0) {
+                reports.add(new LogEvent(now, entry.getValue().level, null, null, -1,
+                        suppressed + " events suppressed", new KeyValueWrapper[]{
+                                new KeyValueWrapper("rateLimitKey", entry.getKey().toString()),
+                                new KeyValueWrapper("suppressed", String.valueOf(suppressed))}, null));
+            }
+        }
+        return reports;
+    }
+
+    @Override
+    public String processKV(String event) {
+        return event;
+    }
+
+    @Override
+    public String processJSON(String event) {
+        return event;
+    }
+
+    @Override
+    public String processXML(String event) {
+        return event;
+    }
+
+    private double rateOf(String level) {
+        if (level != null && !levelRates.isEmpty()) {
+            Double rate = levelRates.get(level);
+            if (rate != null) {
+                return rate;
+            }
+        }
+        return ratePerSecond;
+    }
+
+    private Bucket bucketOf(BucketKey key, double rate) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_BUCKETS) {
+            key = new BucketKey(key.level(), OVERFLOW_KEY);
+        }
+        int size = burst > 0 ? burst : (int) Math.max(1, Math.ceil(rate));
+        return buckets.computeIfAbsent(key, k -> new Bucket(rate, size, k.level()));
+    }
+}
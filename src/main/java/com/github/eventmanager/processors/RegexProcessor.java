@@ -1,68 +1,289 @@
 package com.github.eventmanager.processors;
 
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.config.RegexEntry;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * The RegexProcessor class is responsible for processing events using regular expressions. The class contains a list of
  * RegexEntry objects, each of which specifies a field name, a regular expression, and a replacement string. This
  * objects can be set in the configuration file or during runtime.
+ * <p>
+ * On structured events a rule applies to the field with the given name, or to the "level", "className",
+ * "methodName" and "message" of the event. The value must match the regular expression as a whole. Rules are also
+ * applied to the text of the message in the event format, so serialized events logged as a message are covered too.
+ * The "time" is serialized at the output stage and cannot be rewritten by a rule.
+ * <p>
+ * The rules are compiled when they are set: the regular expressions into patterns, and the field names into a
+ * {@link MaskingEngine} per event format, so the message text is scanned once for all rules. The compiled rules are
+ * replaced as a whole by {@link #setRegexEntries(List)}, so an event is processed either with the old or with the new
+ * rules, never a mix of both. Every rule counts its hits and estimates the time spent matching from a random sample
+ * of one in {@value #TIMING_SAMPLE} matches, see {@link #getRuleStatistics()}, to find rules which are expensive or
+ * never match. Sampling keeps the clock reads off most matches.
  */
-public class RegexProcessor implements Processor{
-    private List<RegexEntry> regexEntries;
+public class RegexProcessor implements MaskingProcessor {
+    /**
+     * The statistics of a rule.
+     *
+     * @param fieldName  the name of the field the rule applies to.
+     * @param regex      the regular expression of the rule.
+     * @param hits       the number of values the rule replaced.
+     * @param matchNanos the estimated cumulative time in nanoseconds spent matching values against the rule.
+     */
+    public record RuleStatistics(String fieldName, String regex, long hits, long matchNanos) {
+    }
+
+    /**
+     * One in this many matches is timed.
+     */
+    static final int TIMING_SAMPLE = 64;
+
+    /**
+     * A compiled rule.
+     */
+    private static final class CompiledRule {
+        private final String fieldName;
+        private final String regex;
+        private final Pattern pattern;
+        private final String replacement;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder matchNanos = new LongAdder();
+
+        private CompiledRule(RegexEntry regexEntry) {
+            this.fieldName = regexEntry.getFieldName();
+            this.regex = regexEntry.getRegex();
+            this.pattern = Pattern.compile(regex);
+            this.replacement = regexEntry.getReplacement();
+        }
+
+        /**
+         * Replaces the value if it matches the pattern as a whole.
+         *
+         * @param value the value, may be null.
+         * @return the replaced value, or the value itself if it does not match.
+         */
+        private String replace(String value) {
+            if (value == null) {
+                return null;
+            }
+            Matcher matcher = pattern.matcher(value);
+            boolean matches;
+            if (ThreadLocalRandom.current().nextInt(TIMING_SAMPLE) == 0) {
+                long start = System.nanoTime();
+                matches = matcher.matches();
+                matchNanos.add((System.nanoTime() - start) * TIMING_SAMPLE);
+            } else {
+                matches = matcher.matches();
+            }
+            if (!matches) {
+                return value;
+            }
+            hits.increment();
+            StringBuilder builder = new StringBuilder();
+            matcher.appendReplacement(builder, replacement);
+            matcher.appendTail(builder);
+            return builder.toString();
+        }
+    }
+
+    /**
+     * The rules as they were set, and compiled.
+     */
+    private record CompiledRules(List<RegexEntry> regexEntries, CompiledRule[] rules, MaskingEngine engine) {
+    }
+
+    private volatile CompiledRules compiledRules;
 
     public RegexProcessor(List<RegexEntry> regexEntries) {
-        this.regexEntries = regexEntries != null ? regexEntries : List.of();
+        this.compiledRules = compile(regexEntries);
+    }
+
+    /**
+     * Replaces the rules. The new rules are compiled before they replace the old ones, so the old rules stay in
+     * place if a regular expression is invalid.
+     *
+     * @param regexEntries the new rules.
+     * @throws java.util.regex.PatternSyntaxException if a regular expression is invalid.
+     */
+    public void setRegexEntries(List<RegexEntry> regexEntries) {
+        this.compiledRules = compile(regexEntries);
+    }
+
+    /**
+     * Gets the rules.
+     *
+     * @return the rules as they were set, as an unmodifiable list.
+     */
+    public List<RegexEntry> getRegexEntries() {
+        return compiledRules.regexEntries();
+    }
+
+    /**
+     * Gets the statistics of the current rules, counted since the rules were set.
+     *
+     * @return the statistics, in the order of the rules.
+     */
+    public List<RuleStatistics> getRuleStatistics() {
+        CompiledRule[] rules = compiledRules.rules();
+        List<RuleStatistics> statistics = new ArrayList<>(rules.length);
+        for (CompiledRule rule : rules) {
+            statistics.add(new RuleStatistics(rule.fieldName, rule.regex, rule.hits.sum(), rule.matchNanos.sum()));
+        }
+        return statistics;
+    }
+
+    private static CompiledRules compile(List<RegexEntry> regexEntries) {
+        List<RegexEntry> entries = regexEntries != null ? List.copyOf(regexEntries) : List.of();
+        CompiledRule[] rules = new CompiledRule[entries.size()];
+        List<MaskingEngine.Rule> engineRules = new ArrayList<>(rules.length);
+        for (int i = 0; i < rules.length; i++) {
+            CompiledRule rule = new CompiledRule(entries.get(i));
+            rules[i] = rule;
+            engineRules.add(new MaskingEngine.Rule(rule.fieldName, value -> {
+                String replaced = rule.replace(value);
+                return replaced != value ? replaced : null;
+            }));
+        }
+        return new CompiledRules(entries, rules, MaskingEngine.of(engineRules));
     }
 
     @Override
-    public String processKV(String event) {
-        return processEvent(event, "KV");
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        CompiledRules current = compiledRules;
+        return current.engine().maskMessage(maskFields(event, current.rules()), format);
     }
 
     @Override
-    public String processJSON(String event) {
-        //Replace all white spaces in the event
-        event = event.replaceAll("\\s+", "");
-        return processEvent(event, "JSON");
+    public MaskingEngine maskingEngine() {
+        return compiledRules.engine();
     }
 
+    /**
+     * Applies the rules to the fields, level, location and message of the event. The event is only copied if a rule
+     * replaces a value.
+     */
     @Override
-    public String processXML(String event) {
-        return processEvent(event, "XML");
+    public LogEvent maskFields(LogEvent event) {
+        return maskFields(event, compiledRules.rules());
+    }
+
+    private static LogEvent maskFields(LogEvent event, CompiledRule[] rules) {
+        for (CompiledRule rule : rules) {
+            switch (rule.fieldName) {
+                case "level" -> {
+                    String level = event.getLevel();
+                    String replaced = rule.replace(level);
+                    if (replaced != level) {
+                        event = event.withLevel(replaced);
+                    }
+                }
+                case "className" -> {
+                    String className = event.getClassName();
+                    String replaced = rule.replace(className);
+                    if (replaced != className) {
+                        event = event.withLocation(replaced, event.getMethodName(), event.getLineNumber());
+                    }
+                }
+                case "methodName" -> {
+                    String methodName = event.getMethodName();
+                    String replaced = rule.replace(methodName);
+                    if (replaced != methodName) {
+                        event = event.withLocation(event.getClassName(), replaced, event.getLineNumber());
+                    }
+                }
+                case "message" -> {
+                    String message = event.getMessage();
+                    String replaced = rule.replace(message);
+                    if (replaced != message) {
+                        event = event.withMessage(replaced);
+                    }
+                }
+                default -> event = replaceFields(event, rule);
+            }
+        }
+        return event;
     }
 
     /**
-     * Processes the specified event using the specified format.
+     * Replaces the values of all fields with the name of the rule that match its pattern.
      *
-     * @param event the event to process.
-     * @param format the format to use for processing the event.
-     * @return the processed event.
+     * @param event the event.
+     * @param rule the rule.
+     * @return the event with the replaced values.
      */
-    private String processEvent(String event, String format) {
-        for (RegexEntry regexEntry : regexEntries) {
-            String regex = processRegex(format, regexEntry.getFieldName(), regexEntry.getRegex());
-            String replacement = processRegex(format, regexEntry.getFieldName(), regexEntry.getReplacement());
-            event = event.replaceAll(regex, replacement);
+    private static LogEvent replaceFields(LogEvent event, CompiledRule rule) {
+        KeyValueWrapper[] fields = event.getFields();
+        KeyValueWrapper[] replacedFields = null;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getKey().equals(rule.fieldName)) {
+                String value = fields[i].getValue();
+                String replaced = rule.replace(value);
+                if (replaced != value) {
+                    if (replacedFields == null) {
+                        replacedFields = fields.clone();
+                    }
+                    replacedFields[i] = new KeyValueWrapper(rule.fieldName, replaced);
+                }
+            }
         }
-        return event;
+        return replacedFields != null ? event.withFields(replacedFields) : event;
+    }
+
+    @Override
+    public String processKV(String event) {
+        return compiledRules.engine().mask(event, EventFormatter.KEY_VALUE);
+    }
+
+    /**
+     * Removes the whitespace between the tokens of the JSON event, then applies the rules.
+     */
+    @Override
+    public String processJSON(String event) {
+        return compiledRules.engine().mask(stripJsonWhitespace(event), EventFormatter.JSON);
+    }
+
+    @Override
+    public String processXML(String event) {
+        return compiledRules.engine().mask(event, EventFormatter.XML);
     }
 
     /**
-     * Processes the specified value using the specified format.
+     * Removes the whitespace outside of string literals in one pass.
      *
-     * @param format the format to use for processing the value.
-     * @param fieldName the name of the field to process.
-     * @param value the value to process.
-     * @return the processed value.
+     * @param json the JSON text.
+     * @return the text without whitespace between its tokens, or the text itself if it has none.
      */
-    private String processRegex(String format, String fieldName, String value) {
-        return switch (format){
-          case "KV" -> fieldName+"=\""+ value+"\"";
-          case "JSON" -> "\""+ fieldName+ "\":\"" + value+"\"";
-          case "XML" -> "<"+ fieldName+">"+ value+"</"+ fieldName+">";
-          default -> "N\\A";
-        };
+    private static String stripJsonWhitespace(String json) {
+        StringBuilder builder = null;
+        boolean inString = false;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (!inString && Character.isWhitespace(c)) {
+                if (builder == null) {
+                    builder = new StringBuilder(json.length()).append(json, 0, i);
+                }
+                continue;
+            }
+            if (inString && c == '\\' && i + 1 < json.length()) {
+                if (builder != null) {
+                    builder.append(c);
+                }
+                c = json.charAt(++i);
+            } else if (c == '"') {
+                inString = !inString;
+            }
+            if (builder != null) {
+                builder.append(c);
+            }
+        }
+        return builder != null ? builder.toString() : json;
     }
 }
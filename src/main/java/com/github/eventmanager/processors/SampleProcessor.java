@@ -1,16 +1,148 @@
 package com.github.eventmanager.processors;
 
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SampleProcessor class passes on a sample of the events and discards the rest.
+ *
+ * <p>With a sample size of N, every N-th event is kept. With a target rate, the processor measures how many events
+ * arrive per second and keeps each event with the probability that brings the output down to the target rate; the
+ * probability is adjusted every second, so the processor keeps everything while the load is low and samples more
+ * aggressively as it rises. Rate-based sampling can be stratified: events are keyed by their level, call site or
+ * the value of a field, and every key gets the target rate as its own budget, so rare events are not crowded out by
+ * a flood of others.
+ *
+ * <p>With a target rate, kept events which stand for more than themselves carry the field "sampleWeight", the number
+ * of events they represent, so counts can be scaled back up downstream. Events kept with a sample size are passed on
+ * unchanged, as the weight is the configured sample size. Serialized events, like the output of an
+ * {@link com.github.eventmanager.formatters.EventCreator}, are sampled without a key and without a weight.
+ *
+ * <p>The number of keys with a budget of their own is bounded; events of keys beyond the limit share one budget.
+ */
+public class SampleProcessor implements LogEventProcessor {
+    /**
+     * The name of the field holding the sample weight.
+     */
+    public static final String SAMPLE_WEIGHT_FIELD = "sampleWeight";
+    /**
+     * The interval in milliseconds at which the sampling probability is adjusted.
+     */
+    static final long ADJUST_INTERVAL_MILLIS = 1000;
+    /**
+     * The weight of the newest measured rate in the smoothed rate.
+     */
+    private static final double SMOOTHING = 0.5;
+    /**
+     * The maximum number of keys with a budget of their own.
+     */
+    static final int MAX_STRATA = 10_000;
+
+    private static final String UNKEYED = "";
+    private static final String OVERFLOW_KEY = "<other>";
 
-public class SampleProcessor implements Processor {
-    private final AtomicInteger sampleSize = new AtomicInteger();
-    private final AtomicInteger sampleCount = new AtomicInteger();
+    /**
+     * The sampling state of one key.
+     */
+    private static final class Stratum {
+        private final AtomicLong windowStart = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder seen = new LongAdder();
+        /**
+         * The smoothed number of events per second, negative until the first window has ended.
+         */
+        private volatile double rate = -1;
+        private volatile double probability = 1;
 
+        /**
+         * Counts the event and decides whether it is kept.
+         *
+         * @param now        the time of the event in milliseconds since the epoch.
+         * @param targetRate the number of events per second to keep.
+         * @return the probability the event was kept with, or 0 if it is discarded.
+         */
+        private double sample(long now, double targetRate) {
+            long start = windowStart.get();
+            if (start == Long.MIN_VALUE) {
+                windowStart.compareAndSet(start, now);
+            } else if (now - start >= ADJUST_INTERVAL_MILLIS && windowStart.compareAndSet(start, now)) {
+                double measured = seen.sumThenReset() * 1000.0 / (now - start);
+                double smoothed = rate < 0 ? measured : SMOOTHING * measured + (1 - SMOOTHING) * rate;
+                rate = smoothed;
+                probability = smoothed <= targetRate ? 1 : targetRate / smoothed;
+            }
+            seen.increment();
+            double p = probability;
+            return p >= 1 || ThreadLocalRandom.current().nextDouble() < p ? p : 0;
+        }
+    }
+
+    private final int sampleSize;
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final double targetRate;
+    private final RateLimitProcessor.KeyType keyType;
+    private final String field;
+    private final ConcurrentHashMap<Object, Stratum> strata = new ConcurrentHashMap<>();
+    /**
+     * The number of keys with a budget of their own, not counting the shared budget of the overflow key.
+     */
+    private final AtomicInteger strataCount = new AtomicInteger();
+
+    /**
+     * Creates a SampleProcessor keeping every N-th event.
+     *
+     * @param sampleSize N; 1 or less keeps every event.
+     */
     public SampleProcessor(int sampleSize) {
-        // Constructor logic if needed
-        this.sampleSize.set(sampleSize-1);
-        this.sampleCount.set(0);
+        this.sampleSize = Math.max(1, sampleSize);
+        this.targetRate = 0;
+        this.keyType = null;
+        this.field = null;
     }
+
+    /**
+     * Creates a SampleProcessor keeping about the given number of events per second.
+     *
+     * @param targetRate the number of events per second to keep, per key if the events are keyed.
+     * @param keyType    what the budgets are keyed by, or null for one budget for all events.
+     * @param field      the field the budgets are keyed by if the key type is
+     *                   {@link RateLimitProcessor.KeyType#FIELD}.
+     */
+    public SampleProcessor(double targetRate, RateLimitProcessor.KeyType keyType, String field) {
+        if (targetRate <= 0) {
+            throw new IllegalArgumentException("The target rate must be greater than 0");
+        }
+        this.sampleSize = 1;
+        this.targetRate = targetRate;
+        this.keyType = keyType;
+        this.field = field;
+    }
+
+    /**
+     * Passes the event on if it is part of the sample, with its sample weight.
+     *
+     * @param event  the event to process.
+     * @param format the event format, not used.
+     * @return the event, or null if it is discarded.
+     */
+    @Override
+    public LogEvent process(LogEvent event, EventFormatter format) {
+        double probability = sample(keyOf(event), event.getTimestamp());
+        if (probability <= 0) {
+            return null;
+        }
+        if (probability >= 1) {
+            return event;
+        }
+        return event.withAddedFields(new KeyValueWrapper(SAMPLE_WEIGHT_FIELD, weight(probability)));
+    }
+
     @Override
     public String processKV(String event) {
         return processEvent(event);
@@ -27,14 +159,74 @@ public class SampleProcessor implements Processor {
     }
 
     private String processEvent(String event) {
-        if (sampleCount.get() < sampleSize.get()) {
-            sampleCount.incrementAndGet();
-            // Return the event
-            return "";
-        } else {
-            sampleCount.set(0);
-            // Discard the event
-            return event;
+        return sample(UNKEYED, System.currentTimeMillis()) > 0 ? event : "";
+    }
+
+    /**
+     * Gets the stratum key of an event. Unlike the buckets of the {@link RateLimitProcessor}, call sites and field
+     * values share one budget across levels.
+     */
+    private Object keyOf(LogEvent event) {
+        if (keyType == null) {
+            return UNKEYED;
+        }
+        RateLimitProcessor.BucketKey key = keyType.keyOf(event, field);
+        return key.key() != null ? key.key() : String.valueOf(key.level());
+    }
+
+    /**
+     * Decides whether an event is kept.
+     *
+     * @param key the key of the event.
+     * @param now the time of the event in milliseconds since the epoch.
+     * @return the probability the event was kept with, 1 for events kept with a sample size, or 0 if it is
+     * discarded.
+     */
+    private double sample(Object key, long now) {
+        if (targetRate <= 0) {
+            // Every N-th event; one atomic step, so concurrent callers cannot skip or repeat a count.
+            return sampleCount.getAndIncrement() % sampleSize == sampleSize - 1 ? 1 : 0;
+        }
+        return stratumOf(key).sample(now, targetRate);
+    }
+
+    /**
+     * Gets the stratum of a key. A slot is reserved inside {@code computeIfAbsent}, which runs once per new key, so
+     * concurrent callers cannot create more than {@link #MAX_STRATA} strata.
+     */
+    private Stratum stratumOf(Object key) {
+        Stratum stratum = strata.get(key);
+        if (stratum != null) {
+            return stratum;
+        }
+        stratum = strata.computeIfAbsent(key, k -> reserveStratum() ? new Stratum() : null);
+        return stratum != null ? stratum : strata.computeIfAbsent(OVERFLOW_KEY, k -> new Stratum());
+    }
+
+    private boolean reserveStratum() {
+        int count;
+        do {
+            count = strataCount.get();
+            if (count >= MAX_STRATA) {
+                return false;
+            }
+        } while (!strataCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Gets the number of strata, including the shared one of the overflow key.
+     */
+    int strataSize() {
+        return strata.size();
+    }
+
+    private static String weight(double probability) {
+        double weight = 1 / probability;
+        long rounded = Math.round(weight);
+        if (Math.abs(weight - rounded) < 1e-9) {
+            return String.valueOf(rounded);
         }
+        return String.valueOf(Math.round(weight * 1000) / 1000.0);
     }
 }
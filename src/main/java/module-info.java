@@ -8,6 +8,8 @@ module com.github.eventmanager {
     requires static lombok;
 
     exports com.github.eventmanager;
+    exports com.github.eventmanager.binary;
+    exports com.github.eventmanager.events;
     exports com.github.eventmanager.filehandlers;
     exports com.github.eventmanager.filehandlers.config;
     exports com.github.eventmanager.formatters;
@@ -0,0 +1,44 @@
+package com.github.eventmanager.internal;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access point for virtual threads.
+ * <p>
+ * This is the Java 21 version of the class, packaged under {@code META-INF/versions/21} of the multi-release JAR.
+ */
+public final class VirtualThreads {
+    private static final ThreadFactory FACTORY = Thread.ofVirtual().name("eventmanager-virtual-", 0).factory();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks if the running Java version supports virtual threads.
+     *
+     * @return true, since this class is only loaded on Java 21 or newer.
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Returns a factory creating virtual threads.
+     *
+     * @return the factory creating virtual threads.
+     */
+    public static Optional<ThreadFactory> factory() {
+        return Optional.of(FACTORY);
+    }
+
+    /**
+     * Checks if a thread is a virtual thread.
+     *
+     * @param thread the thread to check.
+     * @return true if the thread is a virtual thread.
+     */
+    public static boolean isVirtual(Thread thread) {
+        return thread.isVirtual();
+    }
+}
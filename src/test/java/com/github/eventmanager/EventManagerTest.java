@@ -1,5 +1,6 @@
 package com.github.eventmanager;
 
+import com.github.eventmanager.events.EventSchema;
 import com.github.eventmanager.filehandlers.LogHandler;
 import com.github.eventmanager.filehandlers.config.OutputEntry;
 import com.github.eventmanager.filehandlers.config.ProcessorEntry;
@@ -18,6 +19,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -593,4 +595,200 @@ public class EventManagerTest {
 
         System.setOut(originalOut);
     }
-}
\ No newline at end of file
+
+    @Test
+    void processingWorkersKeepEventOrder() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        try {
+            LogHandler logHandler = new LogHandler(configPath, true);
+            logHandler.getConfig().getEvent().setEventFormat("kv");
+            logHandler.getConfig().getThreading().setProcessingWorkers(4);
+
+            OutputEntry outputEntry = new OutputEntry();
+            outputEntry.setName("PrintOutput");
+            logHandler.getConfig().getOutputs().add(outputEntry);
+
+            this.eventManager = new EventManager(logHandler);
+            for (int i = 0; i < 500; i++) {
+                eventManager.logErrorMessage("ordered event " + i + ";");
+            }
+
+            waitForEvents();
+            String output = outContent.toString();
+            int lastIndex = -1;
+            for (int i = 0; i < 500; i++) {
+                int index = output.indexOf("ordered event " + i + ";");
+                assertTrue(index > lastIndex, "Event " + i + " is missing or out of order");
+                lastIndex = index;
+            }
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    void lazyAndParameterizedMessages() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        try {
+            LogHandler logHandler = new LogHandler(configPath, true);
+            logHandler.getConfig().getEvent().setDebuggingMode(false);
+
+            OutputEntry outputEntry = new OutputEntry();
+            outputEntry.setName("PrintOutput");
+            logHandler.getConfig().getOutputs().add(outputEntry);
+
+            this.eventManager = new EventManager(logHandler);
+            AtomicInteger supplierCalls = new AtomicInteger();
+            eventManager.logDebugMessage(() -> "debug " + supplierCalls.incrementAndGet());
+            eventManager.logErrorMessage(() -> "supplied " + supplierCalls.incrementAndGet());
+            eventManager.logErrorMessage("User {} failed {} times", "luke", 3);
+
+            waitForEvents();
+            String output = outContent.toString();
+            assertEquals(1, supplierCalls.get());
+            assertTrue(output.contains("supplied 1"));
+            assertFalse(output.contains("debug"));
+            assertTrue(output.contains("User luke failed 3 times"));
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    void schemaEventsAreLoggedPositionally() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        try {
+            LogHandler logHandler = new LogHandler(configPath, true);
+            logHandler.getConfig().getEvent().setEventFormat("json");
+
+            OutputEntry outputEntry = new OutputEntry();
+            outputEntry.setName("PrintOutput");
+            logHandler.getConfig().getOutputs().add(outputEntry);
+
+            this.eventManager = new EventManager(logHandler);
+            EventSchema schema = EventSchema.builder("login")
+                    .field("user")
+                    .field("attempts", EventSchema.FieldType.LONG)
+                    .build();
+            eventManager.logErrorEvent(schema, "luke", 3);
+
+            waitForEvents();
+            assertTrue(outContent.toString().contains("\"user\":\"luke\",\"attempts\":3}"));
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    void repeatedEventsAreCollapsedIntoASummary() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        try {
+            LogHandler logHandler = new LogHandler(configPath, true);
+            logHandler.getConfig().getEvent().setEventFormat("kv");
+
+            OutputEntry outputEntry = new OutputEntry();
+            outputEntry.setName("PrintOutput");
+            logHandler.getConfig().getOutputs().add(outputEntry);
+            ProcessorEntry processorEntry = new ProcessorEntry();
+            processorEntry.setName("DeduplicationProcessor");
+            processorEntry.setParameters(Map.of("windowMillis", 500));
+            logHandler.getConfig().getProcessors().add(processorEntry);
+
+            this.eventManager = new EventManager(logHandler);
+            for (int i = 0; i < 5; i++) {
+                eventManager.logErrorMessage("Call to {} failed", "db");
+            }
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!outContent.toString().contains("duplicates=") && System.currentTimeMillis() < deadline) {
+                waitForEvents();
+            }
+            String output = outContent.toString();
+            assertEquals(2, output.split("Call to db failed", -1).length - 1);
+            assertTrue(output.contains("duplicates=\"4\""));
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    void callerLocationIsCapturedPerLevel() {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        try {
+            LogHandler logHandler = new LogHandler(configPath, true);
+            logHandler.getConfig().getEvent().setEventFormat("kv");
+            logHandler.getConfig().getEvent().setLocationLevel("ERROR");
+
+            OutputEntry outputEntry = new OutputEntry();
+            outputEntry.setName("PrintOutput");
+            logHandler.getConfig().getOutputs().add(outputEntry);
+
+            this.eventManager = new EventManager(logHandler);
+            eventManager.logErrorMessage("error with location");
+            eventManager.logWarningMessage("warning without location");
+
+            waitForEvents();
+            String[] lines = outContent.toString().split("\\R");
+            String error = List.of(lines).stream().filter(line -> line.contains("error with location"))
+                    .findFirst().orElseThrow();
+            String warning = List.of(lines).stream().filter(line -> line.contains("warning without location"))
+                    .findFirst().orElseThrow();
+            assertTrue(error.contains("methodName=\"callerLocationIsCapturedPerLevel\""));
+            assertFalse(warning.contains("methodName="));
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    void garbageFreeModeKeepsAllocationsOffTheLoggingThread() throws Exception {
+        // Bytes the logging thread may allocate per event on average in the garbage-free mode. Only the logging
+        // thread is measured: the mode moves the allocation of the event to the processing thread, it does not
+        // remove it from the pipeline.
+        final long allocationBudgetPerEvent = 16;
+        final int events = 100_000;
+
+        LogHandler logHandler = new LogHandler(configPath);
+        logHandler.getConfig().getQueue().setGarbageFree(true);
+        // Capturing the caller location allocates a stack frame on the logging thread
+        logHandler.getConfig().getEvent().setIncludeLocation(false);
+        logHandler.getConfig().getOutputs().clear();
+        this.eventManager = new EventManager(logHandler);
+
+        KeyValueWrapper[] fields = {new KeyValueWrapper("user", "luke")};
+        for (int i = 0; i < events; i++) {
+            eventManager.logErrorMessage("warm up");
+            eventManager.logErrorMessage(fields);
+        }
+
+        Object threadBean = Class.forName("java.lang.management.ManagementFactory")
+                .getMethod("getThreadMXBean").invoke(null);
+        java.lang.reflect.Method allocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getCurrentThreadAllocatedBytes");
+        long before = (long) allocatedBytes.invoke(threadBean);
+        for (int i = 0; i < events; i++) {
+            eventManager.logErrorMessage("garbage-free");
+            eventManager.logErrorMessage(fields);
+        }
+        long after = (long) allocatedBytes.invoke(threadBean);
+
+        long bytesPerEvent = (after - before) / (2L * events);
+        assertTrue(bytesPerEvent <= allocationBudgetPerEvent,
+                "Allocated " + bytesPerEvent + " bytes per event, budget is " + allocationBudgetPerEvent);
+    }
+}
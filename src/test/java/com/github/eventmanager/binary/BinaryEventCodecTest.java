@@ -0,0 +1,96 @@
+package com.github.eventmanager.binary;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.config.ConfigEvent;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryEventCodecTest {
+
+    private static List<LogEvent> decodeAll(byte[] bytes) throws IOException {
+        BinaryEventDecoder decoder = new BinaryEventDecoder(new ByteArrayInputStream(bytes));
+        List<LogEvent> events = new ArrayList<>();
+        LogEvent event;
+        while ((event = decoder.next()) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    @Test
+    void roundTripsEvents() throws IOException {
+        BinaryEventEncoder encoder = new BinaryEventEncoder();
+        LogEvent first = new LogEvent(1_700_000_000_123L, "ERROR", "com.example.Foo", "bar", 42, "grüße 😀",
+                new KeyValueWrapper[]{new KeyValueWrapper("user", "luke"), new KeyValueWrapper("empty", null)}, null);
+        LogEvent second = new LogEvent(1_700_000_000_100L, "INFO", null, null, -1, null,
+                new KeyValueWrapper[]{new KeyValueWrapper("user", "leia")}, null);
+        LogEvent third = new LogEvent(1_700_000_000_200L, "ERROR", "com.example.Foo", "bar", 42, null, null,
+                new IllegalStateException("boom"));
+        encoder.encode(first);
+        encoder.encode(second);
+        encoder.encode(third);
+
+        List<LogEvent> decoded = decodeAll(encoder.drain());
+        assertEquals(3, decoded.size());
+        assertEquals(first.toString(), decoded.get(0).toString());
+        assertEquals(second.toString(), decoded.get(1).toString());
+        assertEquals(1_700_000_000_200L, decoded.get(2).getTimestamp());
+        assertEquals("bar", decoded.get(2).getMethodName());
+        assertTrue(decoded.get(2).getMessage().startsWith("java.lang.IllegalStateException: boom"));
+    }
+
+    @Test
+    void decodesConcatenatedSegments() throws IOException {
+        BinaryEventEncoder encoder = new BinaryEventEncoder();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(new LogEvent(1L, "INFO", null, null, -1, "first run", null, null));
+        encoder.drainTo(out);
+        encoder.reset();
+        encoder.encode(new LogEvent(2L, "WARNING", null, null, -1, "second run", null, null));
+        encoder.drainTo(out);
+
+        List<LogEvent> decoded = decodeAll(out.toByteArray());
+        assertEquals("second run", decoded.get(1).getMessage());
+        assertEquals("WARNING", decoded.get(1).getLevel());
+        assertEquals(2L, decoded.get(1).getTimestamp());
+    }
+
+    @Test
+    void detectsCorruptFrames() {
+        BinaryEventEncoder encoder = new BinaryEventEncoder();
+        encoder.encode(new LogEvent(1L, "INFO", null, null, -1, "payload", null, null));
+        byte[] bytes = encoder.drain();
+        bytes[bytes.length - 8] ^= 0x01;
+
+        assertThrows(IOException.class, () -> decodeAll(bytes));
+        assertThrows(IOException.class, () -> decodeAll("not binary".getBytes()));
+    }
+
+    @Test
+    void repeatedEventsAreSmallerThanText() throws IOException {
+        BinaryEventEncoder encoder = new BinaryEventEncoder();
+        ConfigEvent config = new ConfigEvent();
+        config.setEventFormat("kv");
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            LogEvent event = new LogEvent(1_700_000_000_000L + i, "INFO", "com.example.Foo", "bar", 42, null,
+                    new KeyValueWrapper[]{new KeyValueWrapper("requestId", String.valueOf(i))}, null);
+            encoder.encode(event);
+        }
+        byte[] bytes = encoder.drain();
+
+        StringWriter out = new StringWriter();
+        assertEquals(1000, BinaryConverter.convert(new ByteArrayInputStream(bytes), out, config));
+        assertTrue(out.toString().contains("requestId=\"999\""));
+        assertTrue(bytes.length * 4 < out.toString().length());
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.eventmanager.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLevelTest {
+
+    @Test
+    void levelNamesAreResolvedIndependentOfTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals(EventLevel.INFO, EventLevel.of("info"));
+            assertEquals(EventLevel.INFO, EventLevel.of("INTERNAL:info"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
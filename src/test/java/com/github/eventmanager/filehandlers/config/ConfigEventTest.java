@@ -0,0 +1,71 @@
+package com.github.eventmanager.filehandlers.config;
+
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.formatters.EventFormatter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigEventTest {
+
+    @Test
+    void defaultThresholdIsWarning() {
+        ConfigEvent config = new ConfigEvent();
+        assertFalse(config.isEnabled(EventLevel.DEBUG));
+        assertFalse(config.isEnabled(EventLevel.INFO));
+        assertTrue(config.isEnabled(EventLevel.WARNING));
+        assertTrue(config.isEnabled(EventLevel.FATAL));
+    }
+
+    @Test
+    void modesLowerTheThreshold() {
+        ConfigEvent config = new ConfigEvent();
+        config.setInformationalMode(true);
+        assertTrue(config.isEnabled(EventLevel.INFO));
+        assertFalse(config.isEnabled(EventLevel.DEBUG));
+
+        config.setDebuggingMode(true);
+        assertTrue(config.isEnabled(EventLevel.DEBUG));
+
+        config.setDebuggingMode(false);
+        config.setInformationalMode(false);
+        assertFalse(config.isEnabled(EventLevel.INFO));
+    }
+
+    @Test
+    void explicitLevelTakesPrecedence() {
+        ConfigEvent config = new ConfigEvent();
+        config.setDebuggingMode(true);
+        config.setLevel("ERROR");
+        assertFalse(config.isEnabled(EventLevel.WARNING));
+        assertTrue(config.isEnabled(EventLevel.ERROR));
+
+        config.setLevel(null);
+        assertTrue(config.isEnabled(EventLevel.DEBUG));
+    }
+
+    @Test
+    void locationLevelLimitsCallerCapture() {
+        ConfigEvent config = new ConfigEvent();
+        assertTrue(config.isLocationEnabled(EventLevel.DEBUG));
+
+        config.setLocationLevel("WARNING");
+        assertFalse(config.isLocationEnabled(EventLevel.INFO));
+        assertTrue(config.isLocationEnabled(EventLevel.ERROR));
+
+        config.setIncludeLocation(false);
+        assertFalse(config.isLocationEnabled(EventLevel.FATAL));
+    }
+
+    @Test
+    void eventFormatIsResolvedWhenSet() {
+        ConfigEvent config = new ConfigEvent();
+        assertSame(EventFormatter.DEFAULT, config.formatter());
+
+        config.setEventFormat("json");
+        assertSame(EventFormatter.JSON, config.formatter());
+
+        config.setEventFormat("unknown");
+        assertSame(EventFormatter.DEFAULT, config.formatter());
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.eventmanager.formatters;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CachedTimeFormatTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    private static void assertMatchesFormatter(String pattern) {
+        CachedTimeFormat format = new CachedTimeFormat(pattern, ZONE);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        // Crosses several second boundaries and the daylight saving time change of 2024-03-31
+        long start = Instant.parse("2024-03-31T00:59:58.990Z").toEpochMilli();
+        for (long millis = start; millis < start + 2500; millis += 7) {
+            String expected = formatter.format(Instant.ofEpochMilli(millis).atZone(ZONE));
+            assertEquals(expected, format.format(millis), pattern);
+
+            StringBuilder builder = new StringBuilder("x");
+            format.formatTo(millis, builder);
+            assertEquals("x" + expected, builder.toString(), pattern);
+        }
+    }
+
+    @Test
+    void splitsPatternAroundMilliseconds() {
+        assertMatchesFormatter("dd.MM.yyyy h:mm:ss.SSS a z");
+        assertMatchesFormatter("SSS");
+        assertMatchesFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+    }
+
+    @Test
+    void cachesPatternsWithoutFractions() {
+        assertMatchesFormatter("yyyy-MM-dd HH:mm:ss");
+        assertMatchesFormatter("HH:mm:ss 'SSS'");
+    }
+
+    @Test
+    void formatsOtherFractionsUncached() {
+        assertMatchesFormatter("HH:mm:ss.SS");
+        assertMatchesFormatter("HH:mm:ss.SSS.SSS");
+        assertMatchesFormatter("HH:mm:ss[.SSS]");
+    }
+
+    @Test
+    void formatsEpochMillis() {
+        CachedTimeFormat format = CachedTimeFormat.forPattern(CachedTimeFormat.EPOCH_MILLIS);
+        assertEquals("1711846798990", format.format(1711846798990L));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.net.UnknownHostException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class EventCreatorTest {
 
@@ -143,4 +144,23 @@ class EventCreatorTest {
         int lineNumber = new Throwable().getStackTrace()[0].getLineNumber() - 1;
         assertEquals("{\"lineNumber\": \"" + lineNumber + "\",\"threadName\": \"" + Thread.currentThread().getName() + "\"}", eventCreator);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLocationIsCapturedFromTheCaller() {
+        String eventCreator = new EventCreator("kv").className().methodName().create();
+        assertEquals("className=\"" + EventCreatorTest.class.getName() + "\" methodName=\"testLocationIsCapturedFromTheCaller\" ", eventCreator);
+    }
+
+    @Test
+    void testReusableCreatorIsRecycledPerThread() {
+        EventCreator first = EventCreator.reusable("json");
+        String firstEvent = first.message("first").create();
+        EventCreator second = EventCreator.reusable("xml");
+        String secondEvent = second.lineNumber().message("second").create();
+        int lineNumber = new Throwable().getStackTrace()[0].getLineNumber() - 1;
+
+        assertSame(first, second);
+        assertEquals("{\"message\": \"first\"}", firstEvent);
+        assertEquals("<event><lineNumber>" + lineNumber + "</lineNumber><message>second</message></event>", secondEvent);
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.eventmanager.formatters;
+
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.config.ConfigEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLayoutTest {
+
+    private static String render(String pattern, LogEvent event) {
+        StringBuilder builder = new StringBuilder();
+        EventLayout.compile(pattern).appendTo(builder, event, "12:00:00.000", event.getMessage());
+        return builder.toString();
+    }
+
+    @Test
+    void rendersConversionWordsAndLiterals() {
+        LogEvent event = new LogEvent(0L, "ERROR", "com.example.Foo", "bar", 42, "failed",
+                new KeyValueWrapper[]{new KeyValueWrapper("user", "luke"), new KeyValueWrapper("id", "7")}, null);
+
+        assertEquals("12:00:00.000 [ERROR] com.example.Foo.bar:42 failed user=\"luke\" id=\"7\"",
+                render("%time [%level] %class.%method:%line %msg %kv", event));
+        assertEquals("100% luke/", render("100%% %{user}/%{missing}", event));
+    }
+
+    @Test
+    void leavesOutMissingLocation() {
+        LogEvent event = new LogEvent(0L, "INFO", null, null, -1, "hello", null, null);
+        assertEquals("[INFO] .: hello", render("[%level] %class.%line: %msg", event));
+    }
+
+    @Test
+    void reportsRequiredParts() {
+        assertTrue(EventLayout.compile("%level %line").requiresLocation());
+        assertFalse(EventLayout.compile("%time %msg").requiresLocation());
+        assertFalse(EventLayout.compile("%level %msg").requiresTime());
+        assertThrows(IllegalArgumentException.class, () -> EventLayout.compile("%unknown"));
+    }
+
+    @Test
+    void layoutWithoutLocationDisablesCapture() {
+        ConfigEvent config = new ConfigEvent();
+        config.setLayout("%time %msg");
+        assertFalse(config.isLocationEnabled(EventLevel.FATAL));
+
+        config.setEventFormat("json");
+        assertTrue(config.isLocationEnabled(EventLevel.FATAL));
+    }
+}
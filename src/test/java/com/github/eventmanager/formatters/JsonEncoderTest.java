@@ -0,0 +1,36 @@
+package com.github.eventmanager.formatters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JsonEncoderTest {
+
+    @Test
+    void escapesLikeJackson() throws Exception {
+        Map<String, Object> members = new LinkedHashMap<>();
+        members.put("quote", "say \"hi\"");
+        members.put("path", "C:\\temp/file");
+        members.put("lines", "a\nb\r\tc\b\f");
+        members.put("control", "\u0001\u001f");
+        members.put("unicode", "Grüße ✓");
+        members.put("missing", null);
+
+        assertEquals(new ObjectMapper().writeValueAsString(members), JsonEncoder.toJson(members));
+    }
+
+    @Test
+    void formatterKeepsMemberOrder() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("time", "now");
+        metadata.put("level", "INFO");
+
+        String result = EventFormatter.JSON.formatEvent(metadata, "hello", new KeyValueWrapper[]{
+                new KeyValueWrapper("b", "2"), new KeyValueWrapper("a", "1")});
+        assertEquals("{\"time\":\"now\",\"level\":\"INFO\",\"message\":\"hello\",\"b\":\"2\",\"a\":\"1\"}", result);
+    }
+}
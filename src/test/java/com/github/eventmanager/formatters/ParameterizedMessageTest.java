@@ -0,0 +1,45 @@
+package com.github.eventmanager.formatters;
+
+import com.github.eventmanager.events.LogEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ParameterizedMessageTest {
+
+    @Test
+    void replacesPlaceholdersInOrder() {
+        assertEquals("User luke logged in from 10.0.0.1",
+                ParameterizedMessage.format("User {} logged in from {}", new Object[]{"luke", "10.0.0.1"}));
+    }
+
+    @Test
+    void keepsUnmatchedAndEscapedPlaceholders() {
+        assertEquals("a {} b 1 c {}", ParameterizedMessage.format("a \\{} b {} c {}", new Object[]{1}));
+        assertEquals("no placeholders", ParameterizedMessage.format("no placeholders", new Object[]{1, 2}));
+        assertEquals(2, ParameterizedMessage.countPlaceholders("a \\{} b {} c {}"));
+    }
+
+    @Test
+    void rendersArraysAndNulls() {
+        assertEquals("[1, 2] [a, [b]] null",
+                ParameterizedMessage.format("{} {} {}", new Object[]{new int[]{1, 2},
+                        new Object[]{"a", new String[]{"b"}}, null}));
+    }
+
+    @Test
+    void deferredRenderingAndTrailingThrowable() {
+        IllegalStateException exception = new IllegalStateException("boom");
+        LogEvent event = LogEvent.ofParameterized(0, "ERROR", null, null, -1, "Request {} failed",
+                new Object[]{42, exception});
+
+        assertEquals("Request 42 failed", event.getMessage());
+        assertSame(exception, event.getThrowable());
+
+        LogEvent withoutArguments = LogEvent.ofParameterized(0, "ERROR", null, null, -1, "plain", null);
+        assertEquals("plain", withoutArguments.getMessage());
+        assertNull(withoutArguments.getThrowable());
+    }
+}
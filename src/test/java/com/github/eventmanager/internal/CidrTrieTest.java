@@ -0,0 +1,73 @@
+package com.github.eventmanager.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CidrTrieTest {
+
+    @Test
+    void containsIpv4AddressesOfTheRanges() {
+        CidrTrie trie = CidrTrie.of(List.of("192.168.1.0/24", "10.0.0.0/8", "172.16.5.4"));
+
+        assertTrue(trie.contains("192.168.1.100"));
+        assertTrue(trie.contains("10.255.0.1"));
+        assertTrue(trie.contains("172.16.5.4"));
+        assertFalse(trie.contains("192.168.2.1"));
+        assertFalse(trie.contains("172.16.5.5"));
+        assertFalse(trie.contains("11.0.0.1"));
+    }
+
+    @Test
+    void containsIpv6AddressesOfTheRanges() {
+        CidrTrie trie = CidrTrie.of(List.of("2001:db8::/32", "fe80::1/128", "::ffff:192.168.0.0/112"));
+
+        assertTrue(trie.contains("2001:db8::1"));
+        assertTrue(trie.contains("2001:0DB8:ffff:0:0:0:0:1"));
+        assertTrue(trie.contains("fe80::1"));
+        assertTrue(trie.contains("::ffff:192.168.10.20"));
+        assertFalse(trie.contains("fe80::2"));
+        assertFalse(trie.contains("2001:db9::1"));
+        assertFalse(trie.contains("192.168.10.20"));
+    }
+
+    @Test
+    void rejectsTextThatIsNoAddress() {
+        CidrTrie trie = CidrTrie.of(List.of("0.0.0.0/0", "::/0"));
+
+        assertTrue(trie.contains("1.2.3.4"));
+        assertTrue(trie.contains("::1"));
+        assertFalse(trie.contains("1.2.3.256"));
+        assertFalse(trie.contains("1.2.3"));
+        assertFalse(trie.contains("1..2.3"));
+        assertFalse(trie.contains("localhost"));
+        assertFalse(trie.contains("1::2::3"));
+        assertFalse(trie.contains("1:2:3:4:5:6:7:8:9"));
+        assertFalse(trie.contains("12345::"));
+        assertFalse(trie.contains(null));
+    }
+
+    @Test
+    void leavesOutRangesThatCannotBeParsed() {
+        CidrTrie trie = CidrTrie.of(List.of("10.0.0.0/33", "not a range", "10.0.0.0/8"));
+
+        assertEquals(1, trie.size());
+        assertTrue(trie.contains("10.1.2.3"));
+    }
+
+    @Test
+    void manyRangesAreLookedUpLikeOne() {
+        List<String> ranges = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            ranges.add("10." + (i >> 4) + "." + ((i & 15) << 4) + ".0/28");
+        }
+        CidrTrie trie = CidrTrie.of(ranges);
+
+        assertEquals(4096, trie.size());
+        assertTrue(trie.contains("10.255.240.15"));
+        assertFalse(trie.contains("10.255.240.16"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.EventSchema;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.LogHandler;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventRendererTest {
+    private final EventRenderer renderer = new EventRenderer(new LogHandler(""));
+
+    private static LogEvent event(String message, KeyValueWrapper... fields) {
+        return new LogEvent(0L, "ERROR", "com.example.Foo", "bar", 42, message, fields, null);
+    }
+
+    @Test
+    void rendersMessageInKeyValueFormat() {
+        String result = renderer.render(event("hello"), EventFormatter.KEY_VALUE);
+        assertTrue(result.contains("level=\"ERROR\""));
+        assertTrue(result.contains("className=\"com.example.Foo\""));
+        assertTrue(result.endsWith("message=hello"));
+    }
+
+    @Test
+    void rendersFieldsInJsonFormatWithStableOrder() {
+        String result = renderer.render(event(null, new KeyValueWrapper("user", "luke")), EventFormatter.JSON);
+        assertTrue(result.startsWith("{\"time\":"));
+        assertTrue(result.endsWith("\"level\":\"ERROR\",\"className\":\"com.example.Foo\",\"methodName\":\"bar\","
+                + "\"lineNumber\":\"42\",\"user\":\"luke\"}"));
+    }
+
+    @Test
+    void rendersMessageAndFieldsInXmlFormat() {
+        String result = renderer.render(event("hello", new KeyValueWrapper("user", "luke")), EventFormatter.XML);
+        assertTrue(result.endsWith("<message>hello</message><user>luke</user></event>"));
+    }
+
+    @Test
+    void rendersThrowableAsStackTrace() {
+        LogEvent event = new LogEvent(0L, "ERROR", null, null, -1, null, null, new IllegalStateException("boom"));
+        String result = renderer.render(event, EventFormatter.XML);
+        assertTrue(result.contains("<message>java.lang.IllegalStateException: boom"));
+    }
+
+    @Test
+    void returnsRenderedEventAsItIs() {
+        LogEvent event = LogEvent.ofRendered("INFO", "<event>raw</event>");
+        assertEquals("<event>raw</event>", renderer.render(event, EventFormatter.JSON));
+    }
+
+    private static final EventSchema ORDER = EventSchema.builder("order")
+            .field("id", EventSchema.FieldType.LONG)
+            .field("customer")
+            .field("paid", EventSchema.FieldType.BOOLEAN)
+            .build();
+
+    @Test
+    void rendersSchemaEventInCsvFormatWithFixedColumns() {
+        LogEvent event = LogEvent.ofSchema(0L, "INFO", null, null, -1, ORDER, new Object[]{42L, "skywalker, luke"});
+        String result = renderer.render(event, EventFormatter.CSV);
+        assertTrue(result.endsWith(",INFO,,,,42,\"skywalker, luke\","));
+        assertEquals("time,level,className,methodName,lineNumber,id,customer,paid", ORDER.getCsvHeader());
+    }
+
+    @Test
+    void rendersSchemaEventInJsonFormatWithTypedValues() {
+        LogEvent event = LogEvent.ofSchema(0L, "INFO", "com.example.Foo", "bar", 42, ORDER,
+                new Object[]{42L, "luke", true});
+        String result = renderer.render(event, EventFormatter.JSON);
+        assertTrue(result.endsWith("\"lineNumber\":\"42\",\"id\":42,\"customer\":\"luke\",\"paid\":true}"));
+    }
+
+    @Test
+    void schemaEventCreatesFieldsOnlyWhenAsked() {
+        LogEvent event = LogEvent.ofSchema(0L, "INFO", null, null, -1, ORDER, new Object[]{42L, "luke", false});
+        assertEquals("luke", event.getField("customer"));
+        assertNull(event.getField("unknown"));
+        assertEquals("paid", event.getFields()[2].getKey());
+        assertEquals("false", event.getFields()[2].getValue());
+        assertNull(event.withFields(event.getFields()).getSchema());
+    }
+}
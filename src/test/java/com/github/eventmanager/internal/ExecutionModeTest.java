@@ -0,0 +1,56 @@
+package com.github.eventmanager.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutionModeTest {
+
+    @Test
+    void parsesModeNames() {
+        assertEquals(ExecutionMode.VIRTUAL, ExecutionMode.of("virtual"));
+        assertEquals(ExecutionMode.AUTO, ExecutionMode.of(" Auto "));
+        assertEquals(ExecutionMode.PLATFORM, ExecutionMode.of("unknown"));
+        assertEquals(ExecutionMode.PLATFORM, ExecutionMode.of(null));
+    }
+
+    @Test
+    void platformModeNeverUsesVirtualThreads() {
+        assertFalse(ExecutionMode.PLATFORM.usesVirtualThreads());
+        assertFalse(VirtualThreads.isVirtual(ExecutionMode.PLATFORM.threadFactory().newThread(() -> { })));
+    }
+
+    @Test
+    void virtualModeMatchesRuntimeSupport() {
+        assertEquals(VirtualThreads.isSupported(), ExecutionMode.VIRTUAL.usesVirtualThreads());
+        assertEquals(VirtualThreads.isSupported(), ExecutionMode.AUTO.usesVirtualThreads());
+        assertEquals(VirtualThreads.isSupported(), VirtualThreads.factory().isPresent());
+    }
+
+    @Test
+    void virtualModeFailsWithoutVirtualThreads() {
+        assumeFalse(VirtualThreads.isSupported());
+        assertThrows(IllegalStateException.class, ExecutionMode.VIRTUAL::threadFactory);
+        assertFalse(VirtualThreads.isVirtual(ExecutionMode.AUTO.threadFactory().newThread(() -> { })));
+    }
+
+    @Test
+    void virtualAndAutoModesCreateVirtualThreadsWhenSupported() {
+        assumeTrue(VirtualThreads.isSupported());
+        assertTrue(VirtualThreads.isVirtual(ExecutionMode.VIRTUAL.threadFactory().newThread(() -> { })));
+        assertTrue(VirtualThreads.isVirtual(ExecutionMode.AUTO.threadFactory().newThread(() -> { })));
+    }
+
+    @Test
+    void threadFactoryRunsTasks() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        Thread thread = ExecutionMode.AUTO.threadFactory().newThread(() -> ran.set(true));
+        thread.start();
+        thread.join(1000);
+        assertTrue(ran.get());
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.eventmanager.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class HostInfoTest {
+
+    @Test
+    void servesTheResolvedLocalHost() throws UnknownHostException {
+        InetAddress localHost = InetAddress.getLocalHost();
+        assertEquals(localHost.getHostName(), HostInfo.hostname());
+        assertEquals(localHost.getHostAddress(), HostInfo.ipAddress());
+    }
+
+    @Test
+    void readsDoNotResolveAgain() {
+        String hostname = HostInfo.hostname();
+        assertSame(hostname, HostInfo.hostname());
+
+        HostInfo.refresh();
+        assertEquals(hostname, HostInfo.hostname());
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.EventLevel;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledEventQueueTest {
+
+    @Test
+    void turnsSlotsIntoEvents() {
+        PooledEventQueue queue = new PooledEventQueue(4, OverflowPolicy.BLOCK, EventLevel.WARNING);
+        KeyValueWrapper[] fields = {new KeyValueWrapper("user", "luke")};
+        assertTrue(queue.publish(1000L, "ERROR", "first", null, null));
+        assertTrue(queue.publish(2000L, "INFO", null, fields, null));
+
+        LogEvent first = queue.poll();
+        assertEquals(1000L, first.getTimestamp());
+        assertEquals("ERROR", first.getLevel());
+        assertEquals("first", first.getMessage());
+        assertFalse(first.hasLocation());
+
+        LogEvent second = queue.poll();
+        assertEquals(EventLevel.INFO, second.getEventLevel());
+        assertEquals("luke", second.getField("user"));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void keepsCallerLocation() {
+        PooledEventQueue queue = new PooledEventQueue(4, OverflowPolicy.BLOCK, EventLevel.WARNING);
+        assertTrue(queue.publish(1000L, "ERROR", "com.example.Foo", "bar", 42, "failed {}", new Object[]{"db"},
+                null, null));
+
+        LogEvent event = queue.poll();
+        assertTrue(event.hasLocation());
+        assertEquals("com.example.Foo", event.getClassName());
+        assertEquals("bar", event.getMethodName());
+        assertEquals(42, event.getLineNumber());
+        assertEquals("failed db", event.getMessage());
+    }
+
+    @Test
+    void keepsExistingEvents() {
+        PooledEventQueue queue = new PooledEventQueue(2, OverflowPolicy.BLOCK, EventLevel.WARNING);
+        LogEvent event = LogEvent.ofRendered("INFO", "rendered");
+        assertTrue(queue.offer(event));
+        assertSame(event, queue.peek());
+        assertSame(event, queue.poll());
+    }
+
+    @Test
+    void appliesOverflowPolicy() {
+        PooledEventQueue queue = new PooledEventQueue(2, OverflowPolicy.DROP_BELOW_LEVEL, EventLevel.WARNING);
+        queue.publish(0L, "INFO", "1", null, null);
+        queue.publish(0L, "INFO", "2", null, null);
+        assertFalse(queue.publish(0L, "DEBUG", "3", null, null));
+        assertEquals(1, queue.getRejectedCount());
+        assertEquals("1", queue.poll().getMessage());
+    }
+}
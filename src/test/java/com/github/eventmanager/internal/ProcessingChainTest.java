@@ -0,0 +1,126 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.LogHandler;
+import com.github.eventmanager.filehandlers.config.RegexEntry;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import com.github.eventmanager.processors.FilterProcessor;
+import com.github.eventmanager.processors.MaskPasswords;
+import com.github.eventmanager.processors.Processor;
+import com.github.eventmanager.processors.RegexProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessingChainTest {
+    private final EventRenderer renderer = new EventRenderer(new LogHandler(""));
+
+    /**
+     * Records which method was called and appends a marker to the event.
+     */
+    private static final class RecordingProcessor implements Processor {
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public String processKV(String event) {
+            calls.add("kv");
+            return event + " marked";
+        }
+
+        @Override
+        public String processJSON(String event) {
+            calls.add("json");
+            return event;
+        }
+
+        @Override
+        public String processXML(String event) {
+            calls.add("xml");
+            return "";
+        }
+    }
+
+    private static LogEvent event() {
+        return new LogEvent(0L, "ERROR", "com.example.Foo", "bar", 42, "hello", null, null);
+    }
+
+    @Test
+    void bindsTheMethodOfTheEventFormat() {
+        RecordingProcessor processor = new RecordingProcessor();
+
+        LogEvent kv = ProcessingChain.of(List.of(processor), EventFormatter.KEY_VALUE, renderer).process(event());
+        LogEvent json = ProcessingChain.of(List.of(processor), EventFormatter.JSON, renderer).process(event());
+        LogEvent xml = ProcessingChain.of(List.of(processor), EventFormatter.XML, renderer).process(event());
+
+        assertEquals(List.of("kv", "json", "xml"), processor.calls);
+        assertTrue(kv.isRendered());
+        assertTrue(kv.getRendered().endsWith(" marked"));
+        assertFalse(json.isRendered());
+        assertNull(xml);
+    }
+
+    @Test
+    void leavesOutStringProcessorsForFormatsWithoutMethod() {
+        RecordingProcessor processor = new RecordingProcessor();
+        LogEvent event = event();
+
+        assertSame(event, ProcessingChain.of(List.of(processor), EventFormatter.CSV, renderer).process(event));
+        assertSame(event, ProcessingChain.of(List.of(processor), EventFormatter.DEFAULT, renderer).process(event));
+        assertTrue(processor.calls.isEmpty());
+    }
+
+    @Test
+    void mergesConsecutiveMaskingProcessors() {
+        List<Processor> processors = List.of(new MaskPasswords(),
+                new RegexProcessor(List.of(new RegexEntry("user", "\\w+", "anonymous"))));
+        LogEvent event = new LogEvent(0L, "ERROR", "com.example.Foo", "bar", 42,
+                "login user=\"john\" password=\"secret\"",
+                new KeyValueWrapper[]{new KeyValueWrapper("password", "secret"), new KeyValueWrapper("user", "jane")},
+                null);
+
+        LogEvent processed = ProcessingChain.of(processors, EventFormatter.KEY_VALUE, renderer).process(event);
+
+        assertEquals("login user=\"anonymous\" password=***", processed.getMessage());
+        assertEquals("***", processed.getField("password"));
+        assertEquals("anonymous", processed.getField("user"));
+    }
+
+    @Test
+    void mergedMaskingStageFollowsReplacedRules() {
+        RegexProcessor regexProcessor = new RegexProcessor(List.of(new RegexEntry("user", "\\w+", "anonymous")));
+        ProcessingChain chain = ProcessingChain.of(List.of(new MaskPasswords(), regexProcessor),
+                EventFormatter.KEY_VALUE, renderer);
+        LogEvent event = new LogEvent(0L, "ERROR", null, null, -1, "user=\"john\" token=\"abc\"", null, null);
+
+        assertEquals("user=\"anonymous\" token=\"abc\"", chain.process(event).getMessage());
+
+        regexProcessor.setRegexEntries(List.of(new RegexEntry("token", "\\w+", "***")));
+        assertEquals("user=\"john\" token=\"***\"", chain.process(event).getMessage());
+    }
+
+    @Test
+    void termListFilterSearchesTheSerializedEvent() {
+        List<Processor> kvFilter = List.of(new FilterProcessor(List.of("level=\"ERROR\"")));
+        List<Processor> jsonFilter = List.of(new FilterProcessor(List.of("\"className\":\"com.example.Foo\"")));
+
+        assertNull(ProcessingChain.of(kvFilter, EventFormatter.KEY_VALUE, renderer).process(event()));
+        assertNull(ProcessingChain.of(jsonFilter, EventFormatter.JSON, renderer).process(event()));
+        LogEvent kept = ProcessingChain.of(kvFilter, EventFormatter.JSON, renderer).process(event());
+        assertNotNull(kept);
+        assertFalse(kept.isRendered());
+    }
+
+    @Test
+    void termListFilterIsLeftOutForFormatsWithoutMethod() {
+        LogEvent event = event();
+        List<Processor> filter = List.of(new FilterProcessor(List.of("hello")));
+
+        assertSame(event, ProcessingChain.of(filter, EventFormatter.CSV, renderer).process(event));
+        assertNull(ProcessingChain.of(List.of(new FilterProcessor("message CONTAINS hello")), EventFormatter.CSV,
+                renderer).process(event));
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.LogHandler;
+import com.github.eventmanager.processors.FilterProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessorHelperTest {
+
+    @Test
+    void processorsAddedThroughTheListApplyToTheNextEvent() {
+        ProcessorHelper processorHelper = new ProcessorHelper(new LogHandler(""));
+        LogEvent event = new LogEvent(0L, "ERROR", null, null, -1, "db is down", null, null);
+        assertSame(event, processorHelper.processEvent(event));
+
+        processorHelper.getProcessors().add(new FilterProcessor("message CONTAINS down"));
+        assertNull(processorHelper.processEvent(event));
+
+        processorHelper.getProcessors().clear();
+        assertTrue(processorHelper.getProcessors().isEmpty());
+        assertSame(event, processorHelper.processEvent(event));
+    }
+
+    @Test
+    void changesMadeWhileAChainIsBuiltAreNotLost() throws InterruptedException {
+        ProcessorHelper processorHelper = new ProcessorHelper(new LogHandler(""));
+        LogEvent event = new LogEvent(0L, "ERROR", null, null, -1, "db is down", null, null);
+        FilterProcessor filter = new FilterProcessor("message CONTAINS down");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            while (running.get()) {
+                processorHelper.processEvent(event);
+            }
+        });
+        worker.setUncaughtExceptionHandler((thread, throwable) -> failure.set(throwable));
+        worker.start();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                processorHelper.getProcessors().add(filter);
+                assertNull(processorHelper.processEvent(event));
+                processorHelper.getProcessors().remove(filter);
+                assertSame(event, processorHelper.processEvent(event));
+            }
+        } finally {
+            running.set(false);
+            worker.join();
+        }
+        assertNull(failure.get());
+    }
+}
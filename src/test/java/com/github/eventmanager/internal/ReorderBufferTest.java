@@ -0,0 +1,89 @@
+package com.github.eventmanager.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReorderBufferTest {
+
+    @Test
+    void releasesInSequenceOrder() {
+        List<String> released = new ArrayList<>();
+        ReorderBuffer<String> buffer = new ReorderBuffer<>(8, released::add);
+
+        buffer.complete(2, "c");
+        buffer.complete(1, "b");
+        assertTrue(released.isEmpty());
+
+        buffer.complete(0, "a");
+        assertEquals(List.of("a", "b", "c"), released);
+        assertEquals(3, buffer.getNextSequence());
+    }
+
+    @Test
+    void droppedEventsDoNotBlockLaterEvents() {
+        List<String> released = new ArrayList<>();
+        ReorderBuffer<String> buffer = new ReorderBuffer<>(8, released::add);
+
+        buffer.complete(1, "b");
+        buffer.complete(0, null);
+        assertEquals(List.of("b"), released);
+    }
+
+    @Test
+    void concurrentWorkersKeepOrder() throws InterruptedException {
+        List<Long> released = Collections.synchronizedList(new ArrayList<>());
+        ReorderBuffer<Long> buffer = new ReorderBuffer<>(16, released::add);
+        AtomicLong sequences = new AtomicLong();
+        int total = 20000;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            workers.add(new Thread(() -> {
+                long sequence;
+                while ((sequence = sequences.getAndIncrement()) < total) {
+                    buffer.complete(sequence, sequence);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join(10000);
+        }
+
+        assertEquals(total, released.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, released.get(i).longValue());
+        }
+    }
+
+    @Test
+    void interruptedWorkerWaitsForItsWindowAndKeepsInterruptStatus() throws InterruptedException {
+        List<String> released = Collections.synchronizedList(new ArrayList<>());
+        ReorderBuffer<String> buffer = new ReorderBuffer<>(2, released::add);
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+
+        Thread worker = new Thread(() -> {
+            buffer.complete(2, "c");
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        worker.start();
+        worker.interrupt();
+        Thread.sleep(50);
+        assertTrue(worker.isAlive());
+        assertTrue(released.isEmpty());
+
+        buffer.complete(1, "b");
+        buffer.complete(0, "a");
+        worker.join(10000);
+
+        assertEquals(List.of("a", "b", "c"), released);
+        assertTrue(stillInterrupted.get());
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.eventmanager.internal;
+
+import com.github.eventmanager.events.EventLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferQueueTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(100);
+        assertEquals(128, queue.capacity());
+    }
+
+    @Test
+    void keepsFifoOrder() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(4);
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.poll());
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void dropNewestRejectsWhenFull() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(2, OverflowPolicy.DROP_NEWEST, EventLevel.WARNING);
+        assertTrue(queue.publish("1", EventLevel.INFO));
+        assertTrue(queue.publish("2", EventLevel.INFO));
+        assertFalse(queue.publish("3", EventLevel.FATAL));
+        assertEquals(1, queue.getRejectedCount());
+        assertEquals("1", queue.poll());
+    }
+
+    @Test
+    void dropOldestEvictsHead() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(2, OverflowPolicy.DROP_OLDEST, EventLevel.WARNING);
+        queue.publish("1", EventLevel.INFO);
+        queue.publish("2", EventLevel.INFO);
+        assertTrue(queue.publish("3", EventLevel.INFO));
+        assertEquals(1, queue.getRejectedCount());
+        assertEquals("2", queue.poll());
+        assertEquals("3", queue.poll());
+    }
+
+    @Test
+    void dropBelowLevelKeepsSevereEvents() throws InterruptedException {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(2, OverflowPolicy.DROP_BELOW_LEVEL, EventLevel.WARNING);
+        queue.publish("info", EventLevel.INFO);
+        queue.publish("warning", EventLevel.WARNING);
+        assertFalse(queue.publish("debug", EventLevel.DEBUG));
+        assertEquals(1, queue.getRejectedCount());
+
+        CountDownLatch published = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            queue.publish("error", EventLevel.ERROR);
+            published.countDown();
+        });
+        producer.start();
+        assertFalse(published.await(50, TimeUnit.MILLISECONDS));
+        assertEquals("info", queue.take());
+        assertTrue(published.await(1, TimeUnit.SECONDS));
+        assertEquals("warning", queue.take());
+        assertEquals("error", queue.take());
+        assertEquals(1, queue.getRejectedCount());
+    }
+
+    @Test
+    void concurrentProducersAndConsumersLoseNothing() throws InterruptedException {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(64);
+        int producers = 4;
+        int perProducer = 10000;
+        ConcurrentHashMap<Integer, Boolean> received = new ConcurrentHashMap<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.publish(offset + i, EventLevel.INFO);
+                }
+            }));
+        }
+        for (int c = 0; c < 2; c++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (received.size() < producers * perProducer) {
+                        Integer value = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (value != null) {
+                            received.put(value, Boolean.TRUE);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+
+        assertEquals(producers * perProducer, received.size());
+        assertEquals(0, queue.getRejectedCount());
+    }
+
+    @Test
+    void drainToRespectsLimit() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(8);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(String.valueOf(i));
+        }
+        List<String> drained = new ArrayList<>();
+        assertEquals(3, queue.drainTo(drained, 3));
+        assertEquals(List.of("0", "1", "2"), drained);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void iteratorWalksQueuedElementsFromHeadToTail() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(String.valueOf(i));
+        }
+        queue.poll();
+        queue.offer("4");
+
+        List<String> elements = new ArrayList<>();
+        queue.iterator().forEachRemaining(elements::add);
+        assertEquals(List.of("1", "2", "3", "4"), elements);
+        assertTrue(queue.contains("3"));
+        assertFalse(queue.contains("0"));
+        assertArrayEquals(new Object[]{"1", "2", "3", "4"}, queue.toArray());
+    }
+
+    @Test
+    void iteratorSkipsElementsTakenWhileIterating() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(4);
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+        queue.offer("d");
+
+        Iterator<String> iterator = queue.iterator();
+        assertEquals("a", iterator.next());
+        queue.poll();
+        queue.poll();
+        queue.poll();
+        // The next element has already been read when the previous one was returned
+        assertEquals("b", iterator.next());
+        assertEquals("d", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void removingInteriorElementsIsNotSupported() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(4);
+        queue.offer("a");
+        assertThrows(UnsupportedOperationException.class, () -> queue.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> queue.removeIf("a"::equals));
+        assertEquals("a", queue.remove());
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.eventmanager.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermMatcherTest {
+
+    @Test
+    void findsAnyOfTheTerms() {
+        TermMatcher matcher = TermMatcher.of(List.of("he", "she", "his", "hers"));
+
+        assertTrue(matcher.containsAny("ushers"));
+        assertTrue(matcher.containsAny("this"));
+        assertFalse(matcher.containsAny("hat"));
+        assertFalse(matcher.containsAny(null));
+    }
+
+    @Test
+    void reportsTermsEndingInAState() {
+        TermMatcher matcher = TermMatcher.of(List.of("he", "she", "hers"));
+        int state = matcher.start();
+        for (char c : "ushe".toCharArray()) {
+            state = matcher.next(state, c);
+        }
+
+        assertArrayEquals(new int[]{0, 1}, matcher.terms(state));
+    }
+
+    @Test
+    void collectsTermsAcrossTextsButNotAcrossTheirBoundary() {
+        TermMatcher matcher = TermMatcher.of(List.of("db", "down", "ab"));
+        BitSet found = new BitSet();
+
+        assertFalse(matcher.collect("db is", found));
+        assertFalse(matcher.collect("a", found));
+        assertFalse(matcher.collect("b", found));
+        assertFalse(matcher.collect("down", found));
+        assertEquals(2, found.cardinality());
+        assertTrue(matcher.collect("ab", found));
+    }
+
+    @Test
+    void handlesManyTerms() {
+        List<String> terms = new java.util.ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            terms.add("term-" + i + ";");
+        }
+        TermMatcher matcher = TermMatcher.of(terms);
+
+        assertTrue(matcher.containsAny("prefix term-499; suffix"));
+        assertFalse(matcher.containsAny("prefix term-500; suffix"));
+    }
+}
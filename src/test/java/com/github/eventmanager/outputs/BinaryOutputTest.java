@@ -0,0 +1,48 @@
+package com.github.eventmanager.outputs;
+
+import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.binary.BinaryEventDecoder;
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.filehandlers.LogHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryOutputTest {
+
+    @Test
+    void writesDecodableSegments() throws IOException {
+        LogHandler logHandler = new LogHandler("");
+        InternalEventManager internalEventManager = logHandler.getInternalEventManager();
+        String marker = "binary-" + System.nanoTime();
+        BinaryOutput output = new BinaryOutput();
+
+        output.writeEvents(internalEventManager, List.of(new LogEvent(1L, "INFO", null, null, -1, marker + " 1",
+                null, null)));
+        output.writeEvents(internalEventManager, List.of(new LogEvent(2L, "INFO", null, null, -1, marker + " 2",
+                null, null)));
+
+        String fileName = logHandler.getConfig().getLogFile().getFilePath() + logHandler.getCurrentFileName()
+                + BinaryOutput.EXTENSION;
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(fileName))) {
+            BinaryEventDecoder decoder = new BinaryEventDecoder(in);
+            String previous = null;
+            LogEvent event;
+            while ((event = decoder.next()) != null) {
+                if ((marker + " 2").equals(event.getMessage())) {
+                    assertEquals(marker + " 1", previous);
+                    internalEventManager.stopPipeline();
+                    return;
+                }
+                previous = event.getMessage();
+            }
+        }
+        internalEventManager.stopPipeline();
+        fail("The binary events were not found");
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.eventmanager.outputs;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedEventsTest {
+
+    @Test
+    void encodesLikeStringGetBytes() throws IOException {
+        String text = "ascii ü € 😀 line\nbreak";
+        EncodedEvents events = new EncodedEvents();
+        events.add(text);
+        events.add(new StringBuilder("second"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        events.writeTo(out);
+        assertArrayEquals((text + "\nsecond\n").getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        assertEquals(out.size(), events.byteSize());
+        assertEquals(List.of(text, "second"), events.asStrings());
+    }
+
+    @Test
+    void replacesUnpairedSurrogates() {
+        EncodedEvents events = new EncodedEvents();
+        events.add("a\uD83Db");
+        assertEquals(List.of("a?b"), events.asStrings());
+    }
+
+    @Test
+    void clearKeepsNothing() {
+        EncodedEvents events = new EncodedEvents();
+        events.add("x".repeat(100_000));
+        events.clear();
+        assertTrue(events.isEmpty());
+        assertEquals(0, events.byteSize());
+    }
+
+    @Test
+    void batchCopiesEncodedEvents() {
+        EncodedEvents events = new EncodedEvents();
+        events.add("first\nline");
+        events.add("second");
+        events.add("third");
+
+        Batch batch = new Batch(20);
+        assertTrue(batch.tryAdd(events, 0));
+        assertTrue(batch.tryAdd(events, 1));
+        assertFalse(batch.tryAdd(events, 2));
+        assertEquals(List.of("first\nline", "second"), batch.getBatch());
+        assertEquals(2, batch.size());
+        assertArrayEquals("first\nline\nsecond".getBytes(StandardCharsets.UTF_8), batch.toByteArray());
+    }
+}
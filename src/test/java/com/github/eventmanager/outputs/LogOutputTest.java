@@ -0,0 +1,76 @@
+package com.github.eventmanager.outputs;
+
+import com.github.eventmanager.InternalEventManager;
+import com.github.eventmanager.events.EventSchema;
+import com.github.eventmanager.filehandlers.LogHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogOutputTest {
+
+    @Test
+    void writeBatchAppendsAllEventsInOrder() throws IOException {
+        LogHandler logHandler = new LogHandler("");
+        InternalEventManager internalEventManager = logHandler.getInternalEventManager();
+        String marker = "batch-" + System.nanoTime();
+
+        new LogOutput().writeBatch(internalEventManager, List.of(marker + " 1", marker + " 2", marker + " 3"));
+
+        String filePath = logHandler.getConfig().getLogFile().getFilePath();
+        List<String> lines = Files.readAllLines(Paths.get(filePath + logHandler.getCurrentFileName()));
+        int first = lines.indexOf(marker + " 1");
+        assertTrue(first >= 0);
+        assertEquals(marker + " 2", lines.get(first + 1));
+        assertEquals(marker + " 3", lines.get(first + 2));
+        internalEventManager.stopPipeline();
+    }
+
+    @Test
+    void writeEncodedAppendsTheEncodedBatch() throws IOException {
+        LogHandler logHandler = new LogHandler("");
+        InternalEventManager internalEventManager = logHandler.getInternalEventManager();
+        String marker = "encoded-" + System.nanoTime();
+        EncodedEvents events = new EncodedEvents();
+        events.add(marker + " grüße");
+        events.add(new StringBuilder(marker).append(" 2"));
+
+        new LogOutput().writeEncoded(internalEventManager, events);
+
+        String filePath = logHandler.getConfig().getLogFile().getFilePath();
+        List<String> lines = Files.readAllLines(Paths.get(filePath + logHandler.getCurrentFileName()));
+        int first = lines.indexOf(marker + " grüße");
+        assertTrue(first >= 0);
+        assertEquals(marker + " 2", lines.get(first + 1));
+        internalEventManager.stopPipeline();
+    }
+
+    @Test
+    void writeEncodedWritesTheCsvHeaderOncePerFile() throws IOException {
+        LogHandler logHandler = new LogHandler("");
+        logHandler.getConfig().getEvent().setEventFormat("csv");
+        InternalEventManager internalEventManager = logHandler.getInternalEventManager();
+        EventSchema schema = EventSchema.builder("header-" + System.nanoTime()).field("id").build();
+        LogOutput output = new LogOutput();
+        EncodedEvents events = new EncodedEvents();
+
+        events.add("row 1", schema);
+        events.add("row 2", schema);
+        output.writeEncoded(internalEventManager, events);
+        events.clear();
+        events.add("row 3", schema);
+        output.writeEncoded(internalEventManager, events);
+
+        String filePath = logHandler.getConfig().getLogFile().getFilePath();
+        List<String> lines = Files.readAllLines(Paths.get(filePath + logHandler.getCurrentFileName()));
+        int header = lines.lastIndexOf(schema.getCsvHeader());
+        assertTrue(header >= 0);
+        assertEquals(List.of("row 1", "row 2", "row 3"), lines.subList(header + 1, header + 4));
+        internalEventManager.stopPipeline();
+    }
+}
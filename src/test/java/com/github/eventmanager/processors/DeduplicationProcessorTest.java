@@ -0,0 +1,123 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeduplicationProcessorTest {
+
+    private static LogEvent error(long timestamp, String pattern, Object... arguments) {
+        return LogEvent.ofParameterized(timestamp, "ERROR", "com.example.Client", "call", 42, pattern, arguments);
+    }
+
+    @Test
+    void collapsesRepeatsInsideTheWindow() {
+        DeduplicationProcessor processor = new DeduplicationProcessor(1000, 16);
+
+        assertNotNull(processor.process(error(0, "Call to {} failed", "db"), EventFormatter.JSON));
+        assertNull(processor.process(error(10, "Call to {} failed", "cache"), EventFormatter.JSON));
+        assertNull(processor.process(error(20, "Call to {} failed", "db"), EventFormatter.JSON));
+        assertNotNull(processor.process(error(30, "Another failure"), EventFormatter.JSON));
+
+        assertTrue(processor.flush(500, false).isEmpty());
+        List<LogEvent> summaries = processor.flush(1000, false);
+        assertEquals(1, summaries.size());
+        LogEvent summary = summaries.get(0);
+        assertEquals("Call to db failed", summary.getMessage());
+        assertEquals(1000, summary.getTimestamp());
+        assertEquals("2", summary.getField("duplicates"));
+        assertEquals("1970-01-01T00:00:00Z", summary.getField("firstSeen"));
+        assertEquals("1970-01-01T00:00:00.020Z", summary.getField("lastSeen"));
+    }
+
+    @Test
+    void passesTheFirstRepeatAfterTheWindow() {
+        DeduplicationProcessor processor = new DeduplicationProcessor(100, 16);
+
+        processor.process(error(0, "boom"), EventFormatter.JSON);
+        assertNull(processor.process(error(50, "boom"), EventFormatter.JSON));
+        assertNotNull(processor.process(error(150, "boom"), EventFormatter.JSON));
+
+        List<LogEvent> summaries = processor.flush(160, false);
+        assertEquals(1, summaries.size());
+        assertEquals("1", summaries.get(0).getField("duplicates"));
+    }
+
+    @Test
+    void differentCallSitesAreNotRepeats() {
+        DeduplicationProcessor processor = new DeduplicationProcessor(1000, 16);
+        LogEvent other = LogEvent.ofParameterized(0, "ERROR", "com.example.Client", "call", 43, "boom", null);
+
+        assertNotNull(processor.process(error(0, "boom"), EventFormatter.JSON));
+        assertNotNull(processor.process(other, EventFormatter.JSON));
+        assertNotNull(processor.process(error(0, "boom").withLevel("WARNING"), EventFormatter.JSON));
+    }
+
+    @Test
+    void eventsWithoutAMessageAreFingerprintedByTheirFields() {
+        DeduplicationProcessor processor = new DeduplicationProcessor(1000, 16);
+
+        assertNotNull(processor.process(fields(0, "user", "luke"), EventFormatter.JSON));
+        assertNotNull(processor.process(fields(1, "user", "leia"), EventFormatter.JSON));
+        assertNotNull(processor.process(fields(2, "tenant", "luke"), EventFormatter.JSON));
+        assertNull(processor.process(fields(3, "user", "luke"), EventFormatter.JSON));
+
+        List<LogEvent> summaries = processor.flush(1000, false);
+        assertEquals(1, summaries.size());
+        assertEquals("luke", summaries.get(0).getField("user"));
+        assertEquals("1", summaries.get(0).getField("duplicates"));
+    }
+
+    private static LogEvent fields(long timestamp, String key, String value) {
+        return new LogEvent(timestamp, "ERROR", null, null, -1, null,
+                new KeyValueWrapper[]{new KeyValueWrapper(key, value)}, null);
+    }
+
+    @Test
+    void evictingAFingerprintKeepsItsSummary() {
+        DeduplicationProcessor processor = new DeduplicationProcessor(1000, 1);
+
+        processor.process(error(0, "first"), EventFormatter.JSON);
+        processor.process(error(1, "first"), EventFormatter.JSON);
+        processor.process(error(2, "second"), EventFormatter.JSON);
+
+        List<LogEvent> summaries = processor.flush(3, false);
+        assertEquals(1, summaries.size());
+        assertEquals("first", summaries.get(0).getMessage());
+        assertTrue(processor.flush(4, true).isEmpty());
+    }
+
+    @Test
+    void stripesKeepTheirOwnWindows() throws InterruptedException {
+        DeduplicationProcessor processor = new DeduplicationProcessor(1000, 1024);
+        Thread[] workers = new Thread[4];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    processor.process(error(i % 100, "failure " + (i % 32)), EventFormatter.JSON);
+                }
+            });
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        List<LogEvent> summaries = processor.flush(2000, false);
+        assertEquals(32, summaries.size());
+        int duplicates = summaries.stream().mapToInt(summary -> Integer.parseInt(summary.getField("duplicates"))).sum();
+        assertEquals(4 * 1000 - 32, duplicates);
+    }
+
+    @Test
+    void serializedEventsArePassedOn() {
+        DeduplicationProcessor processor = new DeduplicationProcessor();
+        assertEquals("key=value", processor.processKV("key=value"));
+        assertEquals("key=value", processor.processKV("key=value"));
+    }
+}
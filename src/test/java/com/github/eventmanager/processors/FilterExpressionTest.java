@@ -0,0 +1,97 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterExpressionTest {
+
+    private static LogEvent event(String level, String message, KeyValueWrapper... fields) {
+        return new LogEvent(0L, level, "com.example.Service", "handle", 42, message, fields, null);
+    }
+
+    @Test
+    void comparesLevelsBySeverity() {
+        FilterExpression expression = FilterExpression.compile("level <= info");
+
+        assertTrue(expression.matches(event("DEBUG", "x")));
+        assertTrue(expression.matches(event("INFO", "x")));
+        assertFalse(expression.matches(event("ERROR", "x")));
+        assertTrue(FilterExpression.compile("level = ERROR").matches(event("error", "x")));
+    }
+
+    @Test
+    void combinesConditions() {
+        FilterExpression expression = FilterExpression.compile(
+                "(user = admin OR user IN ('root', \"system\")) AND NOT status >= 500");
+
+        assertTrue(expression.matches(event("INFO", "x", new KeyValueWrapper("user", "root"),
+                new KeyValueWrapper("status", "200"))));
+        assertFalse(expression.matches(event("INFO", "x", new KeyValueWrapper("user", "root"),
+                new KeyValueWrapper("status", "503"))));
+        assertFalse(expression.matches(event("INFO", "x", new KeyValueWrapper("user", "jane"),
+                new KeyValueWrapper("status", "200"))));
+    }
+
+    @Test
+    void matchesRegularExpressionsAndLocations() {
+        FilterExpression expression = FilterExpression.compile(
+                "className ~ '^com\\.example\\.' and lineNumber = 42 and message ~ \"took \\d+ ms\"");
+
+        assertTrue(expression.matches(event("INFO", "request took 12 ms")));
+        assertFalse(expression.matches(event("INFO", "request took long")));
+    }
+
+    @Test
+    void matchesTermSets() {
+        FilterExpression any = FilterExpression.compile("message CONTAINS ANY (\"refused\", \"reset\")");
+        FilterExpression all = FilterExpression.compile("event CONTAINS ALL (db, down, Service)");
+
+        assertTrue(any.matches(event("ERROR", "connection reset by peer")));
+        assertFalse(any.matches(event("ERROR", "connection closed")));
+        assertTrue(all.matches(event("ERROR", "db is down")));
+        assertTrue(all.matches(event("ERROR", "down", new KeyValueWrapper("db", "orders"))));
+        assertFalse(all.matches(event("ERROR", "db is up")));
+    }
+
+    @Test
+    void missingFieldsOnlyMatchNegations() {
+        LogEvent event = event("INFO", "x");
+
+        assertFalse(FilterExpression.compile("user = admin").matches(event));
+        assertTrue(FilterExpression.compile("user != admin").matches(event));
+        assertTrue(FilterExpression.compile("user NOT IN (admin)").matches(event));
+        assertFalse(FilterExpression.compile("user ~ '.*'").matches(event));
+    }
+
+    @Test
+    void readsTheFieldsOfSerializedEvents() {
+        FilterExpression expression = FilterExpression.compile("user = admin AND level >= WARNING");
+
+        assertTrue(expression.matches("level=\"ERROR\" user=\"admin\"", EventFormatter.KEY_VALUE));
+        assertFalse(expression.matches("level=\"ERROR\" superuser=\"admin\"", EventFormatter.KEY_VALUE));
+        assertTrue(expression.matches("{\"level\": \"ERROR\", \"user\": \"admin\"}", EventFormatter.JSON));
+        assertTrue(expression.matches("<event><level>FATAL</level><user>admin</user></event>", EventFormatter.XML));
+        assertFalse(expression.matches("<event><level>INFO</level><user>admin</user></event>", EventFormatter.XML));
+    }
+
+    @Test
+    void rejectsInvalidExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.compile("level >="));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.compile("(level = INFO"));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.compile("user = 'admin"));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.compile("event = x"));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.compile("level = INFO level"));
+    }
+
+    @Test
+    void rejectsUnknownLevelsInOrderings() {
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.compile("level <= DEBG"));
+        assertTrue(FilterExpression.compile("level >= warn").matches(event("ERROR", "x")));
+        assertTrue(FilterExpression.compile("level = AUDIT").matches(event("AUDIT", "x")));
+    }
+}
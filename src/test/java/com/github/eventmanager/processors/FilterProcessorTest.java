@@ -1,6 +1,10 @@
 package com.github.eventmanager.processors;
 
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,4 +37,21 @@ class FilterProcessorTest {
         assertEquals("", result);
     }
 
-}
\ No newline at end of file
+    @org.junit.jupiter.api.Test
+    void testProcessKeepsEventsMissingATerm() {
+        FilterProcessor processor = new FilterProcessor(List.of("db", "down"));
+        LogEvent event = new LogEvent(0L, "ERROR", null, null, -1, "db is up", null, null);
+
+        assertSame(event, processor.process(event, EventFormatter.KEY_VALUE));
+        assertNull(processor.process(event.withMessage("db is down"), EventFormatter.KEY_VALUE));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testProcessWithExpression() {
+        FilterProcessor processor = new FilterProcessor("level <= DEBUG OR message CONTAINS ANY (ping, health)");
+
+        assertEquals("", processor.processKV("level=\"DEBUG\" message=\"x\""));
+        assertEquals("", processor.processKV("level=\"INFO\" message=\"health check\""));
+        assertEquals("level=\"INFO\" message=\"x\"", processor.processKV("level=\"INFO\" message=\"x\""));
+    }
+}
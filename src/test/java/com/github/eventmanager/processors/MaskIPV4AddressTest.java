@@ -54,4 +54,19 @@ class MaskIPV4AddressTest {
         String event = "<event><user>JohnDoe</user><ip>172.16.0.1</ip><action>login</action></event>";
         assertEquals(event, maskIPV4Address.processXML(event));
     }
-}
\ No newline at end of file
+
+    @Test
+    void processKV_ipv6() {
+        MaskIPV4Address processor = new MaskIPV4Address(Arrays.asList("2001:db8::/32"));
+        String event = "user=JohnDoe ip=\"2001:db8::7\" action=login";
+        String expected = "user=JohnDoe ip=\"****:****:****:****:****:****:****:****\" action=login";
+        assertEquals(expected, processor.processKV(event));
+    }
+
+    @Test
+    void isIpInCidr() {
+        assertTrue(MaskIPV4Address.isIpInCidr("192.168.1.100", "192.168.1.0/24"));
+        assertFalse(MaskIPV4Address.isIpInCidr("192.168.2.1", "192.168.1.0/24"));
+        assertFalse(MaskIPV4Address.isIpInCidr("192.168.1.1", "invalid"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.formatters.EventFormatter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaskingEngineTest {
+
+    private static MaskingEngine engine(MaskingEngine.Rule... rules) {
+        return MaskingEngine.of(List.of(rules));
+    }
+
+    @Test
+    void rewritesAllFieldsInOneScan() {
+        MaskingEngine engine = engine(
+                new MaskingEngine.Rule("token", value -> "[token]"),
+                new MaskingEngine.Rule("card", value -> "[card]"),
+                new MaskingEngine.Rule("mail", value -> value.contains("@") ? "[mail]" : null));
+
+        String event = "token=\"abc\" card=\"4111\" mail=\"none\" other=\"x\" mail=\"a@b.c\"";
+
+        assertEquals("token=\"[token]\" card=\"[card]\" mail=\"none\" other=\"x\" mail=\"[mail]\"",
+                engine.mask(event, EventFormatter.KEY_VALUE));
+    }
+
+    @Test
+    void returnsTheTextItselfIfNoRuleApplies() {
+        MaskingEngine engine = engine(new MaskingEngine.Rule("password", value -> "***"));
+        String event = "user=\"john\" action=\"login\"";
+
+        assertSame(event, engine.mask(event, EventFormatter.KEY_VALUE));
+        assertSame(event, MaskingEngine.of(List.of()).mask(event, EventFormatter.KEY_VALUE));
+    }
+
+    @Test
+    void appliesTheRulesOfAFieldInOrder() {
+        MaskingEngine engine = MaskingEngine.combine(List.of(
+                engine(new MaskingEngine.Rule("ip", value -> value + "-first")),
+                engine(new MaskingEngine.Rule("ip", value -> value + "-second"),
+                        new MaskingEngine.Rule("clientip", value -> "client"))));
+
+        assertEquals("ip=\"1-first-second\" clientip=\"client\"",
+                engine.mask("ip=\"1\" clientip=\"2\"", EventFormatter.KEY_VALUE));
+    }
+
+    @Test
+    void findsJsonValuesAfterWhitespaceAndEscapedQuotes() {
+        MaskingEngine engine = engine(new MaskingEngine.Rule("secret", value -> "***"));
+
+        assertEquals("{\"secret\":  \"***\", \"count\": 1}",
+                engine.mask("{\"secret\":  \"a\\\"b\", \"count\": 1}", EventFormatter.JSON));
+        assertEquals("{\"secret\": 42}", engine.mask("{\"secret\": 42}", EventFormatter.JSON));
+    }
+
+    @Test
+    void rewritesXmlElementsOnlyIfTheyAreClosed() {
+        MaskingEngine engine = engine(new MaskingEngine.Rule("secret", value -> "***"));
+
+        assertEquals("<event><secret>***</secret></event>",
+                engine.mask("<event><secret>value</secret></event>", EventFormatter.XML));
+        assertEquals("<secret><inner>value</inner></secret>",
+                engine.mask("<secret><inner>value</inner></secret>", EventFormatter.XML));
+    }
+
+    @Test
+    void writesUnquotedKeyValueFields() {
+        MaskingEngine engine = engine(new MaskingEngine.Rule("password", value -> "***", true));
+
+        assertEquals("password=*** user=\"john\"", engine.mask("password=\"x\" user=\"john\"", EventFormatter.KEY_VALUE));
+        assertEquals("{\"password\": \"***\"}", engine.mask("{\"password\": \"x\"}", EventFormatter.JSON));
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.eventmanager.processors;
+
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+import com.github.eventmanager.formatters.KeyValueWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitProcessorTest {
+
+    private static LogEvent event(long timestamp, String level, int line) {
+        return new LogEvent(timestamp, level, "com.example.Loop", "run", line, "tick", null, null);
+    }
+
+    private static int passed(RateLimitProcessor processor, LogEvent... events) {
+        int passed = 0;
+        for (LogEvent event : events) {
+            if (processor.process(event, EventFormatter.KEY_VALUE) != null) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    @Test
+    void limitsEachLevelSeparately() {
+        RateLimitProcessor processor = new RateLimitProcessor(2, 2, RateLimitProcessor.KeyType.LEVEL, null, null,
+                1000);
+
+        assertEquals(2, passed(processor, event(0, "DEBUG", 1), event(0, "DEBUG", 1), event(0, "DEBUG", 1)));
+        assertEquals(1, passed(processor, event(0, "ERROR", 2)));
+        // One token is refilled after half a second at two events per second
+        assertEquals(1, passed(processor, event(500, "DEBUG", 1), event(500, "DEBUG", 1)));
+    }
+
+    @Test
+    void keysByCallSiteAndAppliesLevelRates() {
+        RateLimitProcessor processor = new RateLimitProcessor(1, 1, RateLimitProcessor.KeyType.CALL_SITE, null,
+                Map.of("FATAL", 0), 1000);
+
+        assertEquals(1, passed(processor, event(0, "INFO", 1), event(0, "INFO", 1)));
+        assertEquals(1, passed(processor, event(0, "INFO", 2)));
+        assertEquals(3, passed(processor, event(0, "FATAL", 3), event(0, "FATAL", 3), event(0, "FATAL", 3)));
+    }
+
+    @Test
+    void levelsSharingACallSiteUseTheirOwnRate() {
+        RateLimitProcessor processor = new RateLimitProcessor(1, 0, RateLimitProcessor.KeyType.CALL_SITE, null,
+                Map.of("DEBUG", 1, "ERROR", 3), 1000);
+
+        assertEquals(1, passed(processor, event(0, "DEBUG", 1), event(0, "DEBUG", 1)));
+        assertEquals(3, passed(processor, event(0, "ERROR", 1), event(0, "ERROR", 1), event(0, "ERROR", 1),
+                event(0, "ERROR", 1)));
+
+        List<LogEvent> reports = processor.flush(10, true);
+        assertEquals(2, reports.size());
+        for (LogEvent report : reports) {
+            assertEquals("com.example.Loop.run:1", report.getField("rateLimitKey"));
+            assertEquals("1", report.getField("suppressed"));
+        }
+    }
+
+    @Test
+    void keysByField() {
+        RateLimitProcessor processor = new RateLimitProcessor(1, 1, RateLimitProcessor.KeyType.FIELD, "tenant", null,
+                1000);
+        LogEvent luke = event(0, "INFO", 1).withFields(new KeyValueWrapper[]{new KeyValueWrapper("tenant", "luke")});
+        LogEvent leia = event(0, "INFO", 1).withFields(new KeyValueWrapper[]{new KeyValueWrapper("tenant", "leia")});
+
+        assertEquals(2, passed(processor, luke, luke, leia));
+    }
+
+    @Test
+    void reportsSuppressedEventsOncePerInterval() {
+        RateLimitProcessor processor = new RateLimitProcessor(1, 1, RateLimitProcessor.KeyType.LEVEL, null, null,
+                1000);
+        passed(processor, event(0, "DEBUG", 1), event(0, "DEBUG", 1), event(0, "DEBUG", 1));
+
+        List<LogEvent> reports = processor.flush(10, false);
+        assertEquals(1, reports.size());
+        assertEquals("DEBUG", reports.get(0).getLevel());
+        assertEquals("2", reports.get(0).getField("suppressed"));
+        assertEquals("2 events suppressed", reports.get(0).getMessage());
+
+        passed(processor, event(20, "DEBUG", 1));
+        assertTrue(processor.flush(20, false).isEmpty());
+        assertEquals(1, processor.flush(20, true).size());
+    }
+}
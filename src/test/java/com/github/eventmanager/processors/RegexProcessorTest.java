@@ -1,11 +1,13 @@
 package com.github.eventmanager.processors;
 
 import com.github.eventmanager.EventManager;
+import com.github.eventmanager.events.LogEvent;
 import com.github.eventmanager.filehandlers.LogHandler;
 import com.github.eventmanager.filehandlers.config.OutputEntry;
 import com.github.eventmanager.filehandlers.config.ProcessorEntry;
 import com.github.eventmanager.filehandlers.config.RegexEntry;
 import com.github.eventmanager.formatters.EventCreator;
+import com.github.eventmanager.formatters.EventFormatter;
 import com.github.eventmanager.formatters.KeyValueWrapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +16,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.PatternSyntaxException;
 
 import static com.github.eventmanager.EventManagerTest.waitForEvents;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RegexProcessorTest {
@@ -54,6 +59,56 @@ public class RegexProcessorTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testProcessJSONKeepsWhitespaceInValues() {
+        String event = "{\"field1\": \"value1\", \"note\": \"two words \\\" quoted\"}";
+        String expected = "{\"field1\":\"replacement1\",\"note\":\"two words \\\" quoted\"}";
+        assertEquals(expected, regexProcessor.processJSON(event));
+    }
+
+    @Test
+    public void testSetRegexEntriesReplacesTheRules() {
+        regexProcessor.setRegexEntries(List.of(new RegexEntry("field1", "value\\d", "other")));
+
+        assertEquals("field1=\"other\" field2=\"value2\"", regexProcessor.processKV("field1=\"value1\" field2=\"value2\""));
+        assertEquals(1, regexProcessor.getRegexEntries().size());
+    }
+
+    @Test
+    public void testInvalidRegexKeepsTheOldRules() {
+        assertThrows(PatternSyntaxException.class,
+                () -> regexProcessor.setRegexEntries(List.of(new RegexEntry("field1", "(", "x"))));
+
+        assertEquals("field1=\"replacement1\"", regexProcessor.processKV("field1=\"value1\""));
+    }
+
+    @Test
+    public void testRuleStatisticsCountHits() {
+        regexProcessor.processKV("field1=\"value1\" field1=\"other\"");
+        for (int i = 0; i < 1000; i++) {
+            regexProcessor.processKV("field1=\"other\"");
+        }
+        LogEvent event = new LogEvent(0L, "INFO", null, null, -1, null,
+                new KeyValueWrapper[]{new KeyValueWrapper("field2", "value2")}, null);
+        regexProcessor.process(event, EventFormatter.KEY_VALUE);
+
+        List<RegexProcessor.RuleStatistics> statistics = regexProcessor.getRuleStatistics();
+        assertEquals("field1", statistics.get(0).fieldName());
+        assertEquals(1, statistics.get(0).hits());
+        assertEquals(1, statistics.get(1).hits());
+        assertTrue(statistics.get(0).matchNanos() > 0);
+    }
+
+    @Test
+    public void testUnmatchedEventIsNotCopied() {
+        regexProcessor.setRegexEntries(List.of(new RegexEntry("message", "secret", "***"),
+                new RegexEntry("level", "TRACE", "DEBUG"), new RegexEntry("className", "x", "y")));
+        LogEvent event = new LogEvent(0L, "INFO", "com.example.Client", "call", 1, "hello", null, null);
+
+        assertSame(event, regexProcessor.maskFields(event));
+        assertEquals("***", regexProcessor.maskFields(event.withMessage("secret")).getMessage());
+    }
+
     @Test
     void addProcessorToEventManager() {
         //Redirect System.out to a ByteArrayOutputStream
@@ -1,5 +1,12 @@
 package com.github.eventmanager.processors;
 
+import com.github.eventmanager.events.LogEvent;
+import com.github.eventmanager.formatters.EventFormatter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 class SampleProcessorTest {
     SampleProcessor sampleProcessor;
@@ -41,5 +48,104 @@ class SampleProcessorTest {
 
         assertEquals(json, event);
     }
-  
-}
\ No newline at end of file
+
+    private static LogEvent event(long timestamp, String level) {
+        return new LogEvent(timestamp, level, null, null, -1, "message", null, null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFixedSampleIsPassedOnUnchanged() {
+        List<LogEvent> kept = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            LogEvent event = sampleProcessor.process(event(i, "INFO"), EventFormatter.JSON);
+            if (event != null) {
+                kept.add(event);
+            }
+        }
+
+        assertEquals(2, kept.size());
+        assertNull(kept.get(0).getField(SampleProcessor.SAMPLE_WEIGHT_FIELD));
+        assertEquals(4, kept.get(0).getTimestamp());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testFixedSampleIsExactUnderContention() throws InterruptedException {
+        AtomicInteger kept = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (sampleProcessor.process(event(i, "INFO"), EventFormatter.JSON) != null) {
+                        kept.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800, kept.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testTargetRateAdjustsTheSampleAndWeights() {
+        SampleProcessor processor = new SampleProcessor(100, null, null);
+        int kept = 0;
+        double weights = 0;
+        // 1000 events per second for 10 seconds.
+        for (int i = 0; i < 10_000; i++) {
+            LogEvent event = processor.process(event(i, "INFO"), EventFormatter.JSON);
+            if (event != null) {
+                kept++;
+                String weight = event.getField(SampleProcessor.SAMPLE_WEIGHT_FIELD);
+                weights += weight != null ? Double.parseDouble(weight) : 1;
+            }
+        }
+
+        assertTrue(kept < 2_500, "kept " + kept);
+        assertEquals(10_000, weights, 1_500);
+    }
+
+    @org.junit.jupiter.api.Test
+    void testStrataAreBoundedUnderContention() throws InterruptedException {
+        SampleProcessor processor = new SampleProcessor(1_000_000, RateLimitProcessor.KeyType.LEVEL, null);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < SampleProcessor.MAX_STRATA; i++) {
+                    assertNotNull(processor.process(event(0, "LEVEL" + i), EventFormatter.JSON));
+                    assertNotNull(processor.process(event(0, "OTHER" + i), EventFormatter.JSON));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(SampleProcessor.MAX_STRATA + 1, processor.strataSize());
+    }
+
+    @org.junit.jupiter.api.Test
+    void testStratifiedSampleKeepsRareKeys() {
+        SampleProcessor processor = new SampleProcessor(50, RateLimitProcessor.KeyType.LEVEL, null);
+        int keptDebug = 0;
+        int keptErrors = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (processor.process(event(i, "DEBUG"), EventFormatter.JSON) != null) {
+                keptDebug++;
+            }
+            if (i % 200 == 0) {
+                LogEvent error = processor.process(event(i, "ERROR"), EventFormatter.JSON);
+                assertNotNull(error);
+                assertNull(error.getField(SampleProcessor.SAMPLE_WEIGHT_FIELD));
+                keptErrors++;
+            }
+        }
+
+        assertEquals(50, keptErrors);
+        assertTrue(keptDebug < 2_000, "kept " + keptDebug);
+    }
+}